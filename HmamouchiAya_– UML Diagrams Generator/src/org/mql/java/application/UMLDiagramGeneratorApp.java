@@ -6,21 +6,33 @@ import java.awt.Color;
 import java.awt.GridLayout;
 import java.util.List;
 import java.util.Map;
+import org.mql.java.graph.CouplingMetrics;
 import org.mql.java.models.ClassAbout;
 import org.mql.java.models.PackageAbout;
+import org.mql.java.query.QueryAttribute;
+import org.mql.java.query.QueryIndex;
 import org.mql.java.ui.UMLClassDiagramPanel;
 import org.mql.java.xml.PackageExplorer;
-import org.w3c.dom.Document;
 
 public class UMLDiagramGeneratorApp {
     public static void main(String[] args) { 
+        String packageName = "org.mql.java";
+        PackageExplorer scanner = new PackageExplorer(packageName);
+        if (args.length > 0 && args[0].equals("--query")) {
+            if (args.length == 2) {
+                runQuery(scanner, args[1]);
+            } else {
+                printQueryUsage();
+            }
+            return;
+        }
+        CouplingMetrics metrics = scanner.getCouplingMetrics();
+
         SwingUtilities.invokeLater(() -> {
             JFrame frame = new JFrame("UML Diagram Generator");
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
             frame.setSize(800, 600);
             
-            String packageName = "org.mql.java";
-            PackageExplorer scanner = new PackageExplorer(packageName);
             PackageAbout basePackage = scanner.analyzePackage();
             System.out.println(basePackage);
             
@@ -29,7 +41,7 @@ public class UMLDiagramGeneratorApp {
             JPanel parentPanel = new JPanel();
             parentPanel.setLayout(new GridLayout(0, 2, 200, 200));
             map.forEach((name, classes) -> {
-                UMLClassDiagramPanel diagramPanel = new UMLClassDiagramPanel(name, classes);
+                UMLClassDiagramPanel diagramPanel = new UMLClassDiagramPanel(name, classes, metrics.getPackageMetrics(name));
                 diagramPanel.setBorder(BorderFactory.createCompoundBorder(
                     new LineBorder(Color.BLACK, 2),
                     new EmptyBorder(10, 10, 10, 10) 
@@ -43,9 +55,9 @@ public class UMLDiagramGeneratorApp {
         });  
 
         try {
-            PackageAbout rootPackage = new PackageExplorer("org.mql.java").analyzePackage();
-            Document xmlDocument = org.mql.java.xml.XMLGenerator.generateXML(rootPackage);
-            org.mql.java.xml.XMLGenerator.printXML(xmlDocument);
+            PackageAbout rootPackage = scanner.analyzePackage();
+            org.mql.java.xml.StreamingXMLGenerator.generateXML(rootPackage, scanner.getParallelism());
+            org.mql.java.xml.StreamingXMLGenerator.write(rootPackage, System.out);
             
             PackageAbout mypkg = new org.mql.java.xml.XMLParser("resources/generatedXML/java.xml").parse();
             System.out.println(mypkg);
@@ -53,4 +65,31 @@ public class UMLDiagramGeneratorApp {
             e.printStackTrace();
         }
     } 
-}
\ No newline at end of file
+
+    private static void runQuery(PackageExplorer scanner, String query) {
+        QueryIndex index = scanner.getQueryIndex();
+        long start = System.nanoTime();
+        List<String> matches;
+        try {
+            matches = index.find(query);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printQueryUsage();
+            return;
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+        matches.forEach(System.out::println);
+        System.out.printf("%d of %d types matched in %.3f ms%n", matches.size(), index.size(), millis);
+    }
+
+    private static void printQueryUsage() {
+        StringBuilder attributes = new StringBuilder();
+        for (QueryAttribute attribute : QueryAttribute.values()) {
+            attributes.append(attributes.length() == 0 ? "" : ", ").append(attribute.getKeyword());
+        }
+        System.err.println("Usage: --query \"<attribute>:<value> [and|or|not <attribute>:<value> ...]\"");
+        System.err.println("Attributes: " + attributes);
+        System.err.println("Values ending in * match by prefix; group terms with parentheses.");
+        System.err.println("extends: and implements: match direct supertypes only; subclassOf: and subtypeOf: follow the hierarchy.");
+    }
+}
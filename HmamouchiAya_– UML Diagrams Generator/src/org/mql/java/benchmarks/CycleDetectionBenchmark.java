@@ -0,0 +1,58 @@
+package org.mql.java.benchmarks;
+
+import java.util.List;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.graph.AssociationGraph;
+import org.mql.java.graph.Cycle;
+import org.mql.java.graph.CycleAnalyzer;
+import org.mql.java.graph.StronglyConnectedComponents;
+import org.mql.java.xml.PackageExplorer;
+
+public class CycleDetectionBenchmark {
+    private static final int EDGES_PER_CLASS = 10;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            analyze(args[0], args.length > 1 ? args[1] : "");
+            return;
+        }
+        for (int classes = 12_500; classes <= 100_000; classes *= 2) {
+            run("random", SyntheticGraphs.layered(classes, classes * EDGES_PER_CLASS));
+        }
+        run("chain", SyntheticGraphs.ring(100_000));
+    }
+
+    private static void analyze(String location, String packageName) throws Exception {
+        try (ClassPath classPath = ClassPath.parse(location)) {
+            AssociationGraph graph = new PackageExplorer(packageName, classPath).getAssociationGraph();
+            run(location, graph);
+            List<Cycle> packageCycles = CycleAnalyzer.forPackages(graph).findCycles();
+            for (Cycle cycle : packageCycles.subList(0, Math.min(3, packageCycles.size()))) {
+                System.out.println(cycle.getMembers());
+            }
+        }
+    }
+
+    private static void run(String label, AssociationGraph graph) {
+        long classNanos = Long.MAX_VALUE;
+        long packageNanos = Long.MAX_VALUE;
+        StronglyConnectedComponents classes = null;
+        StronglyConnectedComponents packages = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            classes = new CycleAnalyzer(graph).getComponents();
+            classNanos = Math.min(classNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            packages = CycleAnalyzer.forPackages(graph).getComponents();
+            packageNanos = Math.min(packageNanos, System.nanoTime() - start);
+        }
+        int edges = graph.edgeCount();
+        System.out.printf("%-8s nodes=%d edges=%d sccs=%d cyclic=%d dag=%d class=%.1f ms (%.1f ns/edge) packages=%d cyclic=%d package=%.1f ms%n",
+            label, graph.size(), edges, classes.count(), classes.cyclicCount(), classes.getCondensation().edgeCount(),
+            classNanos / 1e6, (double) classNanos / Math.max(1, edges),
+            packages.count(), packages.cyclicCount(), packageNanos / 1e6);
+    }
+}
@@ -0,0 +1,53 @@
+package org.mql.java.benchmarks;
+
+import java.lang.ref.Reference;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.xml.PackageExplorer;
+
+public class HeapFootprintBenchmark {
+    private static final int GC_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        String location = args.length > 0 ? args[0] : "jrt:/java.base";
+        String packageName = args.length > 1 ? args[1] : "";
+
+        try (ClassPath classPath = ClassPath.parse(location)) {
+            // the first scan fills the class path's own listings, which both measured runs then share
+            new PackageExplorer(packageName, classPath).getIndex();
+
+            PackageExplorer beans = new PackageExplorer(packageName, classPath);
+            beans.setCompactModels(false);
+            long beanBytes = retainedBytes(beans);
+            int types = beans.getIndex().size();
+            beans = null;
+
+            PackageExplorer compact = new PackageExplorer(packageName, classPath);
+            long compactBytes = retainedBytes(compact);
+            int symbols = compact.getCompactModel().getSymbolCount();
+
+            // both figures are the whole scanned explorer, including the class files it keeps for updates
+            System.out.printf("location=%s types=%d symbols=%d%n", location, types, symbols);
+            System.out.printf("beans   %,d bytes %.0f bytes/type%n", beanBytes, (double) beanBytes / types);
+            System.out.printf("compact %,d bytes %.0f bytes/type (%.1fx smaller)%n", compactBytes,
+                (double) compactBytes / types, (double) beanBytes / compactBytes);
+        }
+    }
+
+    private static long retainedBytes(PackageExplorer explorer) throws InterruptedException {
+        long baseline = usedHeap();
+        explorer.getIndex();
+        long retained = usedHeap() - baseline;
+        Reference.reachabilityFence(explorer);
+        return retained;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,32 @@
+package org.mql.java.benchmarks;
+
+import java.util.List;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.classpath.JrtSource;
+import org.mql.java.xml.PackageExplorer;
+
+public class JrtScanBenchmark {
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws Exception {
+        String modules = args.length > 0 ? args[0] : "java.base";
+        String packageName = args.length > 1 ? args[1] : "";
+
+        try (ClassPath classPath = new ClassPath(List.of(JrtSource.parse("jrt:/" + modules)))) {
+            long start = System.nanoTime();
+            int entries = classPath.listClasses().size();
+            System.out.printf("modules=%s entries=%d listing=%.2f ms%n", modules, entries, (System.nanoTime() - start) / 1e6);
+
+            PackageExplorer explorer = new PackageExplorer(packageName, classPath);
+            for (int i = 0; i < ITERATIONS; i++) {
+                explorer.refresh();
+                start = System.nanoTime();
+                int types = explorer.getIndex().size();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("run=%d types=%d packages=%d %.2f s %.0f types/s%n",
+                    i, types, explorer.getIndex().getPackageNames().size(), seconds, types / seconds);
+            }
+        }
+    }
+}
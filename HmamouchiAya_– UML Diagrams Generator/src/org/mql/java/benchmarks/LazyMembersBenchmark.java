@@ -0,0 +1,59 @@
+package org.mql.java.benchmarks;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.models.ClassAbout;
+import org.mql.java.xml.PackageExplorer;
+
+public class LazyMembersBenchmark {
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        String location = args.length > 0 ? args[0] : "jrt:/java.base";
+        String packageName = args.length > 1 ? args[1] : "";
+
+        try (ClassPath classPath = ClassPath.parse(location)) {
+            PackageExplorer eager = new PackageExplorer(packageName, classPath);
+            PackageExplorer lazy = new PackageExplorer(packageName, classPath);
+            lazy.setLazyMembers(true);
+
+            for (int i = 0; i < WARMUP; i++) {
+                firstDiagram(eager);
+                firstDiagram(lazy);
+            }
+            long eagerNanos = 0;
+            long lazyNanos = 0;
+            long materializeNanos = 0;
+            int edges = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                edges = firstDiagram(eager);
+                eagerNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                firstDiagram(lazy);
+                lazyNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (ClassAbout classView : lazy.getIndex().getClassViews()) {
+                    classView.load();
+                }
+                materializeNanos += System.nanoTime() - start;
+            }
+
+            System.out.printf("location=%s types=%d edges=%d%n", location, eager.getIndex().size(), edges);
+            System.out.printf("eager first diagram %.2f ms%n", eagerNanos / 1e6 / ITERATIONS);
+            System.out.printf("lazy  first diagram %.2f ms (%.1fx), full materialization +%.2f ms%n",
+                lazyNanos / 1e6 / ITERATIONS, (double) eagerNanos / lazyNanos, materializeNanos / 1e6 / ITERATIONS);
+        }
+    }
+
+    private static int firstDiagram(PackageExplorer explorer) {
+        explorer.refresh();
+        int edges = 0;
+        for (ClassAbout classView : explorer.getIndex().getClassViews()) {
+            edges += classView.getAssociations().size();
+        }
+        return edges;
+    }
+}
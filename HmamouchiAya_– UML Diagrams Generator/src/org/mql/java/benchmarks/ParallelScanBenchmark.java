@@ -0,0 +1,40 @@
+package org.mql.java.benchmarks;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.xml.PackageExplorer;
+
+public class ParallelScanBenchmark {
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws Exception {
+        String classPathEntries = args.length > 0 ? args[0] : "bin";
+        String packageName = args.length > 1 ? args[1] : "";
+        int maxParallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        try (ClassPath classPath = ClassPath.parse(classPathEntries)) {
+            double baseline = 0;
+            for (int parallelism = 1; parallelism <= maxParallelism; parallelism *= 2) {
+                double millis = measure(classPath, packageName, parallelism);
+                if (parallelism == 1) baseline = millis;
+                System.out.printf("parallelism=%-3d %.2f ms speedup=%.2fx%n", parallelism, millis, baseline / millis);
+            }
+        }
+    }
+
+    private static double measure(ClassPath classPath, String packageName, int parallelism) {
+        PackageExplorer explorer = new PackageExplorer(packageName, classPath);
+        explorer.setParallelism(parallelism);
+        explorer.getIndex();
+
+        long best = Long.MAX_VALUE;
+        int types = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            explorer.refresh();
+            long start = System.nanoTime();
+            types = explorer.getIndex().size();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("types=%d ", types);
+        return best / 1e6;
+    }
+}
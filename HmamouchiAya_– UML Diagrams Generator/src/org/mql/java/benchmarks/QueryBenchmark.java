@@ -0,0 +1,43 @@
+package org.mql.java.benchmarks;
+
+import java.util.List;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.classpath.JrtSource;
+import org.mql.java.query.Query;
+import org.mql.java.query.QueryIndex;
+import org.mql.java.xml.PackageExplorer;
+
+public class QueryBenchmark {
+    private static final int ITERATIONS = 1000;
+    private static final List<String> QUERIES = List.of(
+        "kind:interface and package:java.util",
+        "implements:Serializable and extends:AbstractList",
+        "modifier:abstract and memberType:String and package:java.util*",
+        "annotated:FunctionalInterface",
+        "(uses:InputStream or aggregation:InputStream) and not package:java.io",
+        "kind:class and not modifier:final and association:Object"
+    );
+
+    public static void main(String[] args) throws Exception {
+        String modules = args.length > 0 ? args[0] : "java.base";
+
+        try (ClassPath classPath = new ClassPath(List.of(JrtSource.parse("jrt:/" + modules)))) {
+            PackageExplorer explorer = new PackageExplorer("", classPath);
+            explorer.getIndex();
+            long start = System.nanoTime();
+            QueryIndex index = explorer.getQueryIndex();
+            System.out.printf("modules=%s types=%d index=%.2f ms%n", modules, index.size(), (System.nanoTime() - start) / 1e6);
+
+            for (String text : QUERIES) {
+                Query query = Query.parse(text);
+                int matches = query.evaluate(index).length;
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    query.evaluate(index);
+                }
+                System.out.printf("%-75s %5d matches %.4f ms%n", text, matches, (System.nanoTime() - start) / 1e6 / ITERATIONS);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.mql.java.benchmarks;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.mql.java.graph.AssociationGraph;
+import org.mql.java.graph.AssociationKind;
+import org.mql.java.graph.ReachabilityIndex;
+
+public class ReachabilityBenchmark {
+    private static final int QUERIES = 1000;
+
+    public static void main(String[] args) {
+        int classes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        AssociationGraph graph = SyntheticGraphs.layered(classes, classes * 10);
+        System.out.printf("nodes=%d edges=%d%n", graph.size(), graph.edgeCount());
+
+        run(graph, "all", EnumSet.allOf(AssociationKind.class));
+        run(graph, "use", EnumSet.of(AssociationKind.USE));
+        run(graph, "structural", EnumSet.of(AssociationKind.INHERITANCE, AssociationKind.IMPLEMENTATION,
+            AssociationKind.COMPOSITION));
+    }
+
+    private static void run(AssociationGraph graph, String label, Set<AssociationKind> kinds) {
+        ReachabilityIndex index = new ReachabilityIndex(graph);
+        Random random = new Random(42);
+
+        long start = System.nanoTime();
+        int first = index.dependenciesOf(0, kinds).cardinality();
+        long coldNanos = System.nanoTime() - start;
+
+        long forwardNanos = 0;
+        long backwardNanos = 0;
+        long forwardTotal = 0;
+        long backwardTotal = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            int node = random.nextInt(graph.size());
+            start = System.nanoTime();
+            forwardTotal += index.dependenciesOf(node, kinds).cardinality();
+            forwardNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            backwardTotal += index.dependentsOf(node, kinds).cardinality();
+            backwardNanos += System.nanoTime() - start;
+        }
+        System.out.printf("%-10s first=%.2f ms (%d reached) forward avg=%.3f ms (%d reached) backward avg=%.3f ms (%d reached)%n",
+            label, coldNanos / 1e6, first, forwardNanos / 1e6 / QUERIES, forwardTotal / QUERIES,
+            backwardNanos / 1e6 / QUERIES, backwardTotal / QUERIES);
+    }
+}
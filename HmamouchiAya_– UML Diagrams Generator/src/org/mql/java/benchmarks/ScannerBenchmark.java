@@ -0,0 +1,50 @@
+package org.mql.java.benchmarks;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.mql.java.models.PackageAbout;
+import org.mql.java.xml.PackageExplorer;
+import org.mql.java.xml.ScanMode;
+
+public class ScannerBenchmark {
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        String packageName = args.length > 0 ? args[0] : "org.mql.java";
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+
+        run("bytecode", new PackageExplorer(packageName, ScanMode.BYTECODE), classLoading);
+        run("reflection", new PackageExplorer(packageName, ScanMode.REFLECTION), classLoading);
+        run("source", new PackageExplorer(packageName, ScanMode.SOURCE), classLoading);
+    }
+
+    private static void run(String label, PackageExplorer explorer, ClassLoadingMXBean classLoading) {
+        long loadedBefore = classLoading.getTotalLoadedClassCount();
+        explorer.refresh();
+        long start = System.nanoTime();
+        PackageAbout first = explorer.analyzePackage();
+        long coldNanos = System.nanoTime() - start;
+        long loadedClasses = classLoading.getTotalLoadedClassCount() - loadedBefore;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            explorer.refresh();
+            explorer.analyzePackage();
+        }
+        long warmNanos = (System.nanoTime() - start) / ITERATIONS;
+
+        System.out.printf("%-10s types=%d cold=%.2f ms warm=%.2f ms classesLoaded=%d%n",
+            label, countTypes(first), coldNanos / 1e6, warmNanos / 1e6, loadedClasses);
+    }
+
+    private static int countTypes(PackageAbout packageAbout) {
+        if (packageAbout == null) return 0;
+        int count = packageAbout.getClasses().size() + packageAbout.getInterfaces().size()
+            + packageAbout.getEnums().size() + packageAbout.getAnnotations().size();
+        for (PackageAbout child : packageAbout.getPackages()) {
+            count += countTypes(child);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,81 @@
+package org.mql.java.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.models.PackageAbout;
+import org.mql.java.snapshot.ModelSnapshot;
+import org.mql.java.xml.PackageExplorer;
+import org.mql.java.xml.StreamingXMLGenerator;
+import org.mql.java.xml.StreamingXMLParser;
+
+public class SnapshotBenchmark {
+    private static final int LOOKUPS = 10_000;
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws Exception {
+        String location = args.length > 0 ? args[0] : "jrt:/java.base";
+        String packageName = args.length > 1 ? args[1] : "";
+
+        Path xml = Files.createTempFile("model", ".xml");
+        Path snapshotFile = Files.createTempFile("model", ".snapshot");
+        try (ClassPath classPath = ClassPath.parse(location)) {
+            PackageAbout root = new PackageExplorer(packageName, classPath).analyzePackage();
+            byte[] exported = export(root);
+            Files.write(xml, exported);
+
+            long start = System.nanoTime();
+            ModelSnapshot.write(root, snapshotFile);
+            System.out.printf("location=%s xml=%,d bytes snapshot=%,d bytes written in %.2f s%n",
+                location, exported.length, Files.size(snapshotFile), (System.nanoTime() - start) / 1e9);
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                start = System.nanoTime();
+                new StreamingXMLParser(xml).parse();
+                double parseMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                ModelSnapshot snapshot = ModelSnapshot.open(snapshotFile);
+                double openMillis = (System.nanoTime() - start) / 1e6;
+
+                List<String> names = snapshot.getTypeNames();
+                Random random = new Random(i);
+                start = System.nanoTime();
+                for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+                    if (snapshot.getModel(names.get(random.nextInt(names.size()))) == null) {
+                        throw new IllegalStateException("Indexed type not found");
+                    }
+                }
+                double lookupMicros = (System.nanoTime() - start) / 1e3 / LOOKUPS;
+
+                System.out.printf("run=%d xml parse %.1f ms | snapshot open %.3f ms, %d types, lookup %.1f us%n",
+                    i, parseMillis, openMillis, snapshot.size(), lookupMicros);
+            }
+
+            verify(exported, export(ModelSnapshot.open(snapshotFile).getRoot()), "model -> snapshot -> xml");
+            verify(exported, export(ModelSnapshot.importXML(xml, snapshotFile).getRoot()), "xml -> snapshot -> xml");
+            System.out.println("XML export from the snapshot is byte-identical");
+        } finally {
+            Files.deleteIfExists(xml);
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    private static byte[] export(PackageAbout root) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingXMLGenerator.write(root, out);
+        return out.toByteArray();
+    }
+
+    private static void verify(byte[] expected, byte[] actual, String path) {
+        int mismatch = Arrays.mismatch(expected, actual);
+        if (mismatch >= 0) {
+            throw new IllegalStateException(path + " differs at byte " + mismatch);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.mql.java.benchmarks;
+
+import java.util.Random;
+
+import org.mql.java.graph.AssociationGraph;
+import org.mql.java.graph.AssociationKind;
+
+final class SyntheticGraphs {
+    private static final int CLASSES_PER_PACKAGE = 50;
+    private static final double BACK_EDGE_RATIO = 0.0002;
+    private static final AssociationKind[] KINDS = AssociationKind.values();
+
+    private SyntheticGraphs() {
+    }
+
+    static AssociationGraph layered(int classes, int edges) {
+        Random random = new Random(classes);
+        AssociationGraph.Builder builder = builderWithTypes(classes);
+        int added = 0;
+        while (added < edges) {
+            int source = random.nextInt(classes);
+            int target = random.nextDouble() < BACK_EDGE_RATIO
+                ? Math.max(0, source - 1 - random.nextInt(CLASSES_PER_PACKAGE))
+                : Math.min(classes - 1, source + 1 + random.nextInt(CLASSES_PER_PACKAGE * 4));
+            if (source != target && builder.addEdge(source, target, KINDS[random.nextInt(KINDS.length)])) {
+                added++;
+            }
+        }
+        return builder.build();
+    }
+
+    static AssociationGraph ring(int classes) {
+        AssociationGraph.Builder builder = builderWithTypes(classes);
+        for (int i = 0; i + 1 < classes; i++) {
+            builder.addEdge(i, i + 1, AssociationKind.USE);
+        }
+        builder.addEdge(classes - 1, 0, AssociationKind.USE);
+        return builder.build();
+    }
+
+    private static AssociationGraph.Builder builderWithTypes(int classes) {
+        AssociationGraph.Builder builder = new AssociationGraph.Builder();
+        for (int i = 0; i < classes; i++) {
+            builder.addType("p" + (i / CLASSES_PER_PACKAGE) + ".C" + i);
+        }
+        return builder;
+    }
+}
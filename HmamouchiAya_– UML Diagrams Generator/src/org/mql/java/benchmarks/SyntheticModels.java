@@ -0,0 +1,188 @@
+package org.mql.java.benchmarks;
+
+import java.lang.annotation.RetentionPolicy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Vector;
+
+import org.mql.java.models.*;
+
+// random model trees that only use what the XML format can carry, with the text drawn from
+// markup characters, whitespace, non-ASCII letters and generic type names
+final class SyntheticModels {
+    private static final String[] FRAGMENTS = {
+        "a", "Z", "_", "$", "<", ">", "&", "\"", "'", " ", "\t", "\n", "\r", "é", "ß", "中", "😀",
+        "&amp;", "<![CDATA[", "]]>", "--", "?>"
+    };
+    private static final String[] TYPES = {
+        "int", "java.lang.String", "java.util.List<java.lang.String>", "java.util.Map<K, java.util.List<? extends V>>",
+        "T[]", "java.util.function.Function<? super T, ? extends R>"
+    };
+    private static final char[] VISIBILITIES = { '+', '-', '#', '~' };
+    private static final int MAX_DEPTH = 3;
+    private static final int MAX_CHILDREN = 3;
+    private static final int MAX_TYPES = 4;
+    private static final int MAX_MEMBERS = 4;
+
+    private final Random random;
+
+    private SyntheticModels(long seed) {
+        this.random = new Random(seed);
+    }
+
+    static PackageAbout tree(long seed) {
+        SyntheticModels models = new SyntheticModels(seed);
+        return models.createPackage(seed % 4 == 0 ? "" : "org.synthetic" + seed, 0);
+    }
+
+    private PackageAbout createPackage(String qualifiedName, int depth) {
+        PackageAbout packageAbout = new PackageAbout(qualifiedName);
+        if (random.nextBoolean()) {
+            packageAbout.setMetrics(new PackageMetrics(random.nextInt(50), random.nextInt(10), random.nextInt(20), random.nextInt(20)));
+        }
+        List<ClassAbout> classes = new Vector<>();
+        List<InterfaceAbout> interfaces = new Vector<>();
+        List<EnumAbout> enums = new Vector<>();
+        List<AnnotationAbout> annotations = new Vector<>();
+        for (int i = random.nextInt(MAX_TYPES + 1); i > 0; i--) {
+            classes.add(createClass(qualifiedName, identifier("C")));
+        }
+        for (int i = random.nextInt(MAX_TYPES + 1); i > 0; i--) {
+            interfaces.add(createInterface(qualifiedName, identifier("I")));
+        }
+        for (int i = random.nextInt(MAX_TYPES + 1); i > 0; i--) {
+            String name = qualify(qualifiedName, identifier("E"));
+            List<String> constants = new Vector<>();
+            for (int j = random.nextInt(MAX_MEMBERS + 1); j > 0; j--) {
+                constants.add(text());
+            }
+            enums.add(new EnumAbout(name, name.substring(name.lastIndexOf('.') + 1), constants));
+        }
+        for (int i = random.nextInt(MAX_TYPES + 1); i > 0; i--) {
+            Map<String, String> properties = new LinkedHashMap<>();
+            for (int j = random.nextInt(MAX_MEMBERS + 1); j > 0; j--) {
+                properties.put(identifier("p"), type());
+            }
+            annotations.add(new AnnotationAbout(identifier("A"), RetentionPolicy.values()[random.nextInt(3)],
+                random.nextBoolean(), properties));
+        }
+        List<PackageAbout> subPackages = new Vector<>();
+        if (depth < MAX_DEPTH) {
+            for (int i = random.nextInt(MAX_CHILDREN + 1); i > 0; i--) {
+                subPackages.add(createPackage(qualify(qualifiedName, identifier("p")), depth + 1));
+            }
+        }
+        packageAbout.setClasses(classes);
+        packageAbout.setInterfaces(interfaces);
+        packageAbout.setEnums(enums);
+        packageAbout.setAnnotations(annotations);
+        packageAbout.setPackages(subPackages);
+        return packageAbout;
+    }
+
+    private ClassAbout createClass(String packageName, String simpleName) {
+        ClassAbout classAbout = new ClassAbout();
+        classAbout.setSimpleName(simpleName);
+        classAbout.setName(qualify(packageName, simpleName));
+        if (random.nextBoolean()) {
+            classAbout.setModifiers(random.nextBoolean() ? "public abstract" : "");
+        }
+        if (random.nextBoolean()) {
+            classAbout.setSuperClass(type());
+        }
+        List<AssociationAbout> dependencies = new Vector<>();
+        List<AssociationAbout> compositions = new Vector<>();
+        List<AssociationAbout> aggregations = new Vector<>();
+        for (int i = random.nextInt(MAX_MEMBERS + 1); i > 0; i--) {
+            AssociationAbout association = new AssociationAbout(classAbout.getName(), type(), random.nextBoolean() ? "Composition" : "Aggregation");
+            association.setUpperBound(random.nextBoolean() ? "1" : "*");
+            (random.nextBoolean() ? compositions : aggregations).add(association);
+            if (random.nextBoolean()) {
+                dependencies.add(new AssociationAbout(classAbout.getName(), text(), "Use"));
+            }
+        }
+        classAbout.setDependencyAssociations(dependencies);
+        classAbout.setCompositionAssociations(compositions);
+        classAbout.setAggregationAssociations(aggregations);
+        List<InterfaceAbout> implemented = new Vector<>();
+        for (int i = random.nextInt(3); i > 0; i--) {
+            InterfaceAbout iface = new InterfaceAbout();
+            String name = identifier("I");
+            iface.setSimpleName(name);
+            iface.setName(qualify(random.nextBoolean() ? packageName : "java.util", name));
+            implemented.add(iface);
+        }
+        classAbout.setImplementedInterfaces(implemented);
+        List<String> annotations = new Vector<>();
+        for (int i = random.nextInt(3); i > 0; i--) {
+            annotations.add(text());
+        }
+        classAbout.setAnnotations(annotations);
+        if (random.nextBoolean()) {
+            classAbout.setMetrics(new ClassMetrics(random.nextInt(100), random.nextInt(100)));
+        }
+        classAbout.setFields(fields());
+        classAbout.setMethods(methods());
+        return classAbout;
+    }
+
+    private InterfaceAbout createInterface(String packageName, String simpleName) {
+        InterfaceAbout interfaceAbout = new InterfaceAbout();
+        interfaceAbout.setSimpleName(simpleName);
+        interfaceAbout.setName(qualify(packageName, simpleName));
+        interfaceAbout.setModifiers(random.nextBoolean() ? "public abstract interface" : null);
+        if (random.nextBoolean()) {
+            interfaceAbout.setSuperClass(type());
+        }
+        interfaceAbout.setFields(fields());
+        interfaceAbout.setMethods(methods());
+        return interfaceAbout;
+    }
+
+    private List<FieldAbout> fields() {
+        List<FieldAbout> fields = new Vector<>();
+        for (int i = random.nextInt(MAX_MEMBERS + 1); i > 0; i--) {
+            FieldAbout field = new FieldAbout();
+            field.setFieldName(identifier("f"));
+            field.setFieldType(type());
+            field.setModifier(VISIBILITIES[random.nextInt(VISIBILITIES.length)]);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    private List<MethodAbout> methods() {
+        List<MethodAbout> methods = new Vector<>();
+        for (int i = random.nextInt(MAX_MEMBERS + 1); i > 0; i--) {
+            MethodAbout method = new MethodAbout();
+            method.setMethodName(identifier("m"));
+            method.setOutputType(type());
+            method.setModifier(VISIBILITIES[random.nextInt(VISIBILITIES.length)]);
+            method.setArguments(random.nextInt(4) == 0 ? null : "(" + type() + ", " + text() + ")");
+            methods.add(method);
+        }
+        return methods;
+    }
+
+    private String identifier(String prefix) {
+        return prefix + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36) + (random.nextInt(4) == 0 ? "é" : "");
+    }
+
+    private String type() {
+        return random.nextInt(3) == 0 ? text() : TYPES[random.nextInt(TYPES.length)];
+    }
+
+    private String text() {
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(6); i > 0; i--) {
+            text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+}
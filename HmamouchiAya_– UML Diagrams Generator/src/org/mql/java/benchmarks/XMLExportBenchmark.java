@@ -0,0 +1,81 @@
+package org.mql.java.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.models.PackageAbout;
+import org.mql.java.xml.PackageExplorer;
+import org.mql.java.xml.StreamingXMLGenerator;
+import org.mql.java.xml.XMLGenerator;
+import org.w3c.dom.Document;
+
+public class XMLExportBenchmark {
+    private static final int ITERATIONS = 3;
+    private static final int GC_ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        String location = args.length > 0 ? args[0] : "jrt:/java.base";
+        String packageName = args.length > 1 ? args[1] : "";
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        try (ClassPath classPath = ClassPath.parse(location)) {
+            PackageExplorer explorer = new PackageExplorer(packageName, classPath);
+            PackageAbout root = explorer.analyzePackage();
+            Path file = Files.createTempFile("export", ".xml");
+            Path parallelFile = Files.createTempFile("export-parallel", ".xml");
+
+            StreamingXMLGenerator.write(root, file);
+            long size = Files.size(file);
+            System.out.printf("location=%s types=%d output=%,d bytes parallelism=%d%n",
+                location, explorer.getIndex().size(), size, parallelism);
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                long baseline = usedHeap();
+                long allocated = allocatedBytes();
+                long start = System.nanoTime();
+                Document document = XMLGenerator.generateXML(root);
+                XMLGenerator.saveXMLToFile(document, file.toString());
+                double domSeconds = (System.nanoTime() - start) / 1e9;
+                long domAllocated = allocatedBytes() - allocated;
+                long domRetained = usedHeap() - baseline;
+                document = null;
+
+                baseline = usedHeap();
+                allocated = allocatedBytes();
+                start = System.nanoTime();
+                StreamingXMLGenerator.write(root, file);
+                double streamSeconds = (System.nanoTime() - start) / 1e9;
+                long streamAllocated = allocatedBytes() - allocated;
+                long streamRetained = usedHeap() - baseline;
+
+                start = System.nanoTime();
+                StreamingXMLGenerator.write(root, parallelFile, parallelism);
+                double parallelSeconds = (System.nanoTime() - start) / 1e9;
+                boolean identical = Files.mismatch(file, parallelFile) == -1;
+
+                System.out.printf("run=%d dom %.2f s %.1f MB/s allocated=%,d retained=%,d | stream %.2f s %.1f MB/s allocated=%,d retained=%,d"
+                    + " | parallel %.2f s %.1f MB/s identical=%b%n",
+                    i, domSeconds, size / domSeconds / 1e6, domAllocated, domRetained,
+                    streamSeconds, size / streamSeconds / 1e6, streamAllocated, streamRetained,
+                    parallelSeconds, size / parallelSeconds / 1e6, identical);
+            }
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(parallelFile);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
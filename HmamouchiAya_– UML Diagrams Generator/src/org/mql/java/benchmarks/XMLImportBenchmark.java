@@ -0,0 +1,58 @@
+package org.mql.java.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.models.PackageAbout;
+import org.mql.java.xml.PackageExplorer;
+import org.mql.java.xml.StreamingXMLGenerator;
+import org.mql.java.xml.StreamingXMLParser;
+import org.mql.java.xml.XMLNode;
+
+public class XMLImportBenchmark {
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws Exception {
+        String location = args.length > 0 ? args[0] : "jrt:/java.base";
+        String selectedPackage = args.length > 1 ? args[1] : "java.util.concurrent";
+
+        Path file = Files.createTempFile("import", ".xml");
+        try (ClassPath classPath = ClassPath.parse(location)) {
+            StreamingXMLGenerator.write(new PackageExplorer("", classPath).analyzePackage(), file);
+        }
+        System.out.printf("location=%s input=%,d bytes selected=%s%n", location, Files.size(file), selectedPackage);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            XMLNode document = new XMLNode(file.toString());
+            double domSeconds = (System.nanoTime() - start) / 1e9;
+            long domAllocated = allocatedBytes() - allocated;
+            document = null;
+
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            PackageAbout root = new StreamingXMLParser(file).parse();
+            double fullSeconds = (System.nanoTime() - start) / 1e9;
+            long fullAllocated = allocatedBytes() - allocated;
+            root = null;
+
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            root = new StreamingXMLParser(file).selectPackages(List.of(selectedPackage)).parse();
+            double selectedSeconds = (System.nanoTime() - start) / 1e9;
+            long selectedAllocated = allocatedBytes() - allocated;
+
+            System.out.printf("run=%d dom load %.2f s allocated=%,d | pull full %.2f s allocated=%,d | pull selected %.2f s allocated=%,d%n",
+                i, domSeconds, domAllocated, fullSeconds, fullAllocated, selectedSeconds, selectedAllocated);
+        }
+        Files.deleteIfExists(file);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,102 @@
+package org.mql.java.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.models.PackageAbout;
+import org.mql.java.xml.ModelSchema;
+import org.mql.java.xml.PackageExplorer;
+import org.mql.java.xml.StreamingXMLGenerator;
+import org.mql.java.xml.StreamingXMLParser;
+
+// there is no test runner in this tree, so the synthetic round trips run first and any mismatch
+// escapes main as an exception, which makes the JVM exit non-zero
+public class XMLRoundTripBenchmark {
+    private static final int ITERATIONS = 3;
+    private static final int SYNTHETIC_MODELS = 200;
+
+    public static void main(String[] args) throws Exception {
+        String location = args.length > 0 ? args[0] : "jrt:/java.base";
+        String packageName = args.length > 1 ? args[1] : "";
+
+        Path file = Files.createTempFile("roundtrip", ".xml");
+        try {
+            checkSyntheticModels(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        try (ClassPath classPath = ClassPath.parse(location)) {
+            long start = System.nanoTime();
+            PackageAbout root = new PackageExplorer(packageName, classPath).analyzePackage();
+            double scanSeconds = (System.nanoTime() - start) / 1e9;
+            byte[] exported = export(root);
+            Files.write(file, exported);
+            System.out.printf("location=%s scan %.2f s output=%,d bytes schemaVersion=%d%n",
+                location, scanSeconds, exported.length, ModelSchema.readVersion(file));
+
+            start = System.nanoTime();
+            ModelSchema.validate(file);
+            System.out.printf("validated against %s in %.2f s%n", ModelSchema.resourceName(ModelSchema.VERSION),
+                (System.nanoTime() - start) / 1e9);
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                start = System.nanoTime();
+                PackageAbout reloaded = new StreamingXMLParser(file).parse();
+                double reloadSeconds = (System.nanoTime() - start) / 1e9;
+                byte[] regenerated = export(reloaded);
+                verify(exported, regenerated, "Round trip");
+                System.out.printf("run=%d reload %.2f s (%.1fx faster than scanning), round trip identical%n",
+                    i, reloadSeconds, scanSeconds / reloadSeconds);
+                exported = regenerated;
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // generate, validate, parse and generate again: both exports and the parallel writer must agree byte for byte
+    private static void checkSyntheticModels(Path file) throws Exception {
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (int seed = 0; seed < SYNTHETIC_MODELS; seed++) {
+            byte[] exported = export(SyntheticModels.tree(seed));
+            Files.write(file, exported);
+            String model = "Synthetic model " + seed;
+            try {
+                ModelSchema.validate(file);
+                verify(exported, export(new StreamingXMLParser(file).parse()), model + " round trip");
+                ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+                StreamingXMLGenerator.write(SyntheticModels.tree(seed), parallel, 4);
+                verify(exported, parallel.toByteArray(), model + " parallel export");
+            } catch (IOException e) {
+                throw new IllegalStateException(model + " was rejected: " + e.getMessage(), e);
+            }
+            bytes += exported.length;
+        }
+        System.out.printf("%d synthetic models (%,d bytes) validated and round tripped in %.2f s%n",
+            SYNTHETIC_MODELS, bytes, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void verify(byte[] expected, byte[] actual, String check) {
+        int mismatch = Arrays.mismatch(expected, actual);
+        if (mismatch >= 0) {
+            throw new IllegalStateException(check + " differs at byte " + mismatch + ": "
+                + excerpt(expected, mismatch) + " became " + excerpt(actual, mismatch));
+        }
+    }
+
+    private static byte[] export(PackageAbout root) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingXMLGenerator.write(root, out);
+        return out.toByteArray();
+    }
+
+    private static String excerpt(byte[] bytes, int offset) {
+        int from = Math.max(0, offset - 40);
+        return "'" + new String(bytes, from, Math.min(bytes.length, offset + 40) - from) + "'";
+    }
+}
@@ -0,0 +1,267 @@
+package org.mql.java.bytecode;
+
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.stream.Collectors;
+
+import org.mql.java.models.*;
+
+public class BytecodeModelBuilder {
+    private static final String INHERITED = "java.lang.annotation.Inherited";
+    private static final Set<String> LIST_TYPES = Set.of(
+        "java.util.List", "java.util.ArrayList", "java.util.LinkedList", "java.util.Vector",
+        "java.util.Stack", "java.util.AbstractList", "java.util.AbstractSequentialList",
+        "java.util.concurrent.CopyOnWriteArrayList"
+    );
+
+    private final Map<String, ClassFileInfo> scannedTypes;
+    private final TypeRegistry typeRegistry;
+    private final boolean lazyMembers;
+
+    public BytecodeModelBuilder(Map<String, ClassFileInfo> scannedTypes) {
+        this(scannedTypes, new TypeRegistry());
+    }
+
+    public BytecodeModelBuilder(Map<String, ClassFileInfo> scannedTypes, TypeRegistry typeRegistry) {
+        this(scannedTypes, typeRegistry, false);
+    }
+
+    public BytecodeModelBuilder(Map<String, ClassFileInfo> scannedTypes, TypeRegistry typeRegistry, boolean lazyMembers) {
+        this.scannedTypes = scannedTypes;
+        this.typeRegistry = typeRegistry;
+        this.lazyMembers = lazyMembers;
+    }
+
+    public ClassAbout buildClass(ClassFileInfo info) {
+        ClassAbout classAbout = new ClassAbout();
+        classAbout.setName(info.getName());
+        classAbout.setSimpleName(info.getSimpleName());
+        classAbout.setModifiers(Modifier.toString(info.getModifiers()));
+        classAbout.setSuperClass(superClassOf(info));
+        classAbout.setAnnotations(new Vector<>(info.getAnnotations()));
+        if (lazyMembers) {
+            classAbout.setLoader(target -> buildMembers(info, target));
+        } else {
+            buildMembers(info, classAbout);
+        }
+        buildRelations(info, classAbout);
+        return classAbout;
+    }
+
+    private void buildMembers(ClassFileInfo info, ClassAbout classAbout) {
+        classAbout.setFields(buildFields(info));
+        classAbout.setMethods(buildMethods(info));
+    }
+
+    private void buildMembers(ClassFileInfo info, InterfaceAbout interfaceAbout) {
+        interfaceAbout.setFields(buildFields(info));
+        interfaceAbout.setMethods(buildMethods(info));
+    }
+
+    public InterfaceAbout buildInterface(ClassFileInfo info) {
+        return typeRegistry.interfaceOf(info.getName(), name -> analyzeInterface(info));
+    }
+
+    private InterfaceAbout analyzeInterface(ClassFileInfo info) {
+        InterfaceAbout interfaceAbout = new InterfaceAbout();
+        interfaceAbout.setName(info.getName());
+        interfaceAbout.setSimpleName(info.getSimpleName());
+        interfaceAbout.setModifiers(Modifier.toString(info.getModifiers()));
+        interfaceAbout.setSuperClass(info.isInterface() ? null : superClassOf(info));
+        if (lazyMembers) {
+            interfaceAbout.setLoader(target -> buildMembers(info, target));
+        } else {
+            buildMembers(info, interfaceAbout);
+        }
+        return interfaceAbout;
+    }
+
+    public InterfaceAbout buildInterface(String name) {
+        ClassFileInfo info = scannedTypes.get(name);
+        if (info != null) {
+            return buildInterface(info);
+        }
+        return typeRegistry.externalInterfaceOf(name);
+    }
+
+    public void loadInterface(ClassFileInfo info, InterfaceAbout target) {
+        target.setModifiers(Modifier.toString(info.getModifiers()));
+        target.setSuperClass(info.isInterface() ? null : superClassOf(info));
+        buildMembers(info, target);
+    }
+
+    public EnumAbout buildEnum(ClassFileInfo info) {
+        List<String> constants = new Vector<>();
+        for (MemberInfo field : info.getFields()) {
+            if ((field.getAccess() & ClassFileInfo.ACC_PUBLIC) != 0) {
+                constants.add(Modifier.toString(field.getAccess() & Modifier.fieldModifiers()) + " "
+                        + sourceTypeName(field.getDescriptor()) + " "
+                        + info.getName() + "." + field.getName());
+            }
+        }
+        return new EnumAbout(info.getName(), info.getSimpleName(), constants);
+    }
+
+    public AnnotationAbout buildAnnotation(ClassFileInfo info) {
+        RetentionPolicy policy = info.getRetentionPolicy() != null
+                ? RetentionPolicy.valueOf(info.getRetentionPolicy())
+                : RetentionPolicy.CLASS;
+        Map<String, String> methodProperties = new HashMap<>();
+        for (MemberInfo method : info.getMethods()) {
+            methodProperties.put(method.getName(),
+                    Descriptors.simpleName(Descriptors.returnDescriptor(method.getDescriptor())));
+        }
+        return new AnnotationAbout(info.getSimpleName(), policy,
+                info.getAnnotations().contains(INHERITED), methodProperties);
+    }
+
+    private String superClassOf(ClassFileInfo info) {
+        String superName = info.getSuperName();
+        return "java.lang.Object".equals(superName) ? null : superName;
+    }
+
+    private List<FieldAbout> buildFields(ClassFileInfo info) {
+        List<FieldAbout> fields = new Vector<>();
+        for (MemberInfo field : info.getFields()) {
+            fields.add(buildField(field));
+        }
+        return fields;
+    }
+
+    private FieldAbout buildField(MemberInfo field) {
+        String descriptor = field.getDescriptor();
+
+        FieldAbout fieldAbout = new FieldAbout();
+        fieldAbout.setFieldName(field.getName());
+        fieldAbout.setFieldType(fieldTypeName(field));
+        fieldAbout.setGenericTypeName(Descriptors.genericTypeName(descriptor, field.getSignature()));
+        fieldAbout.setSimpleTypeName(Descriptors.simpleName(descriptor));
+        fieldAbout.setModifiers(field.getAccess());
+        fieldAbout.setModifier(accessLevel(field.getAccess()));
+        fieldAbout.setUserDefined(isUserDefined(field));
+        fieldAbout.setList(isList(field));
+        return fieldAbout;
+    }
+
+    private String fieldTypeName(MemberInfo field) {
+        String typeName = Descriptors.typeName(field.getDescriptor());
+        if (LIST_TYPES.contains(typeName)) {
+            String elementType = Descriptors.firstTypeArgument(field.getSignature());
+            if (elementType != null) {
+                return elementType;
+            }
+        }
+        return typeName;
+    }
+
+    private boolean isList(MemberInfo field) {
+        return LIST_TYPES.contains(Descriptors.typeName(field.getDescriptor()));
+    }
+
+    private boolean isUserDefined(MemberInfo field) {
+        String descriptor = field.getDescriptor();
+        return isList(field) || (!Descriptors.isPrimitive(descriptor) && !Descriptors.typeName(descriptor).startsWith("java"));
+    }
+
+    private boolean isFinal(MemberInfo field) {
+        return (field.getAccess() & ClassFileInfo.ACC_FINAL) != 0;
+    }
+
+    private List<MethodAbout> buildMethods(ClassFileInfo info) {
+        List<MethodAbout> methods = new Vector<>();
+        for (MemberInfo method : info.getMethods()) {
+            if (!isInitializer(method)) {
+                methods.add(buildMethod(method));
+            }
+        }
+        return methods;
+    }
+
+    private MethodAbout buildMethod(MemberInfo method) {
+        MethodAbout methodAbout = new MethodAbout();
+        methodAbout.setMethodName(method.getName());
+        methodAbout.setOutputType(Descriptors.simpleName(Descriptors.returnDescriptor(method.getDescriptor())));
+        methodAbout.setModifier(accessLevel(method.getAccess()));
+        methodAbout.setArguments("(" +
+            Descriptors.parameterDescriptors(method.getDescriptor()).stream()
+                .map(Descriptors::simpleName)
+                .collect(Collectors.joining(", ")) +
+            ")");
+        return methodAbout;
+    }
+
+    private void buildRelations(ClassFileInfo info, ClassAbout classAbout) {
+        String name = info.getName();
+        if (classAbout.getSuperClass() != null) {
+            classAbout.getAssociations().add(new AssociationAbout(name, classAbout.getSuperClass(), "Inheritance"));
+        }
+
+        Set<String> knownTypes = new HashSet<>();
+        for (MemberInfo field : info.getFields()) {
+            knownTypes.add(fieldTypeName(field));
+        }
+        for (MemberInfo method : info.getMethods()) {
+            if (isInitializer(method)) continue;
+            for (String parameter : Descriptors.parameterDescriptors(method.getDescriptor())) {
+                addUsedClassIfCustomType(classAbout, parameter, knownTypes);
+            }
+            addUsedClassIfCustomType(classAbout, Descriptors.returnDescriptor(method.getDescriptor()), knownTypes);
+        }
+
+        for (MemberInfo field : info.getFields()) {
+            if (isUserDefined(field) && isFinal(field)) {
+                addFieldRelation(classAbout, field, "Composition", classAbout.getCompositionAssociations());
+            }
+        }
+        for (MemberInfo field : info.getFields()) {
+            if (isUserDefined(field) && !isFinal(field)) {
+                addFieldRelation(classAbout, field, "Aggregation", classAbout.getAggregationAssociations());
+            }
+        }
+
+        for (String iface : info.getInterfaces()) {
+            classAbout.getImplementedInterfaces().add(buildInterface(iface));
+            classAbout.getAssociations().add(new AssociationAbout(name, iface, "Implementation"));
+        }
+    }
+
+    private void addUsedClassIfCustomType(ClassAbout classAbout, String descriptor, Set<String> knownTypes) {
+        String typeName = Descriptors.typeName(descriptor);
+        if (Descriptors.isPrimitive(descriptor) || typeName.startsWith("java.lang")) return;
+        if (!knownTypes.add(typeName)) return;
+        AssociationAbout relation = new AssociationAbout(classAbout.getName(), typeName, "Use");
+        classAbout.getDependencyAssociations().add(relation);
+        classAbout.getAssociations().add(relation);
+    }
+
+    private void addFieldRelation(ClassAbout classAbout, MemberInfo field, String type, List<AssociationAbout> target) {
+        AssociationAbout relation = new AssociationAbout(classAbout.getName(), fieldTypeName(field), type);
+        relation.setUpperBound(isList(field) ? "*" : "1");
+        target.add(relation);
+        classAbout.getAssociations().add(relation);
+    }
+
+    private boolean isInitializer(MemberInfo method) {
+        return method.getName().equals("<init>") || method.getName().equals("<clinit>");
+    }
+
+    private String sourceTypeName(String descriptor) {
+        if (descriptor.charAt(0) == '[') {
+            return sourceTypeName(descriptor.substring(1)) + "[]";
+        }
+        return Descriptors.typeName(descriptor);
+    }
+
+    private char accessLevel(int access) {
+        if ((access & ClassFileInfo.ACC_PUBLIC) != 0) return '+';
+        if ((access & ClassFileInfo.ACC_PRIVATE) != 0) return '-';
+        if ((access & ClassFileInfo.ACC_PROTECTED) != 0) return '#';
+        return '~';
+    }
+}
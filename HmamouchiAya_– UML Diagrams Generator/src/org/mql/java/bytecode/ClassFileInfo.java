@@ -0,0 +1,122 @@
+package org.mql.java.bytecode;
+
+import java.util.List;
+import java.util.Vector;
+
+public class ClassFileInfo {
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_PRIVATE = 0x0002;
+    public static final int ACC_PROTECTED = 0x0004;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_FINAL = 0x0010;
+    public static final int ACC_INTERFACE = 0x0200;
+    public static final int ACC_ABSTRACT = 0x0400;
+    public static final int ACC_SYNTHETIC = 0x1000;
+    public static final int ACC_ANNOTATION = 0x2000;
+    public static final int ACC_ENUM = 0x4000;
+
+    private static final int CLASS_MODIFIERS = ACC_PUBLIC | ACC_PRIVATE | ACC_PROTECTED
+            | ACC_STATIC | ACC_FINAL | ACC_INTERFACE | ACC_ABSTRACT;
+
+    private String name;
+    private String superName;
+    private String signature;
+    private int access;
+    private int innerAccess = -1;
+    private String innerSimpleName;
+    private String retentionPolicy;
+    private final List<String> interfaces = new Vector<>();
+    private final List<String> annotations = new Vector<>();
+    private final List<MemberInfo> fields = new Vector<>();
+    private final List<MemberInfo> methods = new Vector<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSimpleName() {
+        if (innerSimpleName != null) {
+            return innerSimpleName;
+        }
+        int separator = Math.max(name.lastIndexOf('.'), name.lastIndexOf('$'));
+        return name.substring(separator + 1);
+    }
+
+    public String getPackageName() {
+        int separator = name.lastIndexOf('.');
+        return separator < 0 ? "" : name.substring(0, separator);
+    }
+
+    public String getSuperName() {
+        return superName;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public int getAccess() {
+        return access;
+    }
+
+    public int getModifiers() {
+        return (innerAccess >= 0 ? innerAccess : access) & CLASS_MODIFIERS;
+    }
+
+    public String getRetentionPolicy() {
+        return retentionPolicy;
+    }
+
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    public List<String> getAnnotations() {
+        return annotations;
+    }
+
+    public List<MemberInfo> getFields() {
+        return fields;
+    }
+
+    public List<MemberInfo> getMethods() {
+        return methods;
+    }
+
+    public boolean isAnnotation() {
+        return (access & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (access & ACC_ENUM) != 0;
+    }
+
+    public boolean isInterface() {
+        return (access & ACC_INTERFACE) != 0;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setSuperName(String superName) {
+        this.superName = superName;
+    }
+
+    public void setSignature(String signature) {
+        this.signature = signature;
+    }
+
+    public void setAccess(int access) {
+        this.access = access;
+    }
+
+    public void setInnerInfo(int innerAccess, String innerSimpleName) {
+        this.innerAccess = innerAccess;
+        this.innerSimpleName = innerSimpleName;
+    }
+
+    public void setRetentionPolicy(String retentionPolicy) {
+        this.retentionPolicy = retentionPolicy;
+    }
+}
@@ -0,0 +1,242 @@
+package org.mql.java.bytecode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ClassFileReader {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final String RETENTION = "java.lang.annotation.Retention";
+
+    private final ByteBuffer buffer;
+    private int[] offsets;
+    private String[] strings;
+
+    public ClassFileReader(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    public ClassFileReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    public static ClassFileInfo read(Path classFile) throws IOException {
+        return new ClassFileReader(Files.readAllBytes(classFile)).read();
+    }
+
+    public ClassFileInfo read() {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        buffer.getShort();
+        buffer.getShort();
+        readConstantPool();
+
+        ClassFileInfo info = new ClassFileInfo();
+        info.setAccess(u2());
+        info.setName(className(u2()));
+        int superIndex = u2();
+        info.setSuperName(superIndex == 0 ? null : className(superIndex));
+
+        int interfaceCount = u2();
+        for (int i = 0; i < interfaceCount; i++) {
+            info.getInterfaces().add(className(u2()));
+        }
+
+        int fieldCount = u2();
+        for (int i = 0; i < fieldCount; i++) {
+            info.getFields().add(readMember());
+        }
+        int methodCount = u2();
+        for (int i = 0; i < methodCount; i++) {
+            info.getMethods().add(readMember());
+        }
+
+        readClassAttributes(info);
+        return info;
+    }
+
+    private void readConstantPool() {
+        int count = u2();
+        offsets = new int[count];
+        strings = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = u1();
+            offsets[i] = buffer.position();
+            switch (tag) {
+                case CONSTANT_UTF8 -> skip(u2());
+                case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE,
+                     CONSTANT_MODULE, CONSTANT_PACKAGE -> skip(2);
+                case CONSTANT_METHOD_HANDLE -> skip(3);
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                     CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE,
+                     CONSTANT_DYNAMIC, CONSTANT_INVOKE_DYNAMIC -> skip(4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    skip(8);
+                    i++;
+                }
+                default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    private MemberInfo readMember() {
+        int access = u2();
+        String name = utf8(u2());
+        String descriptor = utf8(u2());
+        String signature = null;
+
+        int attributeCount = u2();
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = utf8(u2());
+            int length = buffer.getInt();
+            if ("Signature".equals(attributeName)) {
+                signature = utf8(u2());
+            } else {
+                skip(length);
+            }
+        }
+        return new MemberInfo(access, name, descriptor, signature);
+    }
+
+    private void readClassAttributes(ClassFileInfo info) {
+        int attributeCount = u2();
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = utf8(u2());
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+            switch (attributeName) {
+                case "Signature" -> info.setSignature(utf8(u2()));
+                case "InnerClasses" -> readInnerClasses(info);
+                case "RuntimeVisibleAnnotations", "RuntimeInvisibleAnnotations" -> readAnnotations(info);
+                default -> { }
+            }
+            buffer.position(end);
+        }
+    }
+
+    private void readInnerClasses(ClassFileInfo info) {
+        int count = u2();
+        for (int i = 0; i < count; i++) {
+            int innerIndex = u2();
+            u2();
+            int nameIndex = u2();
+            int innerAccess = u2();
+            if (className(innerIndex).equals(info.getName())) {
+                info.setInnerInfo(innerAccess, nameIndex == 0 ? "" : utf8(nameIndex));
+            }
+        }
+    }
+
+    private void readAnnotations(ClassFileInfo info) {
+        int count = u2();
+        for (int i = 0; i < count; i++) {
+            String type = Descriptors.typeName(utf8(u2()));
+            info.getAnnotations().add(type);
+            int pairCount = u2();
+            for (int j = 0; j < pairCount; j++) {
+                String elementName = utf8(u2());
+                String value = readElementValue();
+                if (RETENTION.equals(type) && "value".equals(elementName)) {
+                    info.setRetentionPolicy(value);
+                }
+            }
+        }
+    }
+
+    private String readElementValue() {
+        int tag = u1();
+        switch (tag) {
+            case 'e' -> {
+                u2();
+                return utf8(u2());
+            }
+            case '@' -> {
+                u2();
+                int pairCount = u2();
+                for (int i = 0; i < pairCount; i++) {
+                    u2();
+                    readElementValue();
+                }
+                return null;
+            }
+            case '[' -> {
+                int valueCount = u2();
+                for (int i = 0; i < valueCount; i++) {
+                    readElementValue();
+                }
+                return null;
+            }
+            default -> {
+                u2();
+                return null;
+            }
+        }
+    }
+
+    private String className(int index) {
+        return utf8(buffer.getShort(offsets[index]) & 0xFFFF).replace('/', '.');
+    }
+
+    private String utf8(int index) {
+        if (strings[index] == null) {
+            strings[index] = decodeUtf8(offsets[index]);
+        }
+        return strings[index];
+    }
+
+    private String decodeUtf8(int offset) {
+        int length = buffer.getShort(offset) & 0xFFFF;
+        int position = offset + 2;
+        int end = position + length;
+        char[] chars = new char[length];
+        int count = 0;
+        while (position < end) {
+            int b = buffer.get(position++) & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                int b2 = buffer.get(position++) & 0x3F;
+                chars[count++] = (char) (((b & 0x1F) << 6) | b2);
+            } else {
+                int b2 = buffer.get(position++) & 0x3F;
+                int b3 = buffer.get(position++) & 0x3F;
+                chars[count++] = (char) (((b & 0x0F) << 12) | (b2 << 6) | b3);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private int u1() {
+        return buffer.get() & 0xFF;
+    }
+
+    private int u2() {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    private void skip(int length) {
+        buffer.position(buffer.position() + length);
+    }
+}
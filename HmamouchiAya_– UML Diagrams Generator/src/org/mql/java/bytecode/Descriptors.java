@@ -0,0 +1,141 @@
+package org.mql.java.bytecode;
+
+import java.util.List;
+import java.util.Vector;
+
+public final class Descriptors {
+
+    private Descriptors() {
+    }
+
+    public static boolean isPrimitive(String descriptor) {
+        return descriptor.length() == 1;
+    }
+
+    public static String typeName(String descriptor) {
+        switch (descriptor.charAt(0)) {
+            case 'B': return "byte";
+            case 'C': return "char";
+            case 'D': return "double";
+            case 'F': return "float";
+            case 'I': return "int";
+            case 'J': return "long";
+            case 'S': return "short";
+            case 'Z': return "boolean";
+            case 'V': return "void";
+            case 'L': return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+            default: return descriptor.replace('/', '.');
+        }
+    }
+
+    public static String simpleName(String descriptor) {
+        if (descriptor.charAt(0) == '[') {
+            return simpleName(descriptor.substring(1)) + "[]";
+        }
+        String typeName = typeName(descriptor);
+        int separator = Math.max(typeName.lastIndexOf('.'), typeName.lastIndexOf('$'));
+        return typeName.substring(separator + 1);
+    }
+
+    public static List<String> parameterDescriptors(String methodDescriptor) {
+        List<String> parameters = new Vector<>();
+        int position = 1;
+        while (methodDescriptor.charAt(position) != ')') {
+            int end = endOfType(methodDescriptor, position);
+            parameters.add(methodDescriptor.substring(position, end));
+            position = end;
+        }
+        return parameters;
+    }
+
+    public static String returnDescriptor(String methodDescriptor) {
+        return methodDescriptor.substring(methodDescriptor.indexOf(')') + 1);
+    }
+
+    public static String firstTypeArgument(String signature) {
+        if (signature == null) {
+            return null;
+        }
+        int open = signature.indexOf('<');
+        if (open < 0) {
+            return null;
+        }
+        StringBuilder typeName = new StringBuilder();
+        appendTypeArgument(signature, open + 1, typeName);
+        return typeName.toString();
+    }
+
+    public static String genericTypeName(String descriptor, String signature) {
+        StringBuilder typeName = new StringBuilder();
+        appendReferenceType(signature != null ? signature : descriptor, 0, typeName);
+        return typeName.toString();
+    }
+
+    private static int endOfType(String descriptor, int position) {
+        while (descriptor.charAt(position) == '[') {
+            position++;
+        }
+        if (descriptor.charAt(position) == 'L') {
+            return descriptor.indexOf(';', position) + 1;
+        }
+        return position + 1;
+    }
+
+    private static int appendTypeArgument(String signature, int position, StringBuilder out) {
+        switch (signature.charAt(position)) {
+            case '*':
+                out.append('?');
+                return position + 1;
+            case '+':
+                out.append("? extends ");
+                return appendReferenceType(signature, position + 1, out);
+            case '-':
+                out.append("? super ");
+                return appendReferenceType(signature, position + 1, out);
+            default:
+                return appendReferenceType(signature, position, out);
+        }
+    }
+
+    private static int appendReferenceType(String signature, int position, StringBuilder out) {
+        char tag = signature.charAt(position);
+        if (tag == '[') {
+            int end = appendReferenceType(signature, position + 1, out);
+            out.append("[]");
+            return end;
+        }
+        if (tag == 'T') {
+            int end = signature.indexOf(';', position);
+            out.append(signature, position + 1, end);
+            return end + 1;
+        }
+        if (tag != 'L') {
+            out.append(typeName(String.valueOf(tag)));
+            return position + 1;
+        }
+        position++;
+        while (true) {
+            char c = signature.charAt(position);
+            if (c == ';') {
+                return position + 1;
+            }
+            if (c == '<') {
+                out.append('<');
+                position++;
+                boolean first = true;
+                while (signature.charAt(position) != '>') {
+                    if (!first) {
+                        out.append(", ");
+                    }
+                    position = appendTypeArgument(signature, position, out);
+                    first = false;
+                }
+                out.append('>');
+                position++;
+            } else {
+                out.append(c == '/' ? '.' : c == '.' ? '$' : c);
+                position++;
+            }
+        }
+    }
+}
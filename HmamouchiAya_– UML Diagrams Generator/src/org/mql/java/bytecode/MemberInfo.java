@@ -0,0 +1,35 @@
+package org.mql.java.bytecode;
+
+public class MemberInfo {
+    private final int access;
+    private final String name;
+    private final String descriptor;
+    private final String signature;
+
+    public MemberInfo(int access, String name, String descriptor, String signature) {
+        this.access = access;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.signature = signature;
+    }
+
+    public int getAccess() {
+        return access;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public boolean isSynthetic() {
+        return (access & ClassFileInfo.ACC_SYNTHETIC) != 0;
+    }
+}
@@ -0,0 +1,268 @@
+package org.mql.java.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class AnalysisCache {
+    public static final String ANALYZER_VERSION = "3";
+
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final String LOCK_FILE = "cache.lock";
+    private static final double EVICTION_TARGET = 0.9;
+    private static final ObjectInputFilter ENTRY_FILTER = ObjectInputFilter.Config.createFilter(
+        "org.mql.java.models.*;org.mql.java.cache.*;org.mql.java.index.ModelIndex$Kind;java.util.*;java.lang.*;java.lang.annotation.RetentionPolicy;!*");
+    private static final Map<Path, Object> DIRECTORY_MONITORS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Object monitor;
+    private final AtomicLong currentBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AnalysisCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.monitor = DIRECTORY_MONITORS.computeIfAbsent(this.directory, k -> new Object());
+        Files.createDirectories(this.directory);
+        currentBytes.set(measure());
+        if (currentBytes.get() > maxBytes) {
+            evict();
+        }
+    }
+
+    public static String key(ByteBuffer... contents) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ANALYZER_VERSION.getBytes(StandardCharsets.UTF_8));
+            for (ByteBuffer content : contents) {
+                digest.update(content.duplicate());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String key(String contentHash, List<String> dependencyHashes) {
+        StringBuilder combined = new StringBuilder(contentHash);
+        for (String dependencyHash : dependencyHashes) {
+            combined.append(':').append(dependencyHash);
+        }
+        return key(ByteBuffer.wrap(combined.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public CachedType get(String key) {
+        Path entry = entryPath(key);
+        try (ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            input.setObjectInputFilter(ENTRY_FILTER);
+            CachedType cached = (CachedType) input.readObject();
+            touch(entry);
+            hits.incrementAndGet();
+            return cached;
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return null;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            misses.incrementAndGet();
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    public void put(String key, CachedType value) {
+        Path entry = entryPath(key);
+        Path temporary = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            temporary = Files.createTempFile(entry.getParent(), key, ".tmp");
+            try (OutputStream fileOutput = Files.newOutputStream(temporary);
+                 ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(fileOutput))) {
+                output.writeObject(value);
+            }
+            long size = Files.size(temporary);
+            long replaced = sizeOf(entry);
+            moveIntoPlace(temporary, entry);
+            writes.incrementAndGet();
+            if (currentBytes.addAndGet(size - replaced) > maxBytes) {
+                evict();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            if (temporary != null) deleteQuietly(temporary);
+        }
+    }
+
+    private void moveIntoPlace(Path temporary, Path entry) throws IOException {
+        try {
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public void evict() {
+        synchronized (monitor) {
+            try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    List<Path> entries = listEntries();
+                    long total = 0;
+                    for (Path entry : entries) {
+                        total += sizeOf(entry);
+                    }
+                    long target = (long) (maxBytes * EVICTION_TARGET);
+                    for (Path entry : entries) {
+                        if (total <= target) break;
+                        long size = sizeOf(entry);
+                        if (deleteQuietly(entry)) {
+                            total -= size;
+                            evictions.incrementAndGet();
+                        }
+                    }
+                    currentBytes.set(total);
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private List<Path> listEntries() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files
+                .filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                .sorted(Comparator.comparing(this::lastAccess))
+                .collect(Collectors.toList());
+        }
+    }
+
+    private long measure() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files
+                .filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                .mapToLong(this::sizeOf)
+                .sum();
+        }
+    }
+
+    public void clear() {
+        synchronized (monitor) {
+            try {
+                for (Path entry : listEntries()) {
+                    deleteQuietly(entry);
+                }
+                currentBytes.set(0);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    private void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Entry was evicted concurrently; the loaded value is still valid
+        }
+    }
+
+    private FileTime lastAccess(Path entry) {
+        try {
+            return Files.getLastModifiedTime(entry);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private long sizeOf(Path entry) {
+        try {
+            return Files.size(entry);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private boolean deleteQuietly(Path entry) {
+        try {
+            return Files.deleteIfExists(entry);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getCurrentBytes() {
+        return currentBytes.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getWrites() {
+        return writes.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "AnalysisCache{" +
+               "directory=" + directory +
+               ", bytes=" + currentBytes.get() + "/" + maxBytes +
+               ", hits=" + hits.get() +
+               ", misses=" + misses.get() +
+               ", writes=" + writes.get() +
+               ", evictions=" + evictions.get() +
+               '}';
+    }
+}
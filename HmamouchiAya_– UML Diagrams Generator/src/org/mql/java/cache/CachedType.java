@@ -0,0 +1,32 @@
+package org.mql.java.cache;
+
+import java.io.Serializable;
+
+import org.mql.java.index.ModelIndex.Kind;
+import org.mql.java.models.ClassAbout;
+
+public class CachedType implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Kind kind;
+    private final ClassAbout classView;
+    private final Object model;
+
+    public CachedType(Kind kind, ClassAbout classView, Object model) {
+        this.kind = kind;
+        this.classView = classView;
+        this.model = model;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public ClassAbout getClassView() {
+        return classView;
+    }
+
+    public Object getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,91 @@
+package org.mql.java.classpath;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class ClassEntry {
+    private final ClassPathSource source;
+    private final String className;
+    private final String resourceName;
+    private final long size;
+    private final long lastModified;
+    private final long position;
+    private final long compressedSize;
+    private final int compressionMethod;
+
+    public ClassEntry(ClassPathSource source, String resourceName, long size, long lastModified) {
+        this(source, resourceName, size, lastModified, -1, size, 0);
+    }
+
+    ClassEntry(ClassPathSource source, String resourceName, long size, long lastModified,
+            long position, long compressedSize, int compressionMethod) {
+        this.source = source;
+        this.resourceName = resourceName;
+        this.className = toClassName(resourceName);
+        this.size = size;
+        this.lastModified = lastModified;
+        this.position = position;
+        this.compressedSize = compressedSize;
+        this.compressionMethod = compressionMethod;
+    }
+
+    private static String toClassName(String resourceName) {
+        String name = resourceName.endsWith(".class")
+            ? resourceName.substring(0, resourceName.length() - ".class".length())
+            : resourceName;
+        return name.replace('/', '.');
+    }
+
+    public ByteBuffer read() throws IOException {
+        return source.read(this);
+    }
+
+    public ClassPathSource getSource() {
+        return source;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public String getPackageName() {
+        int separator = className.lastIndexOf('.');
+        return separator < 0 ? "" : className.substring(0, separator);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isTopLevel() {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return !simpleName.contains("$")
+            && !simpleName.equals("module-info")
+            && !simpleName.equals("package-info");
+    }
+
+    long getPosition() {
+        return position;
+    }
+
+    long getCompressedSize() {
+        return compressedSize;
+    }
+
+    int getCompressionMethod() {
+        return compressionMethod;
+    }
+
+    @Override
+    public String toString() {
+        return source.getLocation() + "!/" + resourceName;
+    }
+}
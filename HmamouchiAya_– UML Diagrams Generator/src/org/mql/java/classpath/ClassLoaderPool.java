@@ -0,0 +1,82 @@
+package org.mql.java.classpath;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ClassLoaderPool implements Closeable {
+    private final ClassLoader parent;
+    private final Map<List<String>, URLClassLoader> loaders = new ConcurrentHashMap<>();
+
+    public ClassLoaderPool() {
+        this(ClassLoader.getPlatformClassLoader());
+    }
+
+    public ClassLoaderPool(ClassLoader parent) {
+        this.parent = parent;
+    }
+
+    public URLClassLoader acquire(ClassPath classPath) {
+        List<String> key = keyOf(classPath);
+        return loaders.computeIfAbsent(key, k -> createLoader(classPath));
+    }
+
+    public Class<?> loadClass(ClassPath classPath, String className) throws ClassNotFoundException {
+        return Class.forName(className, false, acquire(classPath));
+    }
+
+    public void release(ClassPath classPath) {
+        URLClassLoader loader = loaders.remove(keyOf(classPath));
+        if (loader != null) {
+            closeQuietly(loader);
+        }
+    }
+
+    public int size() {
+        return loaders.size();
+    }
+
+    private List<String> keyOf(ClassPath classPath) {
+        List<String> key = new Vector<>();
+        for (ClassPathSource source : classPath.getSources()) {
+            key.add(source.getLocation());
+        }
+        return key;
+    }
+
+    private URLClassLoader createLoader(ClassPath classPath) {
+        List<URL> urls = new Vector<>();
+        for (ClassPathSource source : classPath.getSources()) {
+            try {
+                urls.add(source.getURL());
+            } catch (MalformedURLException e) {
+                e.printStackTrace();
+            }
+        }
+        return new URLClassLoader("analysis:" + classPath, urls.toArray(new URL[0]), parent);
+    }
+
+    private void closeQuietly(URLClassLoader loader) {
+        try {
+            loader.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (List<String> key : new Vector<>(loaders.keySet())) {
+            URLClassLoader loader = loaders.remove(key);
+            if (loader != null) {
+                closeQuietly(loader);
+            }
+        }
+    }
+}
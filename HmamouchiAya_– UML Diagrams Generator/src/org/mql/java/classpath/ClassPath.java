@@ -0,0 +1,135 @@
+package org.mql.java.classpath;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ClassPath implements Closeable {
+    private final List<ClassPathSource> sources;
+
+    public ClassPath(List<ClassPathSource> sources) {
+        this.sources = new Vector<>(sources);
+    }
+
+    public static ClassPath of(String... entries) throws IOException {
+        List<ClassPathSource> sources = new Vector<>();
+        for (String entry : entries) {
+            sources.addAll(resolve(entry));
+        }
+        return new ClassPath(sources);
+    }
+
+    public static ClassPath parse(String classPath) throws IOException {
+        List<String> entries = new Vector<>();
+        String[] tokens = classPath.split(File.pathSeparator);
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals("jrt") && i + 1 < tokens.length && tokens[i + 1].startsWith("/")) {
+                entries.add(tokens[i] + ":" + tokens[++i]);
+            } else {
+                entries.add(tokens[i]);
+            }
+        }
+        return of(entries.toArray(new String[0]));
+    }
+
+    private static List<ClassPathSource> resolve(String entry) throws IOException {
+        if (entry.isBlank()) {
+            return List.of();
+        }
+        if (JrtSource.isJrtLocation(entry)) {
+            return List.of(JrtSource.parse(entry));
+        }
+        if (isGlob(entry)) {
+            return expandGlob(entry);
+        }
+        Path path = Paths.get(entry);
+        return List.of(toSource(path));
+    }
+
+    private static ClassPathSource toSource(Path path) {
+        return Files.isDirectory(path) ? new DirectorySource(path) : new JarSource(path);
+    }
+
+    private static boolean isGlob(String entry) {
+        return entry.indexOf('*') >= 0 || entry.indexOf('?') >= 0
+            || entry.indexOf('{') >= 0 || entry.indexOf('[') >= 0;
+    }
+
+    private static List<ClassPathSource> expandGlob(String entry) throws IOException {
+        String normalized = entry.replace('\\', '/');
+        int firstGlob = normalized.length();
+        for (char c : new char[] { '*', '?', '{', '[' }) {
+            int index = normalized.indexOf(c);
+            if (index >= 0) firstGlob = Math.min(firstGlob, index);
+        }
+        int separator = normalized.lastIndexOf('/', firstGlob);
+        Path base = Paths.get(separator < 0 ? "." : normalized.substring(0, Math.max(separator, 1)));
+        String pattern = normalized.substring(separator + 1);
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(base)) {
+            return files
+                .filter(path -> !path.equals(base))
+                .filter(path -> matcher.matches(base.relativize(path)))
+                .filter(path -> Files.isDirectory(path) || path.toString().endsWith(".jar"))
+                .sorted()
+                .map(ClassPath::toSource)
+                .collect(Collectors.toList());
+        }
+    }
+
+    public List<ClassPathSource> getSources() {
+        return sources;
+    }
+
+    public List<ClassEntry> listClasses() throws IOException {
+        Map<String, ClassEntry> classes = new LinkedHashMap<>();
+        for (ClassPathSource source : sources) {
+            for (ClassEntry entry : source.listClasses()) {
+                classes.putIfAbsent(entry.getClassName(), entry);
+            }
+        }
+        return new Vector<>(classes.values());
+    }
+
+    public List<ClassEntry> listClasses(String packageName) throws IOException {
+        String prefix = packageName.isEmpty() ? "" : packageName + ".";
+        return listClasses().stream()
+            .filter(entry -> entry.getClassName().startsWith(prefix))
+            .collect(Collectors.toList());
+    }
+
+    public boolean refresh() throws IOException {
+        boolean changed = false;
+        for (ClassPathSource source : sources) {
+            changed |= source.refresh();
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ClassPathSource source : sources) {
+            source.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sources.stream().map(ClassPathSource::getLocation).collect(Collectors.joining(File.pathSeparator));
+    }
+}
@@ -0,0 +1,32 @@
+package org.mql.java.classpath;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface ClassPathSource extends Closeable {
+
+    String getLocation();
+
+    List<ClassEntry> listClasses() throws IOException;
+
+    ByteBuffer read(ClassEntry entry) throws IOException;
+
+    // sources that cache their listing drop it here once the file behind it has changed on disk,
+    // returning true when entries listed before may no longer be read
+    default boolean refresh() throws IOException {
+        return false;
+    }
+
+    default URL getURL() throws MalformedURLException {
+        return Path.of(getLocation()).toUri().toURL();
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,57 @@
+package org.mql.java.classpath;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class DirectorySource implements ClassPathSource {
+    private final Path root;
+
+    public DirectorySource(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public String getLocation() {
+        return root.toString();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public List<ClassEntry> listClasses() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.find(root, Integer.MAX_VALUE,
+                (path, attributes) -> attributes.isRegularFile() && path.toString().endsWith(".class"))) {
+            return files.map(this::entryFor).collect(Collectors.toList());
+        }
+    }
+
+    public ClassEntry entryFor(Path file) {
+        String resourceName = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new ClassEntry(this, resourceName, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return new ClassEntry(this, resourceName, -1, 0);
+        }
+    }
+
+    public Path resolve(ClassEntry entry) {
+        return root.resolve(entry.getResourceName());
+    }
+
+    @Override
+    public ByteBuffer read(ClassEntry entry) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(resolve(entry)));
+    }
+}
@@ -0,0 +1,218 @@
+package org.mql.java.classpath;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Vector;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+public class JarSource implements ClassPathSource {
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int ZIP64_END_LOCATOR = 0x07064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+    private static final int CENTRAL_FILE_HEADER = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int ZIP64_EXTRA = 0x0001;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private final Path jarFile;
+    private FileChannel channel;
+    private volatile MappedByteBuffer mapped;
+    private List<ClassEntry> entries;
+    private long openedSize;
+    private long openedLastModified;
+
+    public JarSource(Path jarFile) {
+        this.jarFile = jarFile;
+    }
+
+    @Override
+    public String getLocation() {
+        return jarFile.toString();
+    }
+
+    @Override
+    public synchronized List<ClassEntry> listClasses() throws IOException {
+        if (entries == null) {
+            if (!Files.isRegularFile(jarFile)) {
+                return List.of();
+            }
+            open();
+            entries = readCentralDirectory();
+        }
+        return entries;
+    }
+
+    private void open() throws IOException {
+        if (mapped != null) return;
+        channel = FileChannel.open(jarFile, StandardOpenOption.READ);
+        long size = channel.size();
+        openedSize = size;
+        openedLastModified = Files.getLastModifiedTime(jarFile).toMillis();
+        if (size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Archives larger than 2 GB are not supported: " + jarFile);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        mapped = buffer;
+    }
+
+    // the mapping and the entry offsets only hold for the archive as it was opened, so a rebuilt or
+    // deleted archive is closed and listed again on the next call
+    @Override
+    public synchronized boolean refresh() throws IOException {
+        if (entries == null) {
+            return false;
+        }
+        if (Files.isRegularFile(jarFile) && Files.size(jarFile) == openedSize
+                && Files.getLastModifiedTime(jarFile).toMillis() == openedLastModified) {
+            return false;
+        }
+        close();
+        return true;
+    }
+
+    private List<ClassEntry> readCentralDirectory() throws IOException {
+        int end = findEndOfCentralDirectory();
+        long entryCount = mapped.getShort(end + 10) & 0xFFFF;
+        long directoryOffset = mapped.getInt(end + 16) & 0xFFFFFFFFL;
+
+        int locator = end - 20;
+        if (locator >= 0 && mapped.getInt(locator) == ZIP64_END_LOCATOR) {
+            int zip64End = (int) mapped.getLong(locator + 8);
+            if (mapped.getInt(zip64End) == ZIP64_END_OF_CENTRAL_DIRECTORY) {
+                entryCount = mapped.getLong(zip64End + 32);
+                directoryOffset = mapped.getLong(zip64End + 48);
+            }
+        }
+
+        List<ClassEntry> classes = new Vector<>();
+        int position = (int) directoryOffset;
+        for (long i = 0; i < entryCount; i++) {
+            if (mapped.getInt(position) != CENTRAL_FILE_HEADER) {
+                throw new IOException("Corrupt central directory in " + jarFile);
+            }
+            int method = mapped.getShort(position + 10) & 0xFFFF;
+            int dosTime = mapped.getInt(position + 12);
+            long compressedSize = mapped.getInt(position + 20) & 0xFFFFFFFFL;
+            long size = mapped.getInt(position + 24) & 0xFFFFFFFFL;
+            int nameLength = mapped.getShort(position + 28) & 0xFFFF;
+            int extraLength = mapped.getShort(position + 30) & 0xFFFF;
+            int commentLength = mapped.getShort(position + 32) & 0xFFFF;
+            long localOffset = mapped.getInt(position + 42) & 0xFFFFFFFFL;
+
+            String name = decodeName(position + 46, nameLength);
+            if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+                long[] sizes = { size, compressedSize, localOffset };
+                readZip64Extra(position + 46 + nameLength, extraLength, sizes);
+                classes.add(new ClassEntry(this, name, sizes[0], dosTime & 0xFFFFFFFFL,
+                    sizes[2], sizes[1], method));
+            }
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return classes;
+    }
+
+    private int findEndOfCentralDirectory() throws IOException {
+        int limit = Math.max(0, mapped.capacity() - 22 - MAX_COMMENT_LENGTH);
+        for (int position = mapped.capacity() - 22; position >= limit; position--) {
+            if (mapped.getInt(position) == END_OF_CENTRAL_DIRECTORY) {
+                return position;
+            }
+        }
+        throw new IOException("Not a zip archive: " + jarFile);
+    }
+
+    private void readZip64Extra(int position, int length, long[] sizes) {
+        int end = position + length;
+        while (position + 4 <= end) {
+            int id = mapped.getShort(position) & 0xFFFF;
+            int size = mapped.getShort(position + 2) & 0xFFFF;
+            if (id == ZIP64_EXTRA) {
+                int field = position + 4;
+                for (int i = 0; i < sizes.length && field + 8 <= position + 4 + size; i++) {
+                    if (sizes[i] == 0xFFFFFFFFL) {
+                        sizes[i] = mapped.getLong(field);
+                        field += 8;
+                    }
+                }
+                return;
+            }
+            position += 4 + size;
+        }
+    }
+
+    private String decodeName(int position, int length) {
+        byte[] bytes = new byte[length];
+        mapped.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ByteBuffer read(ClassEntry entry) throws IOException {
+        MappedByteBuffer mapped = this.mapped;
+        if (mapped == null) {
+            listClasses();
+            mapped = this.mapped;
+            if (mapped == null) {
+                throw new IOException(jarFile + " no longer exists");
+            }
+        }
+        int header = (int) entry.getPosition();
+        if (mapped.getInt(header) != LOCAL_FILE_HEADER) {
+            throw new IOException("Corrupt local header for " + entry);
+        }
+        int nameLength = mapped.getShort(header + 26) & 0xFFFF;
+        int extraLength = mapped.getShort(header + 28) & 0xFFFF;
+        int dataStart = header + 30 + nameLength + extraLength;
+
+        ByteBuffer data = mapped.slice(dataStart, (int) entry.getCompressedSize());
+        switch (entry.getCompressionMethod()) {
+            case STORED:
+                return data;
+            case DEFLATED:
+                return inflate(data, entry);
+            default:
+                throw new IOException("Unsupported compression method " + entry.getCompressionMethod() + " for " + entry);
+        }
+    }
+
+    private ByteBuffer inflate(ByteBuffer data, ClassEntry entry) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            ByteBuffer output = ByteBuffer.allocate((int) entry.getSize());
+            while (output.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(output) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+            return output.flip();
+        } catch (DataFormatException e) {
+            throw new IOException("Cannot inflate " + entry, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        mapped = null;
+        entries = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.mql.java.classpath;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class JrtSource implements ClassPathSource {
+    private static final URI JRT_ROOT = URI.create("jrt:/");
+
+    private final Path javaHome;
+    private final Set<String> modules;
+    private final Map<String, String> packageModules = new ConcurrentHashMap<>();
+    private volatile FileSystem fileSystem;
+    private List<ClassEntry> entries;
+
+    public JrtSource() {
+        this(null, List.of());
+    }
+
+    public JrtSource(Collection<String> modules) {
+        this(null, modules);
+    }
+
+    public JrtSource(Path javaHome, Collection<String> modules) {
+        this.javaHome = javaHome;
+        this.modules = new TreeSet<>(modules);
+    }
+
+    public static JrtSource parse(String location) {
+        String moduleList = location.substring(JRT_ROOT.toString().length());
+        List<String> modules = new Vector<>();
+        for (String module : moduleList.split(",")) {
+            if (!module.isBlank()) {
+                modules.add(module.trim());
+            }
+        }
+        return new JrtSource(modules);
+    }
+
+    public static boolean isJrtLocation(String location) {
+        return location.startsWith(JRT_ROOT.toString());
+    }
+
+    @Override
+    public String getLocation() {
+        return JRT_ROOT + String.join(",", modules);
+    }
+
+    @Override
+    public URL getURL() throws MalformedURLException {
+        return JRT_ROOT.toURL();
+    }
+
+    public Set<String> getModules() {
+        return modules;
+    }
+
+    public synchronized List<String> listModules() throws IOException {
+        try (Stream<Path> children = Files.list(open().getPath("/modules"))) {
+            return children
+                .map(path -> path.getFileName().toString())
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public synchronized List<ClassEntry> listClasses() throws IOException {
+        if (entries == null) {
+            List<ClassEntry> listed = new Vector<>();
+            for (String module : modules.isEmpty() ? listModules() : modules) {
+                listModule(module, listed);
+            }
+            entries = listed;
+        }
+        return entries;
+    }
+
+    private void listModule(String module, List<ClassEntry> listed) throws IOException {
+        Path moduleRoot = open().getPath("/modules", module);
+        if (!Files.isDirectory(moduleRoot)) {
+            throw new IOException("Unknown module in runtime image: " + module);
+        }
+        try (Stream<Path> files = Files.find(moduleRoot, Integer.MAX_VALUE,
+                (path, attributes) -> attributes.isRegularFile() && path.toString().endsWith(".class"))) {
+            files.forEach(file -> {
+                String resourceName = moduleRoot.relativize(file).toString();
+                ClassEntry entry = entryFor(file, resourceName);
+                packageModules.putIfAbsent(entry.getPackageName(), module);
+                listed.add(entry);
+            });
+        }
+    }
+
+    private ClassEntry entryFor(Path file, String resourceName) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new ClassEntry(this, resourceName, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return new ClassEntry(this, resourceName, -1, 0);
+        }
+    }
+
+    @Override
+    public ByteBuffer read(ClassEntry entry) throws IOException {
+        String module = packageModules.get(entry.getPackageName());
+        if (module == null) {
+            throw new IOException("Class is not part of the listed modules: " + entry.getClassName());
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(open().getPath("/modules", module, entry.getResourceName())));
+    }
+
+    private FileSystem open() throws IOException {
+        FileSystem current = fileSystem;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (fileSystem == null) {
+                fileSystem = javaHome == null
+                    ? FileSystems.getFileSystem(JRT_ROOT)
+                    : FileSystems.newFileSystem(JRT_ROOT, Map.of("java.home", javaHome.toString()));
+            }
+            return fileSystem;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (fileSystem != null && javaHome != null) {
+            fileSystem.close();
+        }
+        fileSystem = null;
+        entries = null;
+        packageModules.clear();
+    }
+}
@@ -0,0 +1,6 @@
+package org.mql.java.compact;
+
+import java.io.Serializable;
+
+public record CompactAssociation(int target, int type, int upperBound) implements Serializable {
+}
@@ -0,0 +1,188 @@
+package org.mql.java.compact;
+
+import java.io.ObjectStreamException;
+import java.util.List;
+import java.util.Vector;
+
+import org.mql.java.models.AssociationAbout;
+import org.mql.java.models.ClassAbout;
+import org.mql.java.models.FieldAbout;
+import org.mql.java.models.InterfaceAbout;
+import org.mql.java.models.MethodAbout;
+
+public class CompactClassView extends ClassAbout {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CompactModel model;
+    private final transient CompactType type;
+    private boolean detached;
+
+    CompactClassView(CompactModel model, CompactType type) {
+        super(false);
+        this.model = model;
+        this.type = type;
+    }
+
+    @Override
+    public String getSimpleName() {
+        return detached ? super.getSimpleName() : model.symbol(type.simpleName());
+    }
+
+    @Override
+    public String getName() {
+        return detached ? super.getName() : model.symbol(type.name());
+    }
+
+    @Override
+    public String getModifiers() {
+        return detached ? super.getModifiers() : model.symbol(type.modifiers());
+    }
+
+    @Override
+    public String getSuperClass() {
+        return detached ? super.getSuperClass() : model.symbol(type.superClass());
+    }
+
+    @Override
+    public List<FieldAbout> getFields() {
+        return detached ? super.getFields() : model.fields(type);
+    }
+
+    @Override
+    public List<MethodAbout> getMethods() {
+        return detached ? super.getMethods() : model.methods(type);
+    }
+
+    @Override
+    public List<AssociationAbout> getAssociations() {
+        return detached ? super.getAssociations() : model.associations(type, null);
+    }
+
+    @Override
+    public List<AssociationAbout> getDependencyAssociations() {
+        return detached ? super.getDependencyAssociations() : model.associations(type, "Use");
+    }
+
+    @Override
+    public List<AssociationAbout> getCompositionAssociations() {
+        return detached ? super.getCompositionAssociations() : model.associations(type, "Composition");
+    }
+
+    @Override
+    public List<AssociationAbout> getAggregationAssociations() {
+        return detached ? super.getAggregationAssociations() : model.associations(type, "Aggregation");
+    }
+
+    @Override
+    public List<String> getAnnotations() {
+        return detached ? super.getAnnotations() : model.symbols(type.annotations());
+    }
+
+    @Override
+    public List<InterfaceAbout> getImplementedInterfaces() {
+        if (detached) {
+            return super.getImplementedInterfaces();
+        }
+        List<InterfaceAbout> interfaces = new Vector<>();
+        for (int name : type.interfaces()) {
+            interfaces.add(model.implementedInterface(name));
+        }
+        return interfaces;
+    }
+
+    @Override
+    public void setName(String name) {
+        detach();
+        super.setName(name);
+    }
+
+    @Override
+    public void setModifiers(String modifiers) {
+        detach();
+        super.setModifiers(modifiers);
+    }
+
+    @Override
+    public void setSuperClass(String superClass) {
+        detach();
+        super.setSuperClass(superClass);
+    }
+
+    @Override
+    public void setSimpleName(String simpleName) {
+        detach();
+        super.setSimpleName(simpleName);
+    }
+
+    @Override
+    public void setFields(List<FieldAbout> fields) {
+        detach();
+        super.setFields(fields);
+    }
+
+    @Override
+    public void setMethods(List<MethodAbout> methods) {
+        detach();
+        super.setMethods(methods);
+    }
+
+    @Override
+    public void setAssociations(List<AssociationAbout> associations) {
+        detach();
+        super.setAssociations(associations);
+    }
+
+    @Override
+    public void setDependencyAssociations(List<AssociationAbout> dependencyAssociations) {
+        detach();
+        super.setDependencyAssociations(dependencyAssociations);
+    }
+
+    @Override
+    public void setCompositionAssociations(List<AssociationAbout> compositionAssociations) {
+        detach();
+        super.setCompositionAssociations(compositionAssociations);
+    }
+
+    @Override
+    public void setAggregationAssociations(List<AssociationAbout> aggregationAssociations) {
+        detach();
+        super.setAggregationAssociations(aggregationAssociations);
+    }
+
+    @Override
+    public void setImplementedInterfaces(List<InterfaceAbout> implementedInterfaces) {
+        detach();
+        super.setImplementedInterfaces(implementedInterfaces);
+    }
+
+    @Override
+    public void setAnnotations(List<String> annotations) {
+        detach();
+        super.setAnnotations(annotations);
+    }
+
+    // the first write copies the compact data into the bean fields, after which the view behaves like a plain ClassAbout
+    private synchronized void detach() {
+        if (detached) return;
+        super.setSimpleName(getSimpleName());
+        super.setName(getName());
+        super.setModifiers(getModifiers());
+        super.setSuperClass(getSuperClass());
+        super.setFields(getFields());
+        super.setMethods(getMethods());
+        super.setAssociations(getAssociations());
+        super.setDependencyAssociations(getDependencyAssociations());
+        super.setCompositionAssociations(getCompositionAssociations());
+        super.setAggregationAssociations(getAggregationAssociations());
+        super.setImplementedInterfaces(getImplementedInterfaces());
+        super.setAnnotations(getAnnotations());
+        detached = true;
+    }
+
+    // serialized as a plain ClassAbout, since the compact model stays with the explorer
+    private Object writeReplace() throws ObjectStreamException {
+        detach();
+        return this;
+    }
+}
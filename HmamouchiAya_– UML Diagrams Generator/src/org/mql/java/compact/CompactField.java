@@ -0,0 +1,16 @@
+package org.mql.java.compact;
+
+import java.io.Serializable;
+
+public record CompactField(int name, int type, int genericType, int simpleType, int modifiers, char modifier, byte flags) implements Serializable {
+    public static final byte USER_DEFINED = 1;
+    public static final byte LIST = 2;
+
+    public boolean isUserDefined() {
+        return (flags & USER_DEFINED) != 0;
+    }
+
+    public boolean isList() {
+        return (flags & LIST) != 0;
+    }
+}
@@ -0,0 +1,106 @@
+package org.mql.java.compact;
+
+import java.io.ObjectStreamException;
+import java.util.List;
+
+import org.mql.java.models.FieldAbout;
+import org.mql.java.models.InterfaceAbout;
+import org.mql.java.models.MethodAbout;
+
+public class CompactInterfaceView extends InterfaceAbout {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CompactModel model;
+    private final transient CompactType type;
+    private boolean detached;
+
+    CompactInterfaceView(CompactModel model, CompactType type) {
+        super(false);
+        this.model = model;
+        this.type = type;
+    }
+
+    @Override
+    public String getSimpleName() {
+        return detached ? super.getSimpleName() : model.symbol(type.simpleName());
+    }
+
+    @Override
+    public String getName() {
+        return detached ? super.getName() : model.symbol(type.name());
+    }
+
+    @Override
+    public String getModifiers() {
+        return detached ? super.getModifiers() : model.symbol(type.modifiers());
+    }
+
+    @Override
+    public String superClass() {
+        return detached ? super.superClass() : model.symbol(type.superClass());
+    }
+
+    @Override
+    public List<FieldAbout> getFields() {
+        return detached ? super.getFields() : model.fields(type);
+    }
+
+    @Override
+    public List<MethodAbout> getMethods() {
+        return detached ? super.getMethods() : model.methods(type);
+    }
+
+    @Override
+    public void setName(String name) {
+        detach();
+        super.setName(name);
+    }
+
+    @Override
+    public void setSimpleName(String simpleName) {
+        detach();
+        super.setSimpleName(simpleName);
+    }
+
+    @Override
+    public void setModifiers(String modifiers) {
+        detach();
+        super.setModifiers(modifiers);
+    }
+
+    @Override
+    public void setSuperClass(String superClass) {
+        detach();
+        super.setSuperClass(superClass);
+    }
+
+    @Override
+    public void setFields(List<FieldAbout> fields) {
+        detach();
+        super.setFields(fields);
+    }
+
+    @Override
+    public void setMethods(List<MethodAbout> methods) {
+        detach();
+        super.setMethods(methods);
+    }
+
+    // the first write copies the compact data into the bean fields, after which the view behaves like a plain InterfaceAbout
+    private synchronized void detach() {
+        if (detached) return;
+        super.setSimpleName(getSimpleName());
+        super.setName(getName());
+        super.setModifiers(getModifiers());
+        super.setSuperClass(superClass());
+        super.setFields(getFields());
+        super.setMethods(getMethods());
+        detached = true;
+    }
+
+    // written out with the bean fields filled in
+    private Object writeReplace() throws ObjectStreamException {
+        detach();
+        return this;
+    }
+}
@@ -0,0 +1,6 @@
+package org.mql.java.compact;
+
+import java.io.Serializable;
+
+public record CompactMethod(int name, int outputType, int arguments, char modifier) implements Serializable {
+}
@@ -0,0 +1,170 @@
+package org.mql.java.compact;
+
+import java.util.List;
+import java.util.Vector;
+import java.util.function.Function;
+
+import org.mql.java.index.ModelIndex.IndexedType;
+import org.mql.java.models.*;
+
+// the store behind an explorer's index: scanned types are kept as CompactType records over one
+// symbol table, and the ClassAbout and InterfaceAbout models handed out read from those records
+public class CompactModel {
+    private static final int[] NO_SYMBOLS = new int[0];
+    private static final CompactField[] NO_FIELDS = new CompactField[0];
+    private static final CompactMethod[] NO_METHODS = new CompactMethod[0];
+    private static final CompactAssociation[] NO_ASSOCIATIONS = new CompactAssociation[0];
+
+    private final SymbolTable symbols = new SymbolTable();
+    private final Function<String, InterfaceAbout> interfaces;
+
+    // implemented interfaces are kept by name and looked up again through interfaces on every read
+    public CompactModel(Function<String, InterfaceAbout> interfaces) {
+        this.interfaces = interfaces;
+    }
+
+    public CompactType compact(IndexedType indexed) {
+        ClassAbout view = indexed.getClassView();
+        List<InterfaceAbout> implemented = view.getImplementedInterfaces();
+        int[] interfaceNames = NO_SYMBOLS;
+        if (!implemented.isEmpty()) {
+            interfaceNames = new int[implemented.size()];
+            for (int i = 0; i < interfaceNames.length; i++) {
+                interfaceNames[i] = symbols.intern(implemented.get(i).getName());
+            }
+        }
+
+        return new CompactType(
+            symbols.intern(view.getName()),
+            symbols.intern(view.getSimpleName()),
+            indexed.getKind(),
+            symbols.intern(view.getModifiers()),
+            symbols.intern(view.getSuperClass()),
+            interfaceNames,
+            view.getAnnotations().isEmpty() ? NO_SYMBOLS : symbols.internAll(view.getAnnotations()),
+            compactFields(view.getFields()),
+            compactMethods(view.getMethods()),
+            compactAssociations(view.getAssociations()));
+    }
+
+    private CompactField[] compactFields(List<FieldAbout> fields) {
+        if (fields.isEmpty()) return NO_FIELDS;
+        CompactField[] compacted = new CompactField[fields.size()];
+        for (int i = 0; i < compacted.length; i++) {
+            FieldAbout field = fields.get(i);
+            byte flags = (byte) ((field.isUserDefined() ? CompactField.USER_DEFINED : 0)
+                    | (field.isList() ? CompactField.LIST : 0));
+            compacted[i] = new CompactField(symbols.intern(field.getFieldName()), symbols.intern(field.getFieldType()),
+                    symbols.intern(field.getGenericTypeName()), symbols.intern(field.getSimpleTypeName()),
+                    field.getModifiers(), field.getModifier(), flags);
+        }
+        return compacted;
+    }
+
+    private CompactMethod[] compactMethods(List<MethodAbout> methods) {
+        if (methods.isEmpty()) return NO_METHODS;
+        CompactMethod[] compacted = new CompactMethod[methods.size()];
+        for (int i = 0; i < compacted.length; i++) {
+            MethodAbout method = methods.get(i);
+            compacted[i] = new CompactMethod(symbols.intern(method.getMethodName()), symbols.intern(method.getOutputType()),
+                    symbols.intern(method.getArguments()), method.getModifer());
+        }
+        return compacted;
+    }
+
+    private CompactAssociation[] compactAssociations(List<AssociationAbout> associations) {
+        if (associations.isEmpty()) return NO_ASSOCIATIONS;
+        CompactAssociation[] compacted = new CompactAssociation[associations.size()];
+        for (int i = 0; i < compacted.length; i++) {
+            AssociationAbout association = associations.get(i);
+            compacted[i] = new CompactAssociation(symbols.intern(association.getTargetClass()),
+                    symbols.intern(association.getAssociationType()), symbols.intern(association.getUpperBound()));
+        }
+        return compacted;
+    }
+
+    public ClassAbout classView(CompactType type) {
+        return new CompactClassView(this, type);
+    }
+
+    public InterfaceAbout interfaceView(CompactType type) {
+        return new CompactInterfaceView(this, type);
+    }
+
+    // called once a scan or an update is done
+    public void trim() {
+        symbols.trim();
+    }
+
+    public String symbol(int id) {
+        return symbols.get(id);
+    }
+
+    public int getSymbolCount() {
+        return symbols.size();
+    }
+
+    InterfaceAbout implementedInterface(int name) {
+        String qualifiedName = symbol(name);
+        InterfaceAbout iface = interfaces.apply(qualifiedName);
+        if (iface != null) {
+            return iface;
+        }
+        InterfaceAbout stub = new InterfaceAbout();
+        stub.setName(qualifiedName);
+        stub.setSimpleName(qualifiedName.substring(Math.max(qualifiedName.lastIndexOf('.'), qualifiedName.lastIndexOf('$')) + 1));
+        return stub;
+    }
+
+    List<String> symbols(int[] ids) {
+        List<String> values = new Vector<>();
+        for (int id : ids) {
+            values.add(symbol(id));
+        }
+        return values;
+    }
+
+    List<FieldAbout> fields(CompactType type) {
+        List<FieldAbout> fields = new Vector<>();
+        for (CompactField field : type.fields()) {
+            FieldAbout fieldAbout = new FieldAbout();
+            fieldAbout.setFieldName(symbol(field.name()));
+            fieldAbout.setFieldType(symbol(field.type()));
+            fieldAbout.setGenericTypeName(symbol(field.genericType()));
+            fieldAbout.setSimpleTypeName(symbol(field.simpleType()));
+            fieldAbout.setModifiers(field.modifiers());
+            fieldAbout.setModifier(field.modifier());
+            fieldAbout.setUserDefined(field.isUserDefined());
+            fieldAbout.setList(field.isList());
+            fields.add(fieldAbout);
+        }
+        return fields;
+    }
+
+    List<MethodAbout> methods(CompactType type) {
+        List<MethodAbout> methods = new Vector<>();
+        for (CompactMethod method : type.methods()) {
+            MethodAbout methodAbout = new MethodAbout();
+            methodAbout.setMethodName(symbol(method.name()));
+            methodAbout.setOutputType(symbol(method.outputType()));
+            methodAbout.setArguments(symbol(method.arguments()));
+            methodAbout.setModifier(method.modifier());
+            methods.add(methodAbout);
+        }
+        return methods;
+    }
+
+    List<AssociationAbout> associations(CompactType type, String associationType) {
+        List<AssociationAbout> associations = new Vector<>();
+        String source = symbol(type.name());
+        for (CompactAssociation association : type.associations()) {
+            String kind = symbol(association.type());
+            if (associationType == null || associationType.equals(kind)) {
+                AssociationAbout associationAbout = new AssociationAbout(source, symbol(association.target()), kind);
+                associationAbout.setUpperBound(symbol(association.upperBound()));
+                associations.add(associationAbout);
+            }
+        }
+        return associations;
+    }
+}
@@ -0,0 +1,10 @@
+package org.mql.java.compact;
+
+import java.io.Serializable;
+
+import org.mql.java.index.ModelIndex.Kind;
+
+public record CompactType(int name, int simpleName, Kind kind, int modifiers, int superClass, int[] interfaces,
+                          int[] annotations,
+                          CompactField[] fields, CompactMethod[] methods, CompactAssociation[] associations) implements Serializable {
+}
@@ -0,0 +1,66 @@
+package org.mql.java.compact;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SymbolTable {
+    public static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private Map<String, Integer> ids;
+    private volatile String[] symbols = new String[INITIAL_CAPACITY];
+    private int size;
+
+    public synchronized int intern(String symbol) {
+        if (symbol == null) {
+            return NONE;
+        }
+        if (ids == null) {
+            ids = new HashMap<>(Math.max(16, size * 2));
+            for (int id = 0; id < size; id++) {
+                ids.put(symbols[id], id);
+            }
+        }
+        Integer id = ids.get(symbol);
+        if (id == null) {
+            id = size;
+            String[] current = symbols;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, Math.max(INITIAL_CAPACITY, size * 2));
+            }
+            current[size++] = symbol;
+            symbols = current;
+            ids.put(symbol, id);
+        }
+        return id;
+    }
+
+    public synchronized int[] internAll(List<String> values) {
+        int[] interned = new int[values.size()];
+        for (int i = 0; i < interned.length; i++) {
+            interned[i] = intern(values.get(i));
+        }
+        return interned;
+    }
+
+    // ids are only handed out after their symbol is stored, so readers do not need the lock
+    public String get(int id) {
+        return id == NONE ? null : symbols[id];
+    }
+
+    // drops the lookup map and the spare capacity; the next intern rebuilds the map from the symbols
+    public synchronized void trim() {
+        ids = null;
+        symbols = Arrays.copyOf(symbols, size);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized String[] toArray() {
+        return Arrays.copyOf(symbols, size);
+    }
+}
@@ -0,0 +1,7 @@
+package org.mql.java.diff;
+
+public enum ChangeType {
+    ADDED,
+    REMOVED,
+    CHANGED
+}
@@ -0,0 +1,22 @@
+package org.mql.java.diff;
+
+public record ModelChange(ChangeType change, Element element, String typeName, String member, String before, String after) {
+
+    public enum Element {
+        TYPE,
+        MEMBER,
+        ASSOCIATION
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(change.name()).append(' ').append(typeName);
+        if (member != null) {
+            text.append(" :: ").append(member);
+        }
+        if (change == ChangeType.CHANGED) {
+            text.append(" [").append(before).append(" -> ").append(after).append(']');
+        }
+        return text.toString();
+    }
+}
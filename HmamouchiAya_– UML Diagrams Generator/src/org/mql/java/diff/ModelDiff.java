@@ -0,0 +1,122 @@
+package org.mql.java.diff;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.stream.Collectors;
+
+import org.mql.java.diff.ModelChange.Element;
+import org.mql.java.index.ModelIndex.Kind;
+import org.mql.java.models.ClassAbout;
+import org.mql.java.models.PackageAbout;
+import org.mql.java.xml.XMLParser;
+
+public class ModelDiff {
+    private final List<ModelChange> changes = new Vector<>();
+    private final Map<String, ChangeType> typeStatus = new LinkedHashMap<>();
+    private final List<TypeSnapshot> removedTypes = new Vector<>();
+    private int comparedTypes;
+
+    private ModelDiff() {
+    }
+
+    public static ModelDiff of(String beforeXmlPath, String afterXmlPath) {
+        return of(new XMLParser(beforeXmlPath).parse(), new XMLParser(afterXmlPath).parse());
+    }
+
+    public static ModelDiff of(PackageAbout before, PackageAbout after) {
+        ModelDiff diff = new ModelDiff();
+        Map<String, TypeSnapshot> remaining = TypeSnapshot.stream(before)
+            .collect(Collectors.toMap(TypeSnapshot::key, snapshot -> snapshot, (first, second) -> second, LinkedHashMap::new));
+        diff.comparedTypes = remaining.size();
+
+        TypeSnapshot.stream(after).forEach(snapshot -> {
+            TypeSnapshot previous = remaining.remove(snapshot.key());
+            if (previous == null) {
+                diff.comparedTypes++;
+                diff.addType(ChangeType.ADDED, snapshot);
+            } else if (previous.fingerprint() != snapshot.fingerprint()) {
+                diff.compare(previous, snapshot);
+            }
+        });
+        for (TypeSnapshot removed : remaining.values()) {
+            diff.addType(ChangeType.REMOVED, removed);
+            diff.removedTypes.add(removed);
+        }
+        return diff;
+    }
+
+    private void addType(ChangeType change, TypeSnapshot snapshot) {
+        changes.add(new ModelChange(change, Element.TYPE, snapshot.name(), null, null, null));
+        typeStatus.put(snapshot.name(), change);
+    }
+
+    private void compare(TypeSnapshot before, TypeSnapshot after) {
+        String name = after.name();
+        typeStatus.put(name, ChangeType.CHANGED);
+        if (before.kind() != after.kind()) {
+            changes.add(new ModelChange(ChangeType.CHANGED, Element.TYPE, name, null, before.kind().name(), after.kind().name()));
+        }
+        Map<String, String> previousMembers = before.members();
+        for (Map.Entry<String, String> member : after.members().entrySet()) {
+            String previous = previousMembers.get(member.getKey());
+            if (previous == null) {
+                changes.add(new ModelChange(ChangeType.ADDED, TypeSnapshot.elementOf(member.getKey()), name,
+                    member.getKey(), null, member.getValue()));
+            } else if (!previous.equals(member.getValue())) {
+                changes.add(new ModelChange(ChangeType.CHANGED, TypeSnapshot.elementOf(member.getKey()), name,
+                    member.getKey(), previous, member.getValue()));
+            }
+        }
+        for (Map.Entry<String, String> member : previousMembers.entrySet()) {
+            if (!after.members().containsKey(member.getKey())) {
+                changes.add(new ModelChange(ChangeType.REMOVED, TypeSnapshot.elementOf(member.getKey()), name,
+                    member.getKey(), member.getValue(), null));
+            }
+        }
+    }
+
+    public List<ModelChange> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    public List<ModelChange> getChanges(ChangeType change) {
+        return changes.stream().filter(c -> c.change() == change).collect(Collectors.toList());
+    }
+
+    public List<ModelChange> getChanges(Element element) {
+        return changes.stream().filter(c -> c.element() == element).collect(Collectors.toList());
+    }
+
+    public Map<String, ChangeType> getTypeChanges() {
+        return Collections.unmodifiableMap(typeStatus);
+    }
+
+    public List<ClassAbout> getRemovedClasses() {
+        return removedTypes.stream().filter(snapshot -> snapshot.kind() == Kind.CLASS)
+            .map(TypeSnapshot::toClass).collect(Collectors.toList());
+    }
+
+    public ChangeType getStatus(String typeName) {
+        return typeStatus.get(typeName);
+    }
+
+    public int getComparedTypeCount() {
+        return comparedTypes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    @Override
+    public String toString() {
+        return changes.stream().map(ModelChange::toString).collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,214 @@
+package org.mql.java.diff;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.stream.Stream;
+
+import org.mql.java.index.ModelIndex.Kind;
+import org.mql.java.models.*;
+
+final class TypeSnapshot {
+    private static final String[] ASSOCIATION_PREFIXES = { "extends", "implements ", "uses ", "composition ", "aggregation " };
+
+    private final String key;
+    private final String name;
+    private final Kind kind;
+    private final Map<String, String> members = new LinkedHashMap<>();
+    private long fingerprint;
+
+    private TypeSnapshot(String packagePath, String simpleName, String name, Kind kind) {
+        this.key = packagePath.isEmpty() ? simpleName : packagePath + "." + simpleName;
+        this.name = name != null ? name : key;
+        this.kind = kind;
+        this.fingerprint = hash("kind", kind.name());
+    }
+
+    static Stream<TypeSnapshot> stream(PackageAbout root) {
+        return stream(root, "");
+    }
+
+    private static Stream<TypeSnapshot> stream(PackageAbout packageAbout, String parentPath) {
+        String path = parentPath.isEmpty() ? packageAbout.getPackageName() : parentPath + "." + packageAbout.getPackageName();
+        boolean wasLoaded = packageAbout.isLoaded();
+        List<TypeSnapshot> types = new ArrayList<>();
+        for (ClassAbout classAbout : packageAbout.getClasses()) {
+            types.add(of(path, classAbout));
+        }
+        for (InterfaceAbout interfaceAbout : packageAbout.getInterfaces()) {
+            types.add(of(path, interfaceAbout));
+        }
+        for (EnumAbout enumAbout : packageAbout.getEnums()) {
+            types.add(of(path, enumAbout));
+        }
+        for (AnnotationAbout annotationAbout : packageAbout.getAnnotations()) {
+            types.add(of(path, annotationAbout));
+        }
+        List<PackageAbout> subPackages = new ArrayList<>(packageAbout.getPackages());
+        if (!wasLoaded) {
+            packageAbout.collapse();
+        }
+        return Stream.concat(types.stream(), subPackages.stream().flatMap(subPackage -> stream(subPackage, path)));
+    }
+
+    private static TypeSnapshot of(String path, ClassAbout classAbout) {
+        TypeSnapshot snapshot = new TypeSnapshot(path, classAbout.getSimpleName(), classAbout.getName(), Kind.CLASS);
+        snapshot.put("modifiers", classAbout.getModifiers());
+        snapshot.put("extends", classAbout.getSuperClass());
+        for (InterfaceAbout iface : classAbout.getImplementedInterfaces()) {
+            snapshot.put("implements " + iface.getName(), "");
+        }
+        for (String annotation : classAbout.getAnnotations()) {
+            snapshot.put("annotation " + annotation, "");
+        }
+        snapshot.putFields(classAbout.getFields());
+        snapshot.putMethods(classAbout.getMethods());
+        for (AssociationAbout association : classAbout.getDependencyAssociations()) {
+            snapshot.put("uses " + association.getTargetClassName(), "");
+        }
+        for (AssociationAbout association : classAbout.getCompositionAssociations()) {
+            snapshot.put("composition " + association.getTargetClassName(), association.getUpperBound());
+        }
+        for (AssociationAbout association : classAbout.getAggregationAssociations()) {
+            snapshot.put("aggregation " + association.getTargetClassName(), association.getUpperBound());
+        }
+        return snapshot;
+    }
+
+    private static TypeSnapshot of(String path, InterfaceAbout interfaceAbout) {
+        TypeSnapshot snapshot = new TypeSnapshot(path, interfaceAbout.getSimpleName(), interfaceAbout.getName(), Kind.INTERFACE);
+        snapshot.put("modifiers", interfaceAbout.getModifiers());
+        snapshot.put("extends", interfaceAbout.superClass());
+        snapshot.putFields(interfaceAbout.getFields());
+        snapshot.putMethods(interfaceAbout.getMethods());
+        return snapshot;
+    }
+
+    private static TypeSnapshot of(String path, EnumAbout enumAbout) {
+        TypeSnapshot snapshot = new TypeSnapshot(path, enumAbout.getSimpleName(), enumAbout.getQualifiedName(), Kind.ENUM);
+        for (String constant : enumAbout.getFields()) {
+            snapshot.put("constant " + constant, "");
+        }
+        return snapshot;
+    }
+
+    private static TypeSnapshot of(String path, AnnotationAbout annotationAbout) {
+        String simpleName = annotationAbout.getAnnotationName();
+        String qualifiedName = path.isEmpty() ? simpleName : path + "." + simpleName;
+        TypeSnapshot snapshot = new TypeSnapshot(path, simpleName, qualifiedName, Kind.ANNOTATION);
+        snapshot.put("retention", String.valueOf(annotationAbout.getPolicy()));
+        snapshot.put("inherited", String.valueOf(annotationAbout.inheritanceStatus()));
+        for (Map.Entry<String, String> property : annotationAbout.getMethodProperties().entrySet()) {
+            snapshot.put("property " + property.getKey(), property.getValue());
+        }
+        return snapshot;
+    }
+
+    // a removed class only survives as its snapshot, so this rebuilds the parts a diagram draws
+    ClassAbout toClass() {
+        ClassAbout classAbout = new ClassAbout();
+        classAbout.setName(name);
+        classAbout.setSimpleName(key.substring(key.lastIndexOf('.') + 1));
+        classAbout.setModifiers(members.get("modifiers"));
+        classAbout.setSuperClass(members.get("extends"));
+        List<FieldAbout> fields = new Vector<>();
+        List<MethodAbout> methods = new Vector<>();
+        for (Map.Entry<String, String> member : members.entrySet()) {
+            String value = member.getValue();
+            int separator = value.lastIndexOf(' ');
+            if (member.getKey().startsWith("field ")) {
+                FieldAbout field = new FieldAbout();
+                field.setFieldName(member.getKey().substring("field ".length()));
+                field.setFieldType(value.substring(0, separator));
+                field.setSimpleTypeName(field.getFieldType().substring(field.getFieldType().lastIndexOf('.') + 1));
+                field.setModifier(value.charAt(separator + 1));
+                fields.add(field);
+            } else if (member.getKey().startsWith("method ")) {
+                String signature = member.getKey().substring("method ".length());
+                int arguments = signature.indexOf('(');
+                MethodAbout method = new MethodAbout();
+                method.setMethodName(arguments < 0 ? signature : signature.substring(0, arguments));
+                method.setArguments(arguments < 0 ? "" : signature.substring(arguments));
+                method.setOutputType(value.substring(0, separator));
+                method.setModifier(value.charAt(separator + 1));
+                methods.add(method);
+            }
+        }
+        classAbout.setFields(fields);
+        classAbout.setMethods(methods);
+        return classAbout;
+    }
+
+    private void putFields(List<FieldAbout> fields) {
+        for (FieldAbout field : fields) {
+            put("field " + field.getFieldName(), field.getFieldType() + " " + field.getModifier());
+        }
+    }
+
+    private void putMethods(List<MethodAbout> methods) {
+        for (MethodAbout method : methods) {
+            String arguments = method.getArguments() != null ? method.getArguments() : "";
+            put("method " + method.getMethodName() + arguments, method.getOutputType() + " " + method.getModifer());
+        }
+    }
+
+    private void put(String member, String value) {
+        if (value == null) {
+            return;
+        }
+        String previous = members.putIfAbsent(member, value);
+        if (previous != null) {
+            fingerprint -= hash(member, previous);
+            value = previous + "; " + value;
+            members.put(member, value);
+        }
+        fingerprint += hash(member, value);
+    }
+
+    // member hashes are summed into the fingerprint, so declaration order does not count as a change
+    static long hash(String member, String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < member.length(); i++) {
+            hash = (hash ^ member.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ 0) * 0x100000001b3L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    static ModelChange.Element elementOf(String member) {
+        for (String prefix : ASSOCIATION_PREFIXES) {
+            if (member.startsWith(prefix)) {
+                return ModelChange.Element.ASSOCIATION;
+            }
+        }
+        return ModelChange.Element.MEMBER;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String name() {
+        return name;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    Map<String, String> members() {
+        return members;
+    }
+
+    long fingerprint() {
+        return fingerprint;
+    }
+}
@@ -0,0 +1,261 @@
+package org.mql.java.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.mql.java.index.ModelIndex;
+import org.mql.java.models.AssociationAbout;
+import org.mql.java.models.ClassAbout;
+
+public class AssociationGraph {
+    private static final AssociationKind[] KINDS = AssociationKind.values();
+
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final BitSet scanned;
+    private final CsrAdjacency[] forward;
+    private final CsrAdjacency[] reverse;
+    private final CsrAdjacency[] forwardUnions = new CsrAdjacency[1 << KINDS.length];
+    private final CsrAdjacency[] reverseUnions = new CsrAdjacency[1 << KINDS.length];
+
+    private AssociationGraph(String[] names, Map<String, Integer> ids, BitSet scanned,
+                             CsrAdjacency[] forward, CsrAdjacency[] reverse) {
+        this.names = names;
+        this.ids = ids;
+        this.scanned = scanned;
+        this.forward = forward;
+        this.reverse = reverse;
+        for (AssociationKind kind : KINDS) {
+            forwardUnions[1 << kind.ordinal()] = forward[kind.ordinal()];
+            reverseUnions[1 << kind.ordinal()] = reverse[kind.ordinal()];
+        }
+    }
+
+    public static AssociationGraph of(ModelIndex index) {
+        return of(index.getClassViews());
+    }
+
+    public static AssociationGraph of(Collection<? extends ClassAbout> classViews) {
+        Builder builder = new Builder();
+        for (ClassAbout classView : classViews) {
+            builder.addType(classView.getName());
+        }
+        for (ClassAbout classView : classViews) {
+            builder.addAssociations(classView);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public int idOf(String qualifiedName) {
+        Integer id = ids.get(qualifiedName);
+        return id == null ? -1 : id;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public boolean isScanned(int id) {
+        return scanned.get(id);
+    }
+
+    public int getScannedCount() {
+        return scanned.cardinality();
+    }
+
+    public int edgeCount() {
+        int count = 0;
+        for (CsrAdjacency adjacency : forward) {
+            count += adjacency.edgeCount();
+        }
+        return count;
+    }
+
+    public int edgeCount(AssociationKind kind) {
+        return forward[kind.ordinal()].edgeCount();
+    }
+
+    public CsrAdjacency forward(AssociationKind kind) {
+        return forward[kind.ordinal()];
+    }
+
+    public CsrAdjacency reverse(AssociationKind kind) {
+        return reverse[kind.ordinal()];
+    }
+
+    public CsrAdjacency forward(Set<AssociationKind> kinds) {
+        return union(forwardUnions, forward, kinds);
+    }
+
+    public CsrAdjacency reverse(Set<AssociationKind> kinds) {
+        return union(reverseUnions, reverse, kinds);
+    }
+
+    public boolean hasEdge(int source, int target, AssociationKind kind) {
+        return forward[kind.ordinal()].contains(source, target);
+    }
+
+    public AssociationGraph toPackageGraph() {
+        Builder builder = new Builder();
+        String[] packages = new String[names.length];
+        for (int node = 0; node < names.length; node++) {
+            packages[node] = packageOf(names[node]);
+            if (scanned.get(node)) {
+                builder.addType(packages[node]);
+            }
+        }
+        for (AssociationKind kind : KINDS) {
+            CsrAdjacency adjacency = forward[kind.ordinal()];
+            for (int node = 0; node < names.length; node++) {
+                for (int edge = adjacency.start(node); edge < adjacency.end(node); edge++) {
+                    String targetPackage = packages[adjacency.target(edge)];
+                    if (!packages[node].equals(targetPackage)) {
+                        builder.addEdge(packages[node], targetPackage, kind);
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static String packageOf(String qualifiedName) {
+        int separator = qualifiedName.lastIndexOf('.');
+        return separator < 0 ? "" : qualifiedName.substring(0, separator);
+    }
+
+    private CsrAdjacency union(CsrAdjacency[] unions, CsrAdjacency[] byKind, Set<AssociationKind> kinds) {
+        int mask = 0;
+        for (AssociationKind kind : kinds) {
+            mask |= 1 << kind.ordinal();
+        }
+        synchronized (unions) {
+            if (unions[mask] == null) {
+                unions[mask] = merge(byKind, mask);
+            }
+            return unions[mask];
+        }
+    }
+
+    private CsrAdjacency merge(CsrAdjacency[] byKind, int mask) {
+        int edgeCount = 0;
+        for (AssociationKind kind : KINDS) {
+            if ((mask & (1 << kind.ordinal())) != 0) {
+                edgeCount += byKind[kind.ordinal()].edgeCount();
+            }
+        }
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        LongHashSet seen = new LongHashSet(edgeCount);
+        int count = 0;
+        for (AssociationKind kind : KINDS) {
+            if ((mask & (1 << kind.ordinal())) == 0) continue;
+            CsrAdjacency adjacency = byKind[kind.ordinal()];
+            for (int node = 0; node < names.length; node++) {
+                for (int edge = adjacency.start(node); edge < adjacency.end(node); edge++) {
+                    int target = adjacency.target(edge);
+                    if (seen.add(Builder.key(node, target))) {
+                        sources[count] = node;
+                        targets[count++] = target;
+                    }
+                }
+            }
+        }
+        return CsrAdjacency.of(names.length, sources, targets, count);
+    }
+
+    public static class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final BitSet scanned = new BitSet();
+        private final Map<AssociationKind, EdgeList> edges = new EnumMap<>(AssociationKind.class);
+
+        public Builder() {
+            for (AssociationKind kind : KINDS) {
+                edges.put(kind, new EdgeList());
+            }
+        }
+
+        public int addNode(String qualifiedName) {
+            Integer id = ids.get(qualifiedName);
+            if (id == null) {
+                id = names.size();
+                ids.put(qualifiedName, id);
+                names.add(qualifiedName);
+            }
+            return id;
+        }
+
+        public int addType(String qualifiedName) {
+            int id = addNode(qualifiedName);
+            scanned.set(id);
+            return id;
+        }
+
+        public boolean addEdge(String source, String target, AssociationKind kind) {
+            return addEdge(addNode(source), addNode(target), kind);
+        }
+
+        public boolean addEdge(int source, int target, AssociationKind kind) {
+            return edges.get(kind).add(source, target);
+        }
+
+        public Builder addAssociations(ClassAbout classView) {
+            int source = addType(classView.getName());
+            for (AssociationAbout association : classView.getAssociations()) {
+                AssociationKind kind = AssociationKind.of(association.getAssociationType());
+                if (kind != null && association.getTargetClass() != null) {
+                    addEdge(source, addNode(association.getTargetClass()), kind);
+                }
+            }
+            return this;
+        }
+
+        public AssociationGraph build() {
+            int nodeCount = names.size();
+            CsrAdjacency[] forward = new CsrAdjacency[KINDS.length];
+            CsrAdjacency[] reverse = new CsrAdjacency[KINDS.length];
+            for (AssociationKind kind : KINDS) {
+                EdgeList list = edges.get(kind);
+                forward[kind.ordinal()] = CsrAdjacency.of(nodeCount, list.sources, list.targets, list.size);
+                reverse[kind.ordinal()] = CsrAdjacency.of(nodeCount, list.targets, list.sources, list.size);
+            }
+            return new AssociationGraph(names.toArray(new String[0]), new HashMap<>(ids),
+                (BitSet) scanned.clone(), forward, reverse);
+        }
+
+        static long key(int source, int target) {
+            return ((long) source << 32) | (target & 0xFFFFFFFFL);
+        }
+    }
+
+    private static class EdgeList {
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private int size;
+        private final LongHashSet seen = new LongHashSet(16);
+
+        boolean add(int source, int target) {
+            if (!seen.add(Builder.key(source, target))) {
+                return false;
+            }
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            sources[size] = source;
+            targets[size++] = target;
+            return true;
+        }
+    }
+}
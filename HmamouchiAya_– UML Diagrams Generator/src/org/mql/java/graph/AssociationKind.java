@@ -0,0 +1,28 @@
+package org.mql.java.graph;
+
+public enum AssociationKind {
+    INHERITANCE("Inheritance"),
+    IMPLEMENTATION("Implementation"),
+    COMPOSITION("Composition"),
+    AGGREGATION("Aggregation"),
+    USE("Use");
+
+    private final String label;
+
+    AssociationKind(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static AssociationKind of(String label) {
+        for (AssociationKind kind : values()) {
+            if (kind.label.equals(label)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
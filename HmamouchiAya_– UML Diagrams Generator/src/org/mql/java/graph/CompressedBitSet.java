@@ -0,0 +1,192 @@
+package org.mql.java.graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class CompressedBitSet {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = (1 << CHUNK_BITS) / 64;
+
+    private int[] keys = new int[0];
+    private Object[] containers = new Object[0];
+    private int[] sizes = new int[0];
+
+    public static CompressedBitSet of(long[] words) {
+        CompressedBitSet set = new CompressedBitSet();
+        int chunkCount = (words.length + BITMAP_WORDS - 1) / BITMAP_WORDS;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int from = chunk * BITMAP_WORDS;
+            int to = Math.min(words.length, from + BITMAP_WORDS);
+            int cardinality = 0;
+            for (int i = from; i < to; i++) {
+                cardinality += Long.bitCount(words[i]);
+            }
+            if (cardinality == 0) continue;
+            long[] bitmap = Arrays.copyOf(Arrays.copyOfRange(words, from, to), BITMAP_WORDS);
+            set.append(chunk, cardinality <= ARRAY_LIMIT ? toArray(bitmap, cardinality) : bitmap, cardinality);
+        }
+        return set;
+    }
+
+    public boolean add(int value) {
+        int key = value >>> CHUNK_BITS;
+        char low = (char) (value & CHUNK_MASK);
+        int position = Arrays.binarySearch(keys, key);
+        if (position < 0) {
+            position = -position - 1;
+            insert(position, key, new char[] { low }, 1);
+            return true;
+        }
+        Object container = containers[position];
+        if (container instanceof long[] bitmap) {
+            long bit = 1L << low;
+            if ((bitmap[low >>> 6] & bit) != 0) return false;
+            bitmap[low >>> 6] |= bit;
+            sizes[position]++;
+            return true;
+        }
+        char[] values = (char[]) container;
+        int size = sizes[position];
+        int index = Arrays.binarySearch(values, 0, size, low);
+        if (index >= 0) return false;
+        index = -index - 1;
+        if (size == ARRAY_LIMIT) {
+            long[] bitmap = toBitmap(values, size);
+            bitmap[low >>> 6] |= 1L << low;
+            containers[position] = bitmap;
+        } else {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, size * 2));
+                containers[position] = values;
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = low;
+        }
+        sizes[position]++;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int position = Arrays.binarySearch(keys, value >>> CHUNK_BITS);
+        if (position < 0) return false;
+        char low = (char) (value & CHUNK_MASK);
+        Object container = containers[position];
+        if (container instanceof long[] bitmap) {
+            return (bitmap[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, sizes[position], low) >= 0;
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int size : sizes) {
+            cardinality += size;
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public void orInto(long[] words) {
+        for (int i = 0; i < keys.length; i++) {
+            int base = keys[i] * BITMAP_WORDS;
+            Object container = containers[i];
+            if (container instanceof long[] bitmap) {
+                int limit = Math.min(BITMAP_WORDS, words.length - base);
+                for (int w = 0; w < limit; w++) {
+                    words[base + w] |= bitmap[w];
+                }
+            } else {
+                char[] values = (char[]) container;
+                for (int v = 0; v < sizes[i]; v++) {
+                    int bit = (keys[i] << CHUNK_BITS) | values[v];
+                    words[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            int high = keys[i] << CHUNK_BITS;
+            Object container = containers[i];
+            if (container instanceof long[] bitmap) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = bitmap[w];
+                    while (word != 0) {
+                        action.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) container;
+                for (int v = 0; v < sizes[i]; v++) {
+                    action.accept(high | values[v]);
+                }
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] count = new int[1];
+        forEach(value -> values[count[0]++] = value);
+        return values;
+    }
+
+    public long sizeInBytes() {
+        long bytes = keys.length * 12L;
+        for (int i = 0; i < containers.length; i++) {
+            bytes += containers[i] instanceof long[] bitmap ? bitmap.length * 8L : ((char[]) containers[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    private void append(int key, Object container, int size) {
+        insert(keys.length, key, container, size);
+    }
+
+    private void insert(int position, int key, Object container, int size) {
+        int length = keys.length;
+        int[] newKeys = new int[length + 1];
+        Object[] newContainers = new Object[length + 1];
+        int[] newSizes = new int[length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, position);
+        System.arraycopy(containers, 0, newContainers, 0, position);
+        System.arraycopy(sizes, 0, newSizes, 0, position);
+        newKeys[position] = key;
+        newContainers[position] = container;
+        newSizes[position] = size;
+        System.arraycopy(keys, position, newKeys, position + 1, length - position);
+        System.arraycopy(containers, position, newContainers, position + 1, length - position);
+        System.arraycopy(sizes, position, newSizes, position + 1, length - position);
+        keys = newKeys;
+        containers = newContainers;
+        sizes = newSizes;
+    }
+
+    private static char[] toArray(long[] bitmap, int cardinality) {
+        char[] values = new char[cardinality];
+        int count = 0;
+        for (int w = 0; w < bitmap.length; w++) {
+            long word = bitmap[w];
+            while (word != 0) {
+                values[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+
+    private static long[] toBitmap(char[] values, int size) {
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < size; i++) {
+            bitmap[values[i] >>> 6] |= 1L << values[i];
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,140 @@
+package org.mql.java.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.mql.java.index.ModelIndex;
+import org.mql.java.index.ModelIndex.IndexedType;
+import org.mql.java.index.ModelIndex.Kind;
+import org.mql.java.index.ParallelScanner;
+import org.mql.java.models.ClassMetrics;
+import org.mql.java.models.PackageMetrics;
+
+public class CouplingMetrics {
+    private final AssociationGraph graph;
+    private final CsrAdjacency outgoing;
+    private final CsrAdjacency incoming;
+    private final List<String> packageNames;
+    private final Map<String, Integer> packageIds = new HashMap<>();
+    private final int[] packageOf;
+    private final int[] memberStart;
+    private final int[] members;
+    private final BitSet abstractTypes = new BitSet();
+    private final ClassMetrics[] classMetrics;
+    private final PackageMetrics[] packageMetrics;
+
+    private CouplingMetrics(AssociationGraph graph, ModelIndex index, Set<AssociationKind> kinds) {
+        this.graph = graph;
+        this.outgoing = graph.forward(kinds);
+        this.incoming = graph.reverse(kinds);
+        this.packageNames = index.getPackageNames();
+        for (int id = 0; id < packageNames.size(); id++) {
+            packageIds.put(packageNames.get(id), id);
+        }
+
+        packageOf = new int[graph.size()];
+        Arrays.fill(packageOf, -1);
+        memberStart = new int[packageNames.size() + 1];
+        for (IndexedType type : index.getTypes()) {
+            int node = graph.idOf(type.getQualifiedName());
+            if (node < 0) continue;
+            packageOf[node] = packageIds.get(type.getPackageName());
+            memberStart[packageOf[node] + 1]++;
+            if (isAbstract(type)) {
+                abstractTypes.set(node);
+            }
+        }
+        for (int id = 0; id < packageNames.size(); id++) {
+            memberStart[id + 1] += memberStart[id];
+        }
+        members = new int[memberStart[packageNames.size()]];
+        int[] cursor = Arrays.copyOf(memberStart, packageNames.size());
+        for (int node = 0; node < packageOf.length; node++) {
+            if (packageOf[node] >= 0) {
+                members[cursor[packageOf[node]]++] = node;
+            }
+        }
+
+        classMetrics = new ClassMetrics[graph.size()];
+        packageMetrics = new PackageMetrics[packageNames.size()];
+    }
+
+    public static CouplingMetrics of(AssociationGraph graph, ModelIndex index, int parallelism) {
+        return of(graph, index, EnumSet.allOf(AssociationKind.class), parallelism);
+    }
+
+    public static CouplingMetrics of(AssociationGraph graph, ModelIndex index, Set<AssociationKind> kinds, int parallelism) {
+        CouplingMetrics metrics = new CouplingMetrics(graph, index, kinds);
+        List<Integer> packages = IntStream.range(0, metrics.packageNames.size()).boxed().collect(Collectors.toList());
+        try (ParallelScanner scanner = new ParallelScanner(parallelism)) {
+            scanner.forEach(packages, metrics::analyzePackage);
+        }
+        return metrics;
+    }
+
+    private static boolean isAbstract(IndexedType type) {
+        if (type.getKind() == Kind.INTERFACE || type.getKind() == Kind.ANNOTATION) {
+            return true;
+        }
+        String modifiers = type.getClassView().getModifiers();
+        return type.getKind() == Kind.CLASS && modifiers != null && modifiers.contains("abstract");
+    }
+
+    private void analyzePackage(int packageId) {
+        BitSet efferent = new BitSet();
+        BitSet afferent = new BitSet();
+        int abstractCount = 0;
+        for (int member = memberStart[packageId]; member < memberStart[packageId + 1]; member++) {
+            int node = members[member];
+            int fanOut = countNeighbours(outgoing, node, packageId, efferent);
+            int fanIn = countNeighbours(incoming, node, packageId, afferent);
+            classMetrics[node] = new ClassMetrics(fanIn, fanOut);
+            if (abstractTypes.get(node)) {
+                abstractCount++;
+            }
+        }
+        packageMetrics[packageId] = new PackageMetrics(memberStart[packageId + 1] - memberStart[packageId],
+                abstractCount, afferent.cardinality(), efferent.cardinality());
+    }
+
+    private int countNeighbours(CsrAdjacency adjacency, int node, int packageId, BitSet external) {
+        int count = 0;
+        for (int edge = adjacency.start(node); edge < adjacency.end(node); edge++) {
+            int neighbour = adjacency.target(edge);
+            if (neighbour == node || packageOf[neighbour] < 0) continue;
+            count++;
+            if (packageOf[neighbour] != packageId) {
+                external.set(neighbour);
+            }
+        }
+        return count;
+    }
+
+    public AssociationGraph getGraph() {
+        return graph;
+    }
+
+    public List<String> getPackageNames() {
+        return packageNames;
+    }
+
+    public ClassMetrics getClassMetrics(int node) {
+        return node < 0 ? null : classMetrics[node];
+    }
+
+    public ClassMetrics getClassMetrics(String qualifiedName) {
+        return getClassMetrics(graph.idOf(qualifiedName));
+    }
+
+    public PackageMetrics getPackageMetrics(String packageName) {
+        Integer id = packageIds.get(packageName);
+        return id == null ? null : packageMetrics[id];
+    }
+}
@@ -0,0 +1,60 @@
+package org.mql.java.graph;
+
+import java.util.Arrays;
+
+public class CsrAdjacency {
+    private final int[] offsets;
+    private final int[] targets;
+
+    CsrAdjacency(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    static CsrAdjacency of(int nodeCount, int[] sources, int[] destinations, int edgeCount) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        int[] targets = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            targets[cursor[sources[i]]++] = destinations[i];
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            Arrays.sort(targets, offsets[node], offsets[node + 1]);
+        }
+        return new CsrAdjacency(offsets, targets);
+    }
+
+    public int nodeCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int start(int node) {
+        return offsets[node];
+    }
+
+    public int end(int node) {
+        return offsets[node + 1];
+    }
+
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public boolean contains(int from, int to) {
+        return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+    }
+}
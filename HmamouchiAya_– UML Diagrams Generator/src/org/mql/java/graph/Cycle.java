@@ -0,0 +1,42 @@
+package org.mql.java.graph;
+
+import java.util.List;
+import java.util.Set;
+
+public class Cycle {
+    private final List<String> members;
+    private final List<Edge> edges;
+
+    public Cycle(List<String> members, List<Edge> edges) {
+        this.members = members;
+        this.edges = edges;
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("Cycle of " + members.size() + ": " + members);
+        for (Edge edge : edges) {
+            out.append(System.lineSeparator()).append("  ").append(edge);
+        }
+        return out.toString();
+    }
+
+    public record Edge(String source, String target, Set<AssociationKind> kinds) {
+        @Override
+        public String toString() {
+            return source + " -> " + target + " " + kinds;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.mql.java.graph;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class CycleAnalyzer {
+    private final AssociationGraph graph;
+    private final Set<AssociationKind> kinds;
+    private StronglyConnectedComponents components;
+
+    public CycleAnalyzer(AssociationGraph graph) {
+        this(graph, EnumSet.allOf(AssociationKind.class));
+    }
+
+    public CycleAnalyzer(AssociationGraph graph, Set<AssociationKind> kinds) {
+        this.graph = graph;
+        this.kinds = EnumSet.copyOf(kinds);
+    }
+
+    public static CycleAnalyzer forPackages(AssociationGraph graph) {
+        return new CycleAnalyzer(graph.toPackageGraph());
+    }
+
+    public static CycleAnalyzer forPackages(AssociationGraph graph, Set<AssociationKind> kinds) {
+        return new CycleAnalyzer(graph.toPackageGraph(), kinds);
+    }
+
+    public AssociationGraph getGraph() {
+        return graph;
+    }
+
+    public synchronized StronglyConnectedComponents getComponents() {
+        if (components == null) {
+            components = StronglyConnectedComponents.of(graph.forward(kinds));
+        }
+        return components;
+    }
+
+    public List<Cycle> findCycles() {
+        StronglyConnectedComponents scc = getComponents();
+        List<Cycle> cycles = new ArrayList<>();
+        for (int c = 0; c < scc.count(); c++) {
+            if (scc.isCyclic(c)) {
+                cycles.add(describe(scc, c));
+            }
+        }
+        cycles.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        return cycles;
+    }
+
+    private Cycle describe(StronglyConnectedComponents scc, int component) {
+        List<String> members = new ArrayList<>();
+        Map<Long, Set<AssociationKind>> edgeKinds = new LinkedHashMap<>();
+        for (int position = scc.memberStart(component); position < scc.memberEnd(component); position++) {
+            int node = scc.member(position);
+            members.add(graph.nameOf(node));
+            for (AssociationKind kind : kinds) {
+                CsrAdjacency adjacency = graph.forward(kind);
+                for (int edge = adjacency.start(node); edge < adjacency.end(node); edge++) {
+                    int target = adjacency.target(edge);
+                    if (target != node && scc.componentOf(target) == component) {
+                        edgeKinds.computeIfAbsent(AssociationGraph.Builder.key(node, target),
+                            key -> EnumSet.noneOf(AssociationKind.class)).add(kind);
+                    }
+                }
+            }
+        }
+        List<Cycle.Edge> edges = new ArrayList<>();
+        edgeKinds.forEach((key, edgeKindSet) -> edges.add(new Cycle.Edge(
+            graph.nameOf((int) (key >>> 32)), graph.nameOf((int) (long) key), edgeKindSet)));
+        return new Cycle(members, edges);
+    }
+}
@@ -0,0 +1,133 @@
+package org.mql.java.graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReachabilityIndex {
+    private final AssociationGraph graph;
+    private final Map<Integer, Closure> closures = new ConcurrentHashMap<>();
+
+    public ReachabilityIndex(AssociationGraph graph) {
+        this.graph = graph;
+    }
+
+    public AssociationGraph getGraph() {
+        return graph;
+    }
+
+    public CompressedBitSet dependenciesOf(int node, Set<AssociationKind> kinds) {
+        return closure(kinds, true).reachableFrom(node);
+    }
+
+    public CompressedBitSet dependentsOf(int node, Set<AssociationKind> kinds) {
+        return closure(kinds, false).reachableFrom(node);
+    }
+
+    public List<String> dependenciesOf(String qualifiedName, Set<AssociationKind> kinds) {
+        int node = graph.idOf(qualifiedName);
+        return node < 0 ? new Vector<>() : names(dependenciesOf(node, kinds));
+    }
+
+    public List<String> dependentsOf(String qualifiedName, Set<AssociationKind> kinds) {
+        int node = graph.idOf(qualifiedName);
+        return node < 0 ? new Vector<>() : names(dependentsOf(node, kinds));
+    }
+
+    public boolean reaches(int source, int target, Set<AssociationKind> kinds) {
+        return closure(kinds, true).reaches(source, target);
+    }
+
+    public List<String> names(CompressedBitSet nodes) {
+        List<String> names = new Vector<>();
+        nodes.forEach(node -> names.add(graph.nameOf(node)));
+        return names;
+    }
+
+    public void clear() {
+        closures.clear();
+    }
+
+    private Closure closure(Set<AssociationKind> kinds, boolean forward) {
+        int key = 0;
+        for (AssociationKind kind : kinds) {
+            key |= 1 << kind.ordinal();
+        }
+        key = key << 1 | (forward ? 1 : 0);
+        return closures.computeIfAbsent(key,
+            k -> new Closure(forward ? graph.forward(kinds) : graph.reverse(kinds)));
+    }
+
+    private static class Closure {
+        private final int nodeCount;
+        private final StronglyConnectedComponents components;
+        private final CsrAdjacency condensation;
+        private final CompressedBitSet[] memo;
+
+        Closure(CsrAdjacency adjacency) {
+            nodeCount = adjacency.nodeCount();
+            components = StronglyConnectedComponents.of(adjacency);
+            condensation = components.getCondensation();
+            memo = new CompressedBitSet[components.count()];
+        }
+
+        boolean reaches(int source, int target) {
+            int from = components.componentOf(source);
+            int to = components.componentOf(target);
+            if (from == to) {
+                return source != target || components.isCyclic(from);
+            }
+            return componentsReachableFrom(from).contains(to);
+        }
+
+        CompressedBitSet reachableFrom(int node) {
+            int component = components.componentOf(node);
+            long[] nodes = new long[nodeCount + 63 >>> 6];
+            componentsReachableFrom(component).forEach(reached -> addMembers(reached, nodes));
+            addMembers(component, nodes);
+            nodes[node >>> 6] &= ~(1L << node);
+            return CompressedBitSet.of(nodes);
+        }
+
+        private void addMembers(int component, long[] nodes) {
+            for (int position = components.memberStart(component); position < components.memberEnd(component); position++) {
+                int member = components.member(position);
+                nodes[member >>> 6] |= 1L << member;
+            }
+        }
+
+        synchronized CompressedBitSet componentsReachableFrom(int component) {
+            if (memo[component] != null) {
+                return memo[component];
+            }
+            long[] visited = new long[memo.length + 63 >>> 6];
+            int[] queue = new int[16];
+            int size = 0;
+            for (int edge = condensation.start(component); edge < condensation.end(component); edge++) {
+                if (size == queue.length) queue = Arrays.copyOf(queue, size * 2);
+                queue[size++] = condensation.target(edge);
+            }
+            while (size > 0) {
+                int current = queue[--size];
+                if ((visited[current >>> 6] & (1L << current)) != 0) continue;
+                visited[current >>> 6] |= 1L << current;
+                if (memo[current] != null) {
+                    memo[current].orInto(visited);
+                    continue;
+                }
+                for (int edge = condensation.start(current); edge < condensation.end(current); edge++) {
+                    int target = condensation.target(edge);
+                    if ((visited[target >>> 6] & (1L << target)) == 0) {
+                        if (size == queue.length) queue = Arrays.copyOf(queue, size * 2);
+                        queue[size++] = target;
+                    }
+                }
+            }
+            memo[component] = CompressedBitSet.of(visited);
+            return memo[component];
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.mql.java.graph;
+
+import java.util.Arrays;
+
+public class StronglyConnectedComponents {
+    private final int[] component;
+    private final int[] memberOffsets;
+    private final int[] members;
+    private final CsrAdjacency condensation;
+
+    private StronglyConnectedComponents(int[] component, int[] memberOffsets, int[] members, CsrAdjacency condensation) {
+        this.component = component;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+        this.condensation = condensation;
+    }
+
+    public static StronglyConnectedComponents of(CsrAdjacency adjacency) {
+        int nodeCount = adjacency.nodeCount();
+        int[] index = new int[nodeCount];
+        int[] low = new int[nodeCount];
+        int[] component = new int[nodeCount];
+        boolean[] onStack = new boolean[nodeCount];
+        int[] stack = new int[nodeCount];
+        int[] callNodes = new int[nodeCount];
+        int[] callEdges = new int[nodeCount];
+        Arrays.fill(index, -1);
+
+        int nextIndex = 0;
+        int stackSize = 0;
+        int componentCount = 0;
+        for (int root = 0; root < nodeCount; root++) {
+            if (index[root] >= 0) continue;
+            int depth = 0;
+            callNodes[0] = root;
+            callEdges[0] = adjacency.start(root);
+            index[root] = low[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int node = callNodes[depth];
+                if (callEdges[depth] < adjacency.end(node)) {
+                    int target = adjacency.target(callEdges[depth]++);
+                    if (index[target] < 0) {
+                        index[target] = low[target] = nextIndex++;
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        depth++;
+                        callNodes[depth] = target;
+                        callEdges[depth] = adjacency.start(target);
+                    } else if (onStack[target]) {
+                        low[node] = Math.min(low[node], index[target]);
+                    }
+                    continue;
+                }
+                if (low[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component[member] = componentCount;
+                    } while (member != node);
+                    componentCount++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNodes[depth];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+
+        int[] memberOffsets = new int[componentCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            memberOffsets[component[node] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] cursor = Arrays.copyOf(memberOffsets, componentCount);
+        int[] members = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            members[cursor[component[node]]++] = node;
+        }
+        return new StronglyConnectedComponents(component, memberOffsets, members,
+            condense(adjacency, component, componentCount));
+    }
+
+    private static CsrAdjacency condense(CsrAdjacency adjacency, int[] component, int componentCount) {
+        LongHashSet seen = new LongHashSet(componentCount);
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        int count = 0;
+        for (int node = 0; node < adjacency.nodeCount(); node++) {
+            int from = component[node];
+            for (int edge = adjacency.start(node); edge < adjacency.end(node); edge++) {
+                int to = component[adjacency.target(edge)];
+                if (from != to && seen.add(AssociationGraph.Builder.key(from, to))) {
+                    if (count == sources.length) {
+                        sources = Arrays.copyOf(sources, count * 2);
+                        targets = Arrays.copyOf(targets, count * 2);
+                    }
+                    sources[count] = from;
+                    targets[count++] = to;
+                }
+            }
+        }
+        return CsrAdjacency.of(componentCount, sources, targets, count);
+    }
+
+    public int count() {
+        return memberOffsets.length - 1;
+    }
+
+    public int componentOf(int node) {
+        return component[node];
+    }
+
+    public int size(int component) {
+        return memberOffsets[component + 1] - memberOffsets[component];
+    }
+
+    public int memberStart(int component) {
+        return memberOffsets[component];
+    }
+
+    public int memberEnd(int component) {
+        return memberOffsets[component + 1];
+    }
+
+    public int member(int position) {
+        return members[position];
+    }
+
+    public boolean isCyclic(int component) {
+        return size(component) > 1;
+    }
+
+    public int cyclicCount() {
+        int count = 0;
+        for (int c = 0; c < count(); c++) {
+            if (isCyclic(c)) count++;
+        }
+        return count;
+    }
+
+    public CsrAdjacency getCondensation() {
+        return condensation;
+    }
+}
@@ -0,0 +1,125 @@
+package org.mql.java.incremental;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.mql.java.classpath.ClassPathSource;
+import org.mql.java.classpath.DirectorySource;
+import org.mql.java.classpath.JarSource;
+
+public class ClassPathWatcher implements Closeable {
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final IncrementalScanner scanner;
+    private final WatchService watchService;
+    private final List<Consumer<ScanDelta>> listeners = new CopyOnWriteArrayList<>();
+    private Thread watchThread;
+    private volatile boolean running;
+
+    public ClassPathWatcher(IncrementalScanner scanner) throws IOException {
+        this.scanner = scanner;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (ClassPathSource source : scanner.getExplorer().getClassPath().getSources()) {
+            if (source instanceof DirectorySource directorySource) {
+                registerTree(directorySource.getRoot());
+            } else if (source instanceof JarSource) {
+                Path archive = Path.of(source.getLocation()).toAbsolutePath();
+                register(archive.getParent());
+            }
+        }
+    }
+
+    public void addListener(Consumer<ScanDelta> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<ScanDelta> listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        scanner.getPackage();
+        running = true;
+        watchThread = new Thread(this::watch, "classpath-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void watch() {
+        try {
+            while (running) {
+                WatchKey key = watchService.take();
+                drain(key);
+                WatchKey next;
+                while ((next = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                ScanDelta delta = scanner.rescan();
+                if (!delta.isEmpty()) {
+                    for (Consumer<ScanDelta> listener : listeners) {
+                        listener.accept(delta);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                Path created = directory.resolve((Path) event.context());
+                if (Files.isDirectory(created)) {
+                    registerTree(created);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void registerTree(Path root) {
+        if (!Files.isDirectory(root)) return;
+        try (Stream<Path> directories = Files.walk(root)) {
+            directories.filter(Files::isDirectory).forEach(this::register);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void register(Path directory) {
+        try {
+            directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        running = false;
+        watchService.close();
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+    }
+}
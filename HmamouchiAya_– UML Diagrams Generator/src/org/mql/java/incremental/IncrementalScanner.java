@@ -0,0 +1,239 @@
+package org.mql.java.incremental;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Vector;
+
+import org.mql.java.classpath.ClassEntry;
+import org.mql.java.index.ModelIndex.IndexedType;
+import org.mql.java.index.PackageTrie;
+import org.mql.java.index.TypeUpdate;
+import org.mql.java.models.*;
+import org.mql.java.xml.PackageExplorer;
+import org.mql.java.xml.ScanMode;
+
+public class IncrementalScanner {
+    private final PackageExplorer explorer;
+    private final Path manifestFile;
+    private ScanManifest manifest;
+    private PackageAbout rootPackage;
+
+    public IncrementalScanner(PackageExplorer explorer) {
+        this(explorer, null);
+    }
+
+    public IncrementalScanner(PackageExplorer explorer, Path manifestFile) {
+        if (explorer.getScanMode() != ScanMode.BYTECODE) {
+            throw new IllegalArgumentException("Incremental scans need a bytecode explorer");
+        }
+        this.explorer = explorer;
+        this.manifestFile = manifestFile;
+    }
+
+    public PackageExplorer getExplorer() {
+        return explorer;
+    }
+
+    public synchronized ScanManifest getManifest() {
+        return manifest;
+    }
+
+    public synchronized PackageAbout getPackage() {
+        if (rootPackage == null) {
+            fullScan();
+        }
+        return rootPackage;
+    }
+
+    private void fullScan() {
+        ScanManifest previous = loadManifest();
+        manifest = new ScanManifest();
+        for (ClassEntry entry : explorer.listClassEntries()) {
+            ScanManifest.Entry known = previous.get(entry.toString());
+            ScanManifest.Entry recorded = isUnchanged(known, entry) ? known : record(entry);
+            if (recorded != null) {
+                manifest.put(recorded);
+            }
+        }
+        rootPackage = explorer.analyzePackage();
+        saveManifest();
+    }
+
+    public synchronized ScanDelta rescan() {
+        if (rootPackage == null) {
+            fullScan();
+            return new ScanDelta();
+        }
+        long start = System.nanoTime();
+        ScanDelta delta = new ScanDelta();
+        explorer.refreshClassPath();
+
+        List<ClassEntry> changedEntries = new Vector<>();
+        Set<String> seenPaths = new HashSet<>();
+        for (ClassEntry entry : explorer.listClassEntries()) {
+            String path = entry.toString();
+            seenPaths.add(path);
+            ScanManifest.Entry known = manifest.get(path);
+            if (isUnchanged(known, entry)) {
+                continue;
+            }
+            ScanManifest.Entry recorded = record(entry);
+            if (recorded == null || (known != null && known.getHash().equals(recorded.getHash()))) {
+                if (recorded != null) manifest.put(recorded);
+                continue;
+            }
+            manifest.put(recorded);
+            changedEntries.add(entry);
+            (known == null ? delta.getAddedTypes() : delta.getChangedTypes()).add(entry.getClassName());
+        }
+
+        List<String> removedTypes = new Vector<>();
+        for (String path : new Vector<>(manifest.getPaths())) {
+            if (!seenPaths.contains(path)) {
+                removedTypes.add(manifest.remove(path).getClassName());
+            }
+        }
+        delta.getRemovedTypes().addAll(removedTypes);
+
+        if (!delta.isEmpty()) {
+            for (TypeUpdate update : explorer.update(changedEntries, removedTypes)) {
+                patch(update);
+                if (!update.isRemoval()) {
+                    delta.getReanalyzedTypes().add(update.getQualifiedName());
+                }
+            }
+            saveManifest();
+        }
+        delta.setElapsedNanos(System.nanoTime() - start);
+        return delta;
+    }
+
+    private boolean isUnchanged(ScanManifest.Entry known, ClassEntry entry) {
+        return known != null && known.getSize() == entry.getSize() && known.getLastModified() == entry.getLastModified();
+    }
+
+    private ScanManifest.Entry record(ClassEntry entry) {
+        try {
+            return new ScanManifest.Entry(entry.toString(), entry.getClassName(), entry.getSize(),
+                entry.getLastModified(), ScanManifest.hash(entry.read()));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private void patch(TypeUpdate update) {
+        List<PackageAbout> path = findPath(packageOf(update.getQualifiedName()));
+        PackageAbout target = path.get(path.size() - 1);
+        IndexedType previous = update.getPrevious();
+        if (previous != null) {
+            removeModel(target, previous.getModel());
+        }
+        IndexedType current = update.getCurrent();
+        if (current != null) {
+            addModel(target, current.getModel());
+        }
+        refreshCounts(path);
+    }
+
+    private List<PackageAbout> findPath(String packageName) {
+        List<PackageAbout> path = new Vector<>();
+        PackageAbout current = rootPackage;
+        path.add(current);
+        String rootName = rootPackage.getQualifiedName();
+        if (packageName.equals(rootName) || (!rootName.isEmpty() && !packageName.startsWith(rootName + "."))) {
+            return path;
+        }
+        String prefix = rootName;
+        for (String segment : packageName.substring(rootName.isEmpty() ? 0 : rootName.length() + 1).split("\\.")) {
+            prefix = prefix.isEmpty() ? segment : prefix + "." + segment;
+            PackageAbout child = findChild(current, prefix);
+            if (child == null) {
+                child = explorer.analyzePackage(prefix);
+                current.addPackage(child);
+            }
+            current = child;
+            path.add(current);
+        }
+        return path;
+    }
+
+    private PackageAbout findChild(PackageAbout parent, String qualifiedName) {
+        for (PackageAbout child : parent.getPackages()) {
+            if (child.getQualifiedName().equals(qualifiedName)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private void refreshCounts(List<PackageAbout> path) {
+        PackageTrie trie = explorer.getPackageTrie();
+        for (int i = path.size() - 1; i >= 0; i--) {
+            PackageAbout packageAbout = path.get(i);
+            PackageTrie.Node node = trie.find(packageAbout.getQualifiedName());
+            if (node == null && i > 0) {
+                path.get(i - 1).getPackages().remove(packageAbout);
+            } else if (node != null) {
+                packageAbout.setTypeCount(node.getTotalTypeCount());
+                packageAbout.setPackageCount(node.getPackageCount());
+            }
+        }
+    }
+
+    private String packageOf(String qualifiedName) {
+        int separator = qualifiedName.lastIndexOf('.');
+        return separator < 0 ? "" : qualifiedName.substring(0, separator);
+    }
+
+    private void removeModel(PackageAbout packageAbout, Object model) {
+        packageAbout.getClasses().removeIf(candidate -> candidate == model);
+        packageAbout.getInterfaces().removeIf(candidate -> candidate == model);
+        packageAbout.getEnums().removeIf(candidate -> candidate == model);
+        packageAbout.getAnnotations().removeIf(candidate -> candidate == model);
+    }
+
+    private void addModel(PackageAbout packageAbout, Object model) {
+        if (containsModel(packageAbout, model)) {
+            return;
+        }
+        if (model instanceof ClassAbout classAbout) {
+            packageAbout.addClass(classAbout);
+        } else if (model instanceof InterfaceAbout interfaceAbout) {
+            packageAbout.addInterface(interfaceAbout);
+        } else if (model instanceof EnumAbout enumAbout) {
+            packageAbout.addEnum(enumAbout);
+        } else if (model instanceof AnnotationAbout annotationAbout) {
+            packageAbout.addAnnotation(annotationAbout);
+        }
+    }
+
+    private boolean containsModel(PackageAbout packageAbout, Object model) {
+        return packageAbout.getClasses().stream().anyMatch(candidate -> candidate == model)
+            || packageAbout.getInterfaces().stream().anyMatch(candidate -> candidate == model)
+            || packageAbout.getEnums().stream().anyMatch(candidate -> candidate == model)
+            || packageAbout.getAnnotations().stream().anyMatch(candidate -> candidate == model);
+    }
+
+    private ScanManifest loadManifest() {
+        if (manifestFile == null) return new ScanManifest();
+        try {
+            return ScanManifest.load(manifestFile);
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            return new ScanManifest();
+        }
+    }
+
+    private void saveManifest() {
+        if (manifestFile == null) return;
+        try {
+            manifest.save(manifestFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.mql.java.incremental;
+
+import java.util.List;
+import java.util.Vector;
+
+public class ScanDelta {
+    private final List<String> addedTypes = new Vector<>();
+    private final List<String> changedTypes = new Vector<>();
+    private final List<String> removedTypes = new Vector<>();
+    private final List<String> reanalyzedTypes = new Vector<>();
+    private long elapsedNanos;
+
+    public List<String> getAddedTypes() {
+        return addedTypes;
+    }
+
+    public List<String> getChangedTypes() {
+        return changedTypes;
+    }
+
+    public List<String> getRemovedTypes() {
+        return removedTypes;
+    }
+
+    public List<String> getReanalyzedTypes() {
+        return reanalyzedTypes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean isEmpty() {
+        return addedTypes.isEmpty() && changedTypes.isEmpty() && removedTypes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ScanDelta{" +
+               "added=" + addedTypes +
+               ", changed=" + changedTypes +
+               ", removed=" + removedTypes +
+               ", reanalyzed=" + reanalyzedTypes +
+               ", elapsedMillis=" + elapsedNanos / 1_000_000 +
+               '}';
+    }
+}
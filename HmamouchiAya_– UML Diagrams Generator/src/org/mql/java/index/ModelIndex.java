@@ -0,0 +1,196 @@
+package org.mql.java.index;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import org.mql.java.models.*;
+
+public class ModelIndex {
+    public enum Kind { CLASS, INTERFACE, ENUM, ANNOTATION }
+
+    private final ConcurrentSkipListMap<String, IndexedType> byName = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, NavigableMap<String, IndexedType>> byPackage = new ConcurrentSkipListMap<>();
+    private final Map<Kind, NavigableMap<String, IndexedType>> byKind = new EnumMap<>(Kind.class);
+
+    public ModelIndex() {
+        for (Kind kind : Kind.values()) {
+            byKind.put(kind, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    public IndexedType add(String qualifiedName, Kind kind, ClassAbout classView, Object model) {
+        IndexedType type = new IndexedType(qualifiedName, kind, classView, model);
+        IndexedType previous = byName.put(qualifiedName, type);
+        if (previous != null && previous.getKind() != kind) {
+            byKind.get(previous.getKind()).remove(qualifiedName, previous);
+        }
+        byPackage.computeIfAbsent(type.getPackageName(), k -> new ConcurrentSkipListMap<>()).put(qualifiedName, type);
+        byKind.get(kind).put(qualifiedName, type);
+        return previous;
+    }
+
+    public IndexedType remove(String qualifiedName) {
+        IndexedType previous = byName.remove(qualifiedName);
+        if (previous != null) {
+            byKind.get(previous.getKind()).remove(qualifiedName, previous);
+            NavigableMap<String, IndexedType> packageTypes = byPackage.get(previous.getPackageName());
+            if (packageTypes != null) {
+                packageTypes.remove(qualifiedName, previous);
+                if (packageTypes.isEmpty()) {
+                    byPackage.remove(previous.getPackageName(), packageTypes);
+                }
+            }
+        }
+        return previous;
+    }
+
+    public Set<String> findDependents(Collection<String> targets) {
+        Set<String> dependents = new TreeSet<>();
+        for (IndexedType type : byName.values()) {
+            for (AssociationAbout association : type.getClassView().getAssociations()) {
+                if (targets.contains(association.getTargetClass())) {
+                    dependents.add(type.getQualifiedName());
+                    break;
+                }
+            }
+        }
+        return dependents;
+    }
+
+    public IndexedType get(String qualifiedName) {
+        return byName.get(qualifiedName);
+    }
+
+    public boolean contains(String qualifiedName) {
+        return byName.containsKey(qualifiedName);
+    }
+
+    public Kind getKind(String qualifiedName) {
+        IndexedType type = byName.get(qualifiedName);
+        return type == null ? null : type.getKind();
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    public List<String> getPackageNames() {
+        return new Vector<>(byPackage.keySet());
+    }
+
+    public List<IndexedType> getTypes() {
+        return new Vector<>(byName.values());
+    }
+
+    public List<IndexedType> getTypes(String packageName) {
+        NavigableMap<String, IndexedType> types = byPackage.get(packageName);
+        return types == null ? new Vector<>() : new Vector<>(types.values());
+    }
+
+    public List<IndexedType> getTypes(Kind kind) {
+        return new Vector<>(byKind.get(kind).values());
+    }
+
+    public List<ClassAbout> getClassViews() {
+        return byName.values().stream()
+            .map(IndexedType::getClassView)
+            .collect(Collectors.toList());
+    }
+
+    public List<ClassAbout> getClassViews(String packageName) {
+        return getTypes(packageName).stream()
+            .map(IndexedType::getClassView)
+            .collect(Collectors.toList());
+    }
+
+    public List<ClassAbout> getClasses() {
+        return models(Kind.CLASS, ClassAbout.class);
+    }
+
+    public List<InterfaceAbout> getInterfaces() {
+        return models(Kind.INTERFACE, InterfaceAbout.class);
+    }
+
+    public List<EnumAbout> getEnums() {
+        return models(Kind.ENUM, EnumAbout.class);
+    }
+
+    public List<AnnotationAbout> getAnnotations() {
+        return models(Kind.ANNOTATION, AnnotationAbout.class);
+    }
+
+    public List<ClassAbout> getClasses(String packageName) {
+        return models(packageName, Kind.CLASS, ClassAbout.class);
+    }
+
+    public List<InterfaceAbout> getInterfaces(String packageName) {
+        return models(packageName, Kind.INTERFACE, InterfaceAbout.class);
+    }
+
+    public List<EnumAbout> getEnums(String packageName) {
+        return models(packageName, Kind.ENUM, EnumAbout.class);
+    }
+
+    public List<AnnotationAbout> getAnnotations(String packageName) {
+        return models(packageName, Kind.ANNOTATION, AnnotationAbout.class);
+    }
+
+    private <T> List<T> models(String packageName, Kind kind, Class<T> modelType) {
+        return getTypes(packageName).stream()
+            .filter(type -> type.getKind() == kind)
+            .map(type -> modelType.cast(type.getModel()))
+            .collect(Collectors.toList());
+    }
+
+    private <T> List<T> models(Kind kind, Class<T> modelType) {
+        return byKind.get(kind).values().stream()
+            .map(type -> modelType.cast(type.getModel()))
+            .collect(Collectors.toList());
+    }
+
+    public static class IndexedType {
+        private final String qualifiedName;
+        private final String packageName;
+        private final Kind kind;
+        private final ClassAbout classView;
+        private final Object model;
+
+        IndexedType(String qualifiedName, Kind kind, ClassAbout classView, Object model) {
+            this.qualifiedName = qualifiedName;
+            int separator = qualifiedName.lastIndexOf('.');
+            this.packageName = separator < 0 ? "" : qualifiedName.substring(0, separator);
+            this.kind = kind;
+            this.classView = classView;
+            this.model = model;
+        }
+
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public ClassAbout getClassView() {
+            return classView;
+        }
+
+        public Object getModel() {
+            return model;
+        }
+    }
+}
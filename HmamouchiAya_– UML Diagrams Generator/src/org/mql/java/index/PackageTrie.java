@@ -0,0 +1,123 @@
+package org.mql.java.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.mql.java.index.ModelIndex.IndexedType;
+import org.mql.java.index.ModelIndex.Kind;
+
+public class PackageTrie {
+    private final Node root = new Node("", "");
+
+    public static PackageTrie of(ModelIndex index) {
+        PackageTrie trie = new PackageTrie();
+        for (String packageName : index.getPackageNames()) {
+            Node node = trie.insert(packageName);
+            for (IndexedType type : index.getTypes(packageName)) {
+                node.directCounts.merge(type.getKind(), 1, Integer::sum);
+            }
+        }
+        trie.root.aggregate();
+        return trie;
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public Node insert(String packageName) {
+        Node current = root;
+        if (packageName.isEmpty()) {
+            return current;
+        }
+        for (String segment : packageName.split("\\.")) {
+            Node parent = current;
+            current = parent.children.computeIfAbsent(segment,
+                s -> new Node(s, parent.qualifiedName.isEmpty() ? s : parent.qualifiedName + "." + s));
+        }
+        return current;
+    }
+
+    public Node find(String packageName) {
+        Node current = root;
+        if (packageName.isEmpty()) {
+            return current;
+        }
+        for (String segment : packageName.split("\\.")) {
+            current = current.children.get(segment);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    public static class Node {
+        private final String segment;
+        private final String qualifiedName;
+        private final Map<String, Node> children = new TreeMap<>();
+        private final Map<Kind, Integer> directCounts = new EnumMap<>(Kind.class);
+        private final Map<Kind, Integer> totalCounts = new EnumMap<>(Kind.class);
+        private int packageCount;
+
+        Node(String segment, String qualifiedName) {
+            this.segment = segment;
+            this.qualifiedName = qualifiedName;
+        }
+
+        private void aggregate() {
+            totalCounts.clear();
+            totalCounts.putAll(directCounts);
+            packageCount = 0;
+            for (Node child : children.values()) {
+                child.aggregate();
+                child.totalCounts.forEach((kind, count) -> totalCounts.merge(kind, count, Integer::sum));
+                packageCount += 1 + child.packageCount;
+            }
+        }
+
+        public String getSegment() {
+            return segment;
+        }
+
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        public Collection<Node> getChildren() {
+            return Collections.unmodifiableCollection(children.values());
+        }
+
+        public Node getChild(String segment) {
+            return children.get(segment);
+        }
+
+        public int getDirectCount(Kind kind) {
+            return directCounts.getOrDefault(kind, 0);
+        }
+
+        public int getTotalCount(Kind kind) {
+            return totalCounts.getOrDefault(kind, 0);
+        }
+
+        public int getDirectTypeCount() {
+            return directCounts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public int getTotalTypeCount() {
+            return totalCounts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public int getPackageCount() {
+            return packageCount;
+        }
+
+        @Override
+        public String toString() {
+            return qualifiedName + " (" + getTotalTypeCount() + " types, " + packageCount + " packages)";
+        }
+    }
+}
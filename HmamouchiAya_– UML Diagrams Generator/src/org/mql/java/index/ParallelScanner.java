@@ -0,0 +1,172 @@
+package org.mql.java.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.mql.java.classpath.ClassEntry;
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.classpath.ClassPathSource;
+import org.mql.java.classpath.DirectorySource;
+
+public class ParallelScanner implements AutoCloseable {
+    private static final int BATCH_SIZE = 16;
+
+    private final ForkJoinPool pool;
+
+    public ParallelScanner(int parallelism) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public void forEachFile(File root, Predicate<File> filter, Consumer<File> action) {
+        pool.invoke(new DirectoryTask(root, filter, action));
+    }
+
+    public <T> void forEach(List<T> items, Consumer<T> action) {
+        List<T> snapshot = new ArrayList<>(items);
+        pool.invoke(new BatchTask<>(snapshot, 0, snapshot.size(), BATCH_SIZE, action));
+    }
+
+    public <T> void forEachBatch(List<T> items, int batchSize, Consumer<List<T>> action) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            batches.add(new ArrayList<>(items.subList(from, Math.min(items.size(), from + batchSize))));
+        }
+        pool.invoke(new BatchTask<>(batches, 0, batches.size(), 1, action));
+    }
+
+    public <T> ForkJoinTask<T> submit(Callable<T> task) {
+        return pool.submit(task);
+    }
+
+    public List<ClassEntry> listClasses(ClassPath classPath, String packageName) {
+        String prefix = packageName.isEmpty() ? "" : packageName + ".";
+        List<ForkJoinTask<List<ClassEntry>>> listings = new Vector<>();
+        for (ClassPathSource source : classPath.getSources()) {
+            listings.add(pool.submit(() -> listSource(source, prefix)));
+        }
+
+        Map<String, ClassEntry> classes = new LinkedHashMap<>();
+        for (ForkJoinTask<List<ClassEntry>> listing : listings) {
+            for (ClassEntry entry : listing.join()) {
+                classes.putIfAbsent(entry.getClassName(), entry);
+            }
+        }
+        return new Vector<>(classes.values());
+    }
+
+    private List<ClassEntry> listSource(ClassPathSource source, String prefix) {
+        if (source instanceof DirectorySource directorySource) {
+            return listDirectory(directorySource, prefix);
+        }
+        try {
+            List<ClassEntry> entries = new Vector<>();
+            for (ClassEntry entry : source.listClasses()) {
+                if (entry.getClassName().startsWith(prefix)) {
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ClassEntry> listDirectory(DirectorySource source, String prefix) {
+        Path start = source.getRoot().resolve(prefix.replace('.', '/'));
+        ConcurrentLinkedQueue<ClassEntry> entries = new ConcurrentLinkedQueue<>();
+        new DirectoryTask(start.toFile(),
+            file -> file.getName().endsWith(".class"),
+            file -> entries.add(source.entryFor(file.toPath()))).invoke();
+        return new Vector<>(entries);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static class DirectoryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+        private final Predicate<File> filter;
+        private final Consumer<File> action;
+
+        DirectoryTask(File directory, Predicate<File> filter, Consumer<File> action) {
+            this.directory = directory;
+            this.filter = filter;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            File[] children = directory.listFiles();
+            if (children == null) return;
+
+            List<DirectoryTask> subTasks = new ArrayList<>();
+            List<File> files = new ArrayList<>();
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    subTasks.add(new DirectoryTask(child, filter, action));
+                } else if (filter.test(child)) {
+                    files.add(child);
+                }
+            }
+            invokeAll(new BatchTask<>(files, 0, files.size(), BATCH_SIZE, action), new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(subTasks);
+                }
+            });
+        }
+    }
+
+    private static class BatchTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> items;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+        private final Consumer<T> action;
+
+        BatchTask(List<T> items, int from, int to, int batchSize, Consumer<T> action) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (int i = from; i < to; i++) {
+                    action.accept(items.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask<>(items, from, middle, batchSize, action),
+                      new BatchTask<>(items, middle, to, batchSize, action));
+        }
+    }
+}
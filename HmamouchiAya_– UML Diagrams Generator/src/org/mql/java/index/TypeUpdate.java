@@ -0,0 +1,31 @@
+package org.mql.java.index;
+
+import org.mql.java.index.ModelIndex.IndexedType;
+
+public class TypeUpdate {
+    private final String qualifiedName;
+    private final IndexedType previous;
+    private final IndexedType current;
+
+    public TypeUpdate(String qualifiedName, IndexedType previous, IndexedType current) {
+        this.qualifiedName = qualifiedName;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public IndexedType getPrevious() {
+        return previous;
+    }
+
+    public IndexedType getCurrent() {
+        return current;
+    }
+
+    public boolean isRemoval() {
+        return current == null;
+    }
+}
@@ -1,13 +1,17 @@
 package org.mql.java.models;
 
+import java.io.Serializable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Inherited;
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-public class AnnotationAbout {
+public class AnnotationAbout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String annotationName;
     private RetentionPolicy policy;
     private boolean inheritanceStatus;
@@ -16,21 +20,37 @@ public class AnnotationAbout {
     public AnnotationAbout(String annotationLocation) {
         methodProperties = new HashMap<>();
         try {
-            Class<?> targetClass = Class.forName(annotationLocation);
-            annotationName = targetClass.getSimpleName();
-            Retention retention = targetClass.getAnnotation(Retention.class);
-            policy = (retention != null) ? retention.value() : RetentionPolicy.CLASS;
-            inheritanceStatus = targetClass.isAnnotationPresent(Inherited.class);
-            
-            for (Method method : targetClass.getDeclaredMethods()) {
-                methodProperties.put(method.getName(), method.getReturnType().getSimpleName());
-            }
+            analyzeAnnotation(Class.forName(annotationLocation));
         }
         catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    public AnnotationAbout(Class<?> targetClass) {
+        methodProperties = new HashMap<>();
+        analyzeAnnotation(targetClass);
+    }
+
+    private void analyzeAnnotation(Class<?> targetClass) {
+        annotationName = targetClass.getSimpleName();
+        Retention retention = targetClass.getAnnotation(Retention.class);
+        policy = (retention != null) ? retention.value() : RetentionPolicy.CLASS;
+        inheritanceStatus = targetClass.isAnnotationPresent(Inherited.class);
+        
+        for (Method method : targetClass.getDeclaredMethods()) {
+            methodProperties.put(method.getName(), method.getReturnType().getSimpleName());
+        }
+    }
+
+    public AnnotationAbout(String annotationName, RetentionPolicy policy, boolean inheritanceStatus,
+            Map<String, String> methodProperties) {
+        this.annotationName = annotationName;
+        this.policy = policy;
+        this.inheritanceStatus = inheritanceStatus;
+        this.methodProperties = new LinkedHashMap<>(methodProperties);
+    }
+
     public String getAnnotationName() {
         return annotationName;
     }
@@ -1,8 +1,12 @@
 package org.mql.java.models;
 
+import java.io.Serializable;
+
 import org.mql.java.annotations.AssociationType;
 
-public class AssociationAbout {
+public class AssociationAbout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String sourceClass;
     private String targetClass;
     private String sourceClassName;
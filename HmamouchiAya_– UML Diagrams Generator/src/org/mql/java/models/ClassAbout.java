@@ -1,12 +1,20 @@
 package org.mql.java.models;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Vector;
 
-public class ClassAbout {
+public class ClassAbout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String simpleName;
     private String name;
     private String modifiers;
@@ -18,6 +26,12 @@ public class ClassAbout {
     private List<AssociationAbout> compositionAssociations;
     private List<AssociationAbout> aggregationAssociations;
     private List<InterfaceAbout> implementedInterfaces;
+    private List<String> annotations;
+    private transient ClassMetrics metrics;
+    private transient MetricsSource metricsSource;
+    private transient MemberLoader loader;
+    private transient boolean loaded;
+    private transient boolean loading;
 
 
 
@@ -25,11 +39,28 @@ public class ClassAbout {
         initializeLists();
     }
 
+    // for subclasses that serve their own lists
+    protected ClassAbout(boolean initializeLists) {
+        if (initializeLists) {
+            initializeLists();
+        }
+    }
+
     public ClassAbout(String classLocation) {
         initializeLists();
         analyzeClass(classLocation);
     }
 
+    public ClassAbout(Class<?> cls) {
+        this(cls, new TypeRegistry());
+    }
+
+    public ClassAbout(Class<?> cls, TypeRegistry typeRegistry) {
+        initializeLists();
+        extractBasicInfo(cls);
+        extractRelations(cls, typeRegistry);
+    }
+
 
     private void initializeLists() {
         fields = new Vector<>();
@@ -39,13 +70,14 @@ public class ClassAbout {
         compositionAssociations = new Vector<>();
         aggregationAssociations = new Vector<>();
         implementedInterfaces = new Vector<>();
+        annotations = new Vector<>();
     }
 
     private void analyzeClass(String classLocation) {
         try {
             Class<?> cls = Class.forName(classLocation);
             extractBasicInfo(cls);
-            extractRelations(cls);
+            extractRelations(cls, new TypeRegistry());
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
         }
@@ -54,18 +86,21 @@ public class ClassAbout {
     private void extractBasicInfo(Class<?> cls) {
         simpleName = cls.getSimpleName();
         name = cls.getName();
+        for (Annotation annotation : cls.getDeclaredAnnotations()) {
+            annotations.add(annotation.annotationType().getName());
+        }
         getModifiers(cls);
         getSuperClass(cls);
         getFields(cls);
         getMethods(cls);
     }
 
-    private void extractRelations(Class<?> cls) {
+    private void extractRelations(Class<?> cls, TypeRegistry typeRegistry) {
         getAssociations(fields);
         getDependencyAssociations(cls);
         getComposedClasses(fields);
         getAggregatedClasses(fields);
-        getImplementedInterfaces(cls);
+        getImplementedInterfaces(cls, typeRegistry);
     }
 
     private void getSuperClass(Class<?> cls) {
@@ -100,33 +135,33 @@ public class ClassAbout {
     }
 
     private void getDependencyAssociations(Class<?> cls) {
-        List<String> fieldTypes = new Vector<>();
+        Set<String> knownTypes = new HashSet<>();
         for (FieldAbout field : fields) {
-            fieldTypes.add(field.getFieldType());
+            knownTypes.add(field.getFieldType());
         }
-        analyzeMethodDependencies(cls, fieldTypes);
+        analyzeMethodDependencies(cls, knownTypes);
     }
 
-    private void analyzeMethodDependencies(Class<?> cls, List<String> fieldTypes) {
+    private void analyzeMethodDependencies(Class<?> cls, Set<String> knownTypes) {
         for (Method method : cls.getDeclaredMethods()) {
-            checkParameterTypes(cls, method, fieldTypes);
-            checkReturnType(cls, method, fieldTypes);
+            checkParameterTypes(cls, method, knownTypes);
+            checkReturnType(cls, method, knownTypes);
         }
     }
 
-    private void checkParameterTypes(Class<?> cls, Method method, List<String> fieldTypes) {
+    private void checkParameterTypes(Class<?> cls, Method method, Set<String> knownTypes) {
         for (Class<?> paramType : method.getParameterTypes()) {
-            addUsedClassIfCustomType(cls, paramType, fieldTypes);
+            addUsedClassIfCustomType(cls, paramType, knownTypes);
         }
     }
 
-    private void checkReturnType(Class<?> cls, Method method, List<String> fieldTypes) {
+    private void checkReturnType(Class<?> cls, Method method, Set<String> knownTypes) {
         Class<?> returnType = method.getReturnType();
-        addUsedClassIfCustomType(cls, returnType, fieldTypes);
+        addUsedClassIfCustomType(cls, returnType, knownTypes);
     }
 
-    private void addUsedClassIfCustomType(Class<?> cls, Class<?> type, List<String> fieldTypes) {
-        if (isCustomType(type) && !fieldTypes.contains(type.getName()) && !relationExists(type.getName())) {
+    private void addUsedClassIfCustomType(Class<?> cls, Class<?> type, Set<String> knownTypes) {
+        if (isCustomType(type) && knownTypes.add(type.getName())) {
             AssociationAbout relation = new AssociationAbout(cls.getName(), type.getName(), "Use");
             dependencyAssociations.add(relation);
             associations.add(relation);
@@ -135,7 +170,7 @@ public class ClassAbout {
 
     private void getComposedClasses(List<FieldAbout> fields) {
         for (FieldAbout field : fields) {
-            if (field.isUserDefined() && Modifier.isFinal(field.getFieldElement().getModifiers())) {
+            if (field.isUserDefined() && field.isFinal()) {
                 addCompositionRelation(field);
             }
         }
@@ -150,7 +185,7 @@ public class ClassAbout {
 
     private void getAggregatedClasses(List<FieldAbout> fields) {
         for (FieldAbout field : fields) {
-            if (field.isUserDefined() && !Modifier.isFinal(field.getFieldElement().getModifiers())) {
+            if (field.isUserDefined() && !field.isFinal()) {
                 addAggregationRelation(field);
             }
         }
@@ -163,22 +198,45 @@ public class ClassAbout {
         associations.add(relation);
     }
 
-    private void getImplementedInterfaces(Class<?> cls) {
+    private void getImplementedInterfaces(Class<?> cls, TypeRegistry typeRegistry) {
         for (Class<?> iface : cls.getInterfaces()) {
-            implementedInterfaces.add(new InterfaceAbout(iface));
+            implementedInterfaces.add(typeRegistry.interfaceOf(iface));
             associations.add(new AssociationAbout(name, iface.getName(), "Implementation"));
         }
     }
 
-    private boolean relationExists(String to) {
-        return dependencyAssociations.stream()
-                .anyMatch(relation -> relation.getTargetClass().equals(to));
-    }
-
     private boolean isCustomType(Class<?> cls) {
         return !cls.isPrimitive() && !cls.getName().startsWith("java.lang");
     }
 
+    public synchronized void setLoader(MemberLoader loader) {
+        this.loader = loader;
+        this.loaded = false;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loader == null || loaded;
+    }
+
+    // loading guards against the loader reading this model back; loaded is only set once the loader
+    // returns, so a failed load is reported to the caller and retried by the next one
+    public synchronized void load() {
+        if (!isLoaded() && !loading) {
+            loading = true;
+            try {
+                loader.load(this);
+                loaded = true;
+            } finally {
+                loading = false;
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        load();
+        out.defaultWriteObject();
+    }
+
     public String getSimpleName() {
     	return simpleName; 
     }
@@ -193,9 +251,11 @@ public class ClassAbout {
     	return superClass;
     }
     public List<FieldAbout> getFields() {
+    	load();
     	return fields; 
     }
     public List<MethodAbout> getMethods() {
+    	load();
     	return methods; 
     }
     public List<AssociationAbout> getAssociations() { 
@@ -213,6 +273,12 @@ public class ClassAbout {
     public List<InterfaceAbout> getImplementedInterfaces() {
     	return implementedInterfaces;
     }
+    public List<String> getAnnotations() {
+    	return annotations;
+    }
+    public ClassMetrics getMetrics() {
+    	return metrics != null || metricsSource == null ? metrics : metricsSource.getClassMetrics(getName());
+    }
 
     public void setName(String name) { 
     	this.name = name;
@@ -223,6 +289,15 @@ public class ClassAbout {
     public void setSuperClass(String superClass) {
     	this.superClass = superClass;
     }
+    public void setAnnotations(List<String> annotations) {
+    	this.annotations = annotations;
+    }
+    public void setMetrics(ClassMetrics metrics) {
+    	this.metrics = metrics;
+    }
+    public void setMetricsSource(MetricsSource metricsSource) {
+    	this.metricsSource = metricsSource;
+    }
     public void setSimpleName(String simpleName) {
 		this.simpleName = simpleName;
 	}
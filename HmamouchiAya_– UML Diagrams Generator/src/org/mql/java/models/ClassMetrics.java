@@ -0,0 +1,10 @@
+package org.mql.java.models;
+
+import java.io.Serializable;
+
+public record ClassMetrics(int fanIn, int fanOut) implements Serializable {
+
+    public int coupling() {
+        return fanIn + fanOut;
+    }
+}
@@ -1,29 +1,40 @@
 package org.mql.java.models;
 
-
+import java.io.Serializable;
 import java.util.List;
 import java.util.Vector;
 
-public class EnumAbout {
+public class EnumAbout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String qualifiedName;
     private final String simpleName;
     private final List<String> fields;
 
     public EnumAbout(String enumLocation) {
+        this(loadEnumClass(enumLocation));
+    }
+
+    public EnumAbout(Class<?> enumClass) {
+        this.qualifiedName = enumClass.getName();
+        this.simpleName = enumClass.getSimpleName();
+        this.fields = extractFields(enumClass);
+    }
+
+    public EnumAbout(String qualifiedName, String simpleName, List<String> fields) {
+        this.qualifiedName = qualifiedName;
+        this.simpleName = simpleName;
+        this.fields = new Vector<>(fields);
+    }
+
+    private static Class<?> loadEnumClass(String enumLocation) {
         try {
-            Class<?> enumClass = loadEnumClass(enumLocation);
-            this.qualifiedName = enumClass.getName();
-            this.simpleName = enumClass.getSimpleName();
-            this.fields = extractFields(enumClass);
+            return Class.forName(enumLocation);
         } catch (ClassNotFoundException e) {
             throw new IllegalArgumentException("Failed to load enum class: " + enumLocation, e);
         }
     }
 
-    private Class<?> loadEnumClass(String enumLocation) throws ClassNotFoundException {
-        return Class.forName(enumLocation);
-    }
-
     private List<String> extractFields(Class<?> enumClass) {
         List<String> constants = new Vector<>();
         Object[] enumValues = enumClass.getFields();
@@ -1,16 +1,20 @@
 package org.mql.java.models;
 
+import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 
-public class FieldAbout {
-    private Field fieldElement;
+public class FieldAbout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String fieldName;
     private String fieldType;
+    private String genericTypeName;
     private String simpleTypeName;
+    private int modifiers;
     private char modifier;
     private boolean isUserDefined;
     private boolean isList;
@@ -20,11 +24,12 @@ public class FieldAbout {
     }
 
     public FieldAbout(Field fieldElement) {
-        this.fieldElement = fieldElement;
         fieldName = fieldElement.getName();
         fieldType = fieldElement.getType().getName();
+        genericTypeName = fieldElement.getGenericType().getTypeName();
         simpleTypeName = fieldElement.getType().getSimpleName();
-        modifier = calculateAccessLevel(fieldElement.getModifiers());
+        modifiers = fieldElement.getModifiers();
+        modifier = calculateAccessLevel(modifiers);
         
         if (List.class.isAssignableFrom(fieldElement.getType())) {
             processListType(fieldElement);
@@ -61,10 +66,6 @@ public class FieldAbout {
         return modifier + " " + fieldName + " : " + simpleTypeName;
     }
 
-    public Field getFieldElement() {
-        return this.fieldElement;
-    }
-    
     public String getFieldName() {
         return fieldName;
     }
@@ -73,9 +74,25 @@ public class FieldAbout {
         return fieldType;
     }
 
+    public String getGenericTypeName() {
+        return genericTypeName;
+    }
+
+    public String getSimpleTypeName() {
+        return simpleTypeName;
+    }
+
+    public int getModifiers() {
+        return modifiers;
+    }
+
     public char getModifier() {
         return modifier;
     }
+
+    public boolean isFinal() {
+        return Modifier.isFinal(modifiers);
+    }
     
     public boolean isUserDefined() {
         return isUserDefined;
@@ -85,10 +102,6 @@ public class FieldAbout {
         return isList;
     }
 
-    public void setFieldElement(Field fieldElement) {
-        this.fieldElement = fieldElement;
-    }
-
     public void setFieldName(String fieldName) {
         this.fieldName = fieldName;
     }
@@ -97,10 +110,18 @@ public class FieldAbout {
         this.fieldType = fieldType;
     }
 
+    public void setGenericTypeName(String genericTypeName) {
+        this.genericTypeName = genericTypeName;
+    }
+
     public void setSimpleTypeName(String simpleTypeName) {
         this.simpleTypeName = simpleTypeName;
     }
 
+    public void setModifiers(int modifiers) {
+        this.modifiers = modifiers;
+    }
+
     public void setModifier(char modifier) {
         this.modifier = modifier;
     }
@@ -108,4 +129,8 @@ public class FieldAbout {
     public void setUserDefined(boolean isUserDefined) {
         this.isUserDefined = isUserDefined;
     }
+
+    public void setList(boolean isList) {
+        this.isList = isList;
+    }
 }
\ No newline at end of file
@@ -1,18 +1,26 @@
 package org.mql.java.models;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Vector;
 import java.util.List;
 
-public class InterfaceAbout {
+public class InterfaceAbout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String simpleName;
     private String name;
     private String modifiers;
     private String superClass;
     private List<FieldAbout> fields;
     private List<MethodAbout> methods;
+    private transient InterfaceLoader loader;
+    private transient boolean loaded;
+    private transient boolean loading;
 
     public InterfaceAbout(Class<?> cls) {
         this.simpleName = cls.getSimpleName();
@@ -25,8 +33,14 @@ public class InterfaceAbout {
     }
     
     public InterfaceAbout() {
-        fields = new Vector<>();
-        methods = new Vector<>();
+        this(true);
+    }
+
+    protected InterfaceAbout(boolean initializeLists) {
+        if (initializeLists) {
+            fields = new Vector<>();
+            methods = new Vector<>();
+        }
     }
 
     private void initializeClassInfo(Class<?> cls) {
@@ -76,23 +90,73 @@ public class InterfaceAbout {
         return name;
     }
 
+    public synchronized void setLoader(InterfaceLoader loader) {
+        this.loader = loader;
+        this.loaded = false;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loader == null || loaded;
+    }
+
+    public synchronized void load() {
+        if (!isLoaded() && !loading) {
+            loading = true;
+            try {
+                loader.load(this);
+                loaded = true;
+            } finally {
+                loading = false;
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        load();
+        out.defaultWriteObject();
+    }
+
     public String getModifiers() {
+        load();
         return modifiers;
     }
 
     public String superClass() {
+        load();
         return superClass;
     }
 
     public List<FieldAbout> getFields() {
+        load();
         return fields;
     }
 
     public List<MethodAbout> getMethods() {
+        load();
         return methods;
     }
     
     public void setName(String name) {
         this.name = name;
     }
+
+    public void setSimpleName(String simpleName) {
+        this.simpleName = simpleName;
+    }
+
+    public void setModifiers(String modifiers) {
+        this.modifiers = modifiers;
+    }
+
+    public void setSuperClass(String superClass) {
+        this.superClass = superClass;
+    }
+
+    public void setFields(List<FieldAbout> fields) {
+        this.fields = fields;
+    }
+
+    public void setMethods(List<MethodAbout> methods) {
+        this.methods = methods;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package org.mql.java.models;
+
+public interface InterfaceLoader {
+    void load(InterfaceAbout interfaceAbout);
+}
@@ -0,0 +1,5 @@
+package org.mql.java.models;
+
+public interface MemberLoader {
+    void load(ClassAbout classAbout);
+}
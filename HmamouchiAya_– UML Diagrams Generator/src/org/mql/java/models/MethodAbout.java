@@ -1,11 +1,14 @@
 package org.mql.java.models;
 
+import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
-public class MethodAbout {
+public class MethodAbout implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String methodName;
     private String outputType;
     private String arguments;
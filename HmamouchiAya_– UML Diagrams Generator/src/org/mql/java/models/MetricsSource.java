@@ -0,0 +1,7 @@
+package org.mql.java.models;
+
+public interface MetricsSource {
+    ClassMetrics getClassMetrics(String qualifiedName);
+
+    PackageMetrics getPackageMetrics(String packageName);
+}
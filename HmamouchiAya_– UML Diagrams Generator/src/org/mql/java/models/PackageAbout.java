@@ -1,11 +1,24 @@
 package org.mql.java.models;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Vector;
 
-public class PackageAbout {
+public class PackageAbout implements Serializable {
+   private static final long serialVersionUID = 1L;
+
    private String packageName;
+   private String qualifiedName;
+   private int typeCount;
+   private int packageCount;
+   private PackageMetrics metrics;
+   private transient MetricsSource metricsSource;
+   private transient PackageLoader loader;
+   private transient boolean loaded;
+   private transient boolean loading;
    private List<PackageAbout> Packages;
    private List<ClassAbout> classes;
    private List<InterfaceAbout> interfaces; 
@@ -20,6 +33,7 @@ public PackageAbout() {
 
    public PackageAbout(String packageLocation) {
        this.packageName = extractPackageName(packageLocation);
+       this.qualifiedName = packageLocation;
        initializeLists();
    }
 
@@ -39,55 +53,115 @@ public PackageAbout() {
        this.enums = new Vector<>();
    }
 
+   public synchronized void setLoader(PackageLoader loader) {
+       this.loader = loader;
+       this.loaded = false;
+       initializeLists();
+   }
+
+   public synchronized boolean isLoaded() {
+       return loader == null || loaded;
+   }
+
+   public synchronized void load() {
+       if (!isLoaded() && !loading) {
+           loading = true;
+           try {
+               loader.load(this);
+               loaded = true;
+           } finally {
+               loading = false;
+           }
+       }
+   }
+
+   public synchronized void collapse() {
+       if (loader != null && loaded) {
+           loaded = false;
+           initializeLists();
+       }
+   }
+
+   private void writeObject(ObjectOutputStream out) throws IOException {
+       load();
+       out.defaultWriteObject();
+   }
+
    public String getPackageName() {
        return packageName;
    }
 
+   public String getQualifiedName() {
+       return qualifiedName != null ? qualifiedName : packageName;
+   }
+
+   public int getTypeCount() {
+       return typeCount;
+   }
+
+   public int getPackageCount() {
+       return packageCount;
+   }
+
+   public PackageMetrics getMetrics() {
+       return metrics != null || metricsSource == null ? metrics : metricsSource.getPackageMetrics(qualifiedName);
+   }
+
    public List<PackageAbout> getPackages() {
+       load();
        return Packages;
    }
 
    public List<ClassAbout> getClasses() {
+       load();
        return classes;
    }
 
    public List<InterfaceAbout> getInterfaces() {
+       load();
        return interfaces;
    }
 
    public List<AnnotationAbout> getAnnotations() {
+       load();
        return annotations;
    }
 
    public List<EnumAbout> getEnums() {
+       load();
        return enums;
    }
 
    public void addPackage(PackageAbout Package) {
+       load();
        if (Package != null) {
            this.Packages.add(Package);
        }
    }
 
    public void addClass(ClassAbout classAbout) {
+       load();
        if (classAbout != null) {
            this.classes.add(classAbout);
        }
    }
 
    public void addInterface(InterfaceAbout interfaceAbout) {
+       load();
        if (interfaceAbout != null) {
            this.interfaces.add(interfaceAbout);
        }
    }
 
    public void addAnnotation(AnnotationAbout annotationAbout) {
+       load();
        if (annotationAbout != null) {
            this.annotations.add(annotationAbout);
        }
    }
 
    public void addEnum(EnumAbout enumAbout) {
+       load();
        if (enumAbout != null) {
            this.enums.add(enumAbout);
        }
@@ -96,6 +170,27 @@ public PackageAbout() {
 	this.packageName = packageName;
 }
 
+   public void setQualifiedName(String qualifiedName) {
+       this.qualifiedName = qualifiedName;
+   }
+
+   public void setTypeCount(int typeCount) {
+       this.typeCount = typeCount;
+   }
+
+   public void setPackageCount(int packageCount) {
+       this.packageCount = packageCount;
+   }
+
+   public void setMetrics(PackageMetrics metrics) {
+       this.metrics = metrics;
+   }
+
+   // metrics from a source are looked up on every call, so they follow incremental updates
+   public void setMetricsSource(MetricsSource metricsSource) {
+       this.metricsSource = metricsSource;
+   }
+
    public void setPackages(List<PackageAbout> Packages) {
        this.Packages = new Vector<>(Packages != null ? Packages : Collections.emptyList());
    }
@@ -120,11 +215,11 @@ public PackageAbout() {
    public String toString() {
        return "PackageDetails{" +
               "packageName='" + packageName + '\'' +
-              ", subPackages=" + Packages +
-              ", classDefinitions=" + classes +
-              ", interfaceDefinitions=" + interfaces +
-              ", annotationDefinitions=" + annotations +
-              ", enumDefinitions=" + enums +
+              ", subPackages=" + getPackages() +
+              ", classDefinitions=" + getClasses() +
+              ", interfaceDefinitions=" + getInterfaces() +
+              ", annotationDefinitions=" + getAnnotations() +
+              ", enumDefinitions=" + getEnums() +
               '}';
    }
 }
\ No newline at end of file
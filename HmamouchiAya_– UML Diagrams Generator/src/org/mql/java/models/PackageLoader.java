@@ -0,0 +1,5 @@
+package org.mql.java.models;
+
+public interface PackageLoader {
+    void load(PackageAbout packageAbout);
+}
@@ -0,0 +1,19 @@
+package org.mql.java.models;
+
+import java.io.Serializable;
+
+public record PackageMetrics(int typeCount, int abstractCount, int afferentCoupling, int efferentCoupling) implements Serializable {
+
+    public double abstractness() {
+        return typeCount == 0 ? 0 : (double) abstractCount / typeCount;
+    }
+
+    public double instability() {
+        int coupling = afferentCoupling + efferentCoupling;
+        return coupling == 0 ? 0 : (double) efferentCoupling / coupling;
+    }
+
+    public double distance() {
+        return Math.abs(abstractness() + instability() - 1);
+    }
+}
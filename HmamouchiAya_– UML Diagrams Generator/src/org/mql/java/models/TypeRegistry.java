@@ -0,0 +1,85 @@
+package org.mql.java.models;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class TypeRegistry {
+    private final Predicate<String> roots;
+    private final InterfaceLoader externalLoader;
+    private final ConcurrentMap<String, InterfaceAbout> interfaces = new ConcurrentHashMap<>();
+
+    public TypeRegistry() {
+        this(name -> true);
+    }
+
+    public TypeRegistry(Predicate<String> roots) {
+        this(roots, null);
+    }
+
+    // without an external loader, interfaces outside the roots are analyzed eagerly
+    public TypeRegistry(Predicate<String> roots, InterfaceLoader externalLoader) {
+        this.roots = roots;
+        this.externalLoader = externalLoader;
+    }
+
+    public InterfaceAbout interfaceOf(Class<?> iface) {
+        return interfaces.computeIfAbsent(iface.getName(),
+            name -> roots.test(name) || externalLoader == null ? new InterfaceAbout(iface) : lazyInterface(iface));
+    }
+
+    public InterfaceAbout externalInterfaceOf(String name) {
+        return interfaces.computeIfAbsent(name, this::lazyInterface);
+    }
+
+    public InterfaceAbout interfaceOf(String name, Function<String, InterfaceAbout> builder) {
+        return interfaces.computeIfAbsent(name, builder);
+    }
+
+    private InterfaceAbout lazyInterface(Class<?> iface) {
+        InterfaceAbout interfaceAbout = lazyInterface(iface.getName());
+        interfaceAbout.setModifiers(Modifier.toString(iface.getModifiers()));
+        return interfaceAbout;
+    }
+
+    private InterfaceAbout lazyInterface(String name) {
+        InterfaceAbout interfaceAbout = new InterfaceAbout();
+        interfaceAbout.setName(name);
+        interfaceAbout.setSimpleName(name.substring(Math.max(name.lastIndexOf('.'), name.lastIndexOf('$')) + 1));
+        if (externalLoader != null) {
+            interfaceAbout.setLoader(externalLoader);
+        }
+        return interfaceAbout;
+    }
+
+    public InterfaceAbout intern(InterfaceAbout iface) {
+        InterfaceAbout existing = interfaces.putIfAbsent(iface.getName(), iface);
+        return existing != null ? existing : iface;
+    }
+
+    public void canonicalize(ClassAbout classAbout) {
+        List<InterfaceAbout> implemented = classAbout.getImplementedInterfaces();
+        for (int i = 0; i < implemented.size(); i++) {
+            implemented.set(i, intern(implemented.get(i)));
+        }
+    }
+
+    public InterfaceAbout get(String name) {
+        return interfaces.get(name);
+    }
+
+    public InterfaceAbout remove(String name) {
+        return interfaces.remove(name);
+    }
+
+    public int size() {
+        return interfaces.size();
+    }
+
+    public void clear() {
+        interfaces.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package org.mql.java.query;
+
+public interface Query {
+
+    int[] evaluate(QueryIndex index);
+
+    static Query parse(String text) {
+        return new QueryParser(text).parse();
+    }
+
+    record Term(QueryAttribute attribute, String value) implements Query {
+        @Override
+        public int[] evaluate(QueryIndex index) {
+            return index.postings(attribute, value);
+        }
+
+        @Override
+        public String toString() {
+            return attribute.getKeyword() + ":" + value;
+        }
+    }
+
+    record And(Query left, Query right) implements Query {
+        @Override
+        public int[] evaluate(QueryIndex index) {
+            int[] first = left.evaluate(index);
+            return first.length == 0 ? first : QueryIndex.intersect(first, right.evaluate(index));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " and " + right + ")";
+        }
+    }
+
+    record Or(Query left, Query right) implements Query {
+        @Override
+        public int[] evaluate(QueryIndex index) {
+            return QueryIndex.union(left.evaluate(index), right.evaluate(index));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " or " + right + ")";
+        }
+    }
+
+    record Not(Query query) implements Query {
+        @Override
+        public int[] evaluate(QueryIndex index) {
+            return index.complement(query.evaluate(index));
+        }
+
+        @Override
+        public String toString() {
+            return "not " + query;
+        }
+    }
+}
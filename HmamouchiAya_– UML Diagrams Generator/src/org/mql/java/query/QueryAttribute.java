@@ -0,0 +1,38 @@
+package org.mql.java.query;
+
+public enum QueryAttribute {
+    KIND("kind"),
+    NAME("name"),
+    PACKAGE("package"),
+    // implements and extends only match direct supertypes; subtypeOf and subclassOf follow the hierarchy
+    IMPLEMENTS("implements"),
+    EXTENDS("extends"),
+    SUBTYPE_OF("subtypeOf"),
+    SUBCLASS_OF("subclassOf"),
+    ANNOTATED("annotated"),
+    MEMBER_TYPE("memberType"),
+    MODIFIER("modifier"),
+    USES("uses"),
+    COMPOSITION("composition"),
+    AGGREGATION("aggregation"),
+    ASSOCIATION("association");
+
+    private final String keyword;
+
+    QueryAttribute(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public static QueryAttribute of(String keyword) {
+        for (QueryAttribute attribute : values()) {
+            if (attribute.keyword.equalsIgnoreCase(keyword)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+}
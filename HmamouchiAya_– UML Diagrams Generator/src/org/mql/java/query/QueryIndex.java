@@ -0,0 +1,269 @@
+package org.mql.java.query;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.Vector;
+
+import org.mql.java.index.ModelIndex;
+import org.mql.java.index.ModelIndex.IndexedType;
+import org.mql.java.models.AssociationAbout;
+import org.mql.java.models.ClassAbout;
+import org.mql.java.models.FieldAbout;
+import org.mql.java.models.InterfaceAbout;
+import org.mql.java.models.MethodAbout;
+
+public class QueryIndex {
+    private static final int[] NONE = new int[0];
+
+    private final ModelIndex index;
+    private final IndexedType[] types;
+    private final Map<QueryAttribute, NavigableMap<String, int[]>> postings = new EnumMap<>(QueryAttribute.class);
+
+    private QueryIndex(ModelIndex index, IndexedType[] types) {
+        this.index = index;
+        this.types = types;
+    }
+
+    public static QueryIndex of(ModelIndex index) {
+        List<IndexedType> types = index.getTypes();
+        QueryIndex queryIndex = new QueryIndex(index, types.toArray(new IndexedType[0]));
+        Map<QueryAttribute, Map<String, PostingList>> lists = new EnumMap<>(QueryAttribute.class);
+        for (QueryAttribute attribute : QueryAttribute.values()) {
+            lists.put(attribute, new HashMap<>());
+        }
+        for (int id = 0; id < queryIndex.types.length; id++) {
+            indexType(queryIndex.types[id], id, lists);
+            indexSupertypes(index, queryIndex.types[id], id, lists);
+        }
+        lists.forEach((attribute, keys) -> {
+            NavigableMap<String, int[]> sorted = new TreeMap<>();
+            keys.forEach((key, list) -> sorted.put(key, list.toArray()));
+            queryIndex.postings.put(attribute, sorted);
+        });
+        return queryIndex;
+    }
+
+    private static void indexType(IndexedType type, int id, Map<QueryAttribute, Map<String, PostingList>> lists) {
+        ClassAbout view = type.getClassView();
+        add(lists, QueryAttribute.KIND, type.getKind().name().toLowerCase(Locale.ROOT), id);
+        addName(lists, QueryAttribute.NAME, type.getQualifiedName(), id);
+        add(lists, QueryAttribute.PACKAGE, type.getPackageName(), id);
+        addName(lists, QueryAttribute.EXTENDS, view.getSuperClass(), id);
+        for (InterfaceAbout iface : view.getImplementedInterfaces()) {
+            addName(lists, QueryAttribute.IMPLEMENTS, iface.getName(), id);
+        }
+        for (String annotation : view.getAnnotations()) {
+            addName(lists, QueryAttribute.ANNOTATED, annotation, id);
+        }
+        if (view.getModifiers() != null) {
+            for (String modifier : view.getModifiers().split(" ")) {
+                add(lists, QueryAttribute.MODIFIER, modifier, id);
+            }
+        }
+        for (FieldAbout field : view.getFields()) {
+            addName(lists, QueryAttribute.MEMBER_TYPE, field.getFieldType(), id);
+        }
+        for (MethodAbout method : view.getMethods()) {
+            addName(lists, QueryAttribute.MEMBER_TYPE, method.getOutputType(), id);
+        }
+        for (AssociationAbout association : view.getAssociations()) {
+            QueryAttribute attribute = switch (association.getAssociationType()) {
+                case "Use" -> QueryAttribute.USES;
+                case "Composition" -> QueryAttribute.COMPOSITION;
+                case "Aggregation" -> QueryAttribute.AGGREGATION;
+                default -> null;
+            };
+            if (attribute != null) {
+                addName(lists, attribute, association.getTargetClass(), id);
+            }
+            addName(lists, QueryAttribute.ASSOCIATION, association.getTargetClass(), id);
+        }
+    }
+
+    // supertypes are expanded through the scanned types; a type outside the index ends its branch
+    private static void indexSupertypes(ModelIndex index, IndexedType type, int id,
+                                        Map<QueryAttribute, Map<String, PostingList>> lists) {
+        Set<String> superClasses = new HashSet<>();
+        for (String superClass = type.getClassView().getSuperClass(); superClass != null && superClasses.add(superClass); ) {
+            addName(lists, QueryAttribute.SUBCLASS_OF, superClass, id);
+            IndexedType indexed = index.get(superClass);
+            superClass = indexed != null ? indexed.getClassView().getSuperClass() : null;
+        }
+
+        Set<String> supertypes = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        addSupertypes(type.getClassView(), pending);
+        while (!pending.isEmpty()) {
+            String supertype = pending.poll();
+            if (supertypes.add(supertype)) {
+                addName(lists, QueryAttribute.SUBTYPE_OF, supertype, id);
+                IndexedType indexed = index.get(supertype);
+                if (indexed != null) {
+                    addSupertypes(indexed.getClassView(), pending);
+                }
+            }
+        }
+    }
+
+    private static void addSupertypes(ClassAbout view, Deque<String> pending) {
+        if (view.getSuperClass() != null) {
+            pending.add(view.getSuperClass());
+        }
+        for (InterfaceAbout iface : view.getImplementedInterfaces()) {
+            pending.add(iface.getName());
+        }
+    }
+
+    private static void addName(Map<QueryAttribute, Map<String, PostingList>> lists, QueryAttribute attribute,
+                                String qualifiedName, int id) {
+        if (qualifiedName == null || qualifiedName.isEmpty()) {
+            return;
+        }
+        add(lists, attribute, qualifiedName, id);
+        int separator = Math.max(qualifiedName.lastIndexOf('.'), qualifiedName.lastIndexOf('$'));
+        if (separator >= 0) {
+            add(lists, attribute, qualifiedName.substring(separator + 1), id);
+        }
+    }
+
+    private static void add(Map<QueryAttribute, Map<String, PostingList>> lists, QueryAttribute attribute, String key, int id) {
+        if (!key.isEmpty()) {
+            lists.get(attribute).computeIfAbsent(key, k -> new PostingList()).add(id);
+        }
+    }
+
+    public int size() {
+        return types.length;
+    }
+
+    public ModelIndex getIndex() {
+        return index;
+    }
+
+    public String nameOf(int id) {
+        return types[id].getQualifiedName();
+    }
+
+    public IndexedType typeOf(int id) {
+        return types[id];
+    }
+
+    public int[] postings(QueryAttribute attribute, String value) {
+        NavigableMap<String, int[]> keys = postings.get(attribute);
+        if (!value.endsWith("*")) {
+            return keys.getOrDefault(value, NONE);
+        }
+        String prefix = value.substring(0, value.length() - 1);
+        BitSet matches = new BitSet(types.length);
+        for (int[] ids : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (int id : ids) {
+                matches.set(id);
+            }
+        }
+        return matches.stream().toArray();
+    }
+
+    public List<String> find(String query) {
+        return find(Query.parse(query));
+    }
+
+    public List<String> find(Query query) {
+        List<String> names = new Vector<>();
+        for (int id : query.evaluate(this)) {
+            names.add(types[id].getQualifiedName());
+        }
+        return names;
+    }
+
+    public List<ClassAbout> select(String query) {
+        List<ClassAbout> views = new Vector<>();
+        for (int id : Query.parse(query).evaluate(this)) {
+            views.add(types[id].getClassView());
+        }
+        return views;
+    }
+
+    int[] complement(int[] ids) {
+        int[] result = new int[types.length - ids.length];
+        int count = 0;
+        int next = 0;
+        for (int id = 0; id < types.length; id++) {
+            if (next < ids.length && ids[next] == id) {
+                next++;
+            } else {
+                result[count++] = id;
+            }
+        }
+        return result;
+    }
+
+    static int[] intersect(int[] first, int[] second) {
+        if (first.length > second.length) {
+            int[] swap = first;
+            first = second;
+            second = swap;
+        }
+        int[] result = new int[first.length];
+        int count = 0;
+        int from = 0;
+        for (int id : first) {
+            int found = Arrays.binarySearch(second, from, second.length, id);
+            if (found >= 0) {
+                result[count++] = id;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+            if (from == second.length) break;
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    static int[] union(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        int i = 0, j = 0, count = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                result[count++] = first[i++];
+            } else if (first[i] > second[j]) {
+                result[count++] = second[j++];
+            } else {
+                result[count++] = first[i++];
+                j++;
+            }
+        }
+        while (i < first.length) result[count++] = first[i++];
+        while (j < second.length) result[count++] = second[j++];
+        return Arrays.copyOf(result, count);
+    }
+
+    private static class PostingList {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.mql.java.query;
+
+class QueryParser {
+    private final String text;
+    private int position;
+
+    QueryParser(String text) {
+        this.text = text;
+    }
+
+    Query parse() {
+        Query query = parseOr();
+        skipWhitespace();
+        if (position < text.length()) {
+            throw error("Unexpected '" + text.charAt(position) + "'");
+        }
+        return query;
+    }
+
+    private Query parseOr() {
+        Query query = parseAnd();
+        while (acceptKeyword("or")) {
+            query = new Query.Or(query, parseAnd());
+        }
+        return query;
+    }
+
+    private Query parseAnd() {
+        Query query = parseUnary();
+        while (true) {
+            if (acceptKeyword("and")) {
+                query = new Query.And(query, parseUnary());
+            } else if (startsTerm()) {
+                query = new Query.And(query, parseUnary());
+            } else {
+                return query;
+            }
+        }
+    }
+
+    private Query parseUnary() {
+        if (acceptKeyword("not")) {
+            return new Query.Not(parseUnary());
+        }
+        if (accept('(')) {
+            Query query = parseOr();
+            if (!accept(')')) {
+                throw error("Expected ')'");
+            }
+            return query;
+        }
+        return parseTerm();
+    }
+
+    private Query parseTerm() {
+        int start = skipWhitespace();
+        String keyword = readWord();
+        if (keyword.isEmpty()) {
+            throw error("Expected a query term");
+        }
+        QueryAttribute attribute = QueryAttribute.of(keyword);
+        if (attribute == null) {
+            position = start;
+            throw error("Unknown query attribute '" + keyword + "'");
+        }
+        if (!accept(':')) {
+            throw error("Expected ':' after '" + keyword + "'");
+        }
+        String value = readValue();
+        if (value.isEmpty()) {
+            throw error("Expected a value for '" + keyword + "'");
+        }
+        return new Query.Term(attribute, value);
+    }
+
+    private boolean startsTerm() {
+        skipWhitespace();
+        return position < text.length() && text.charAt(position) != ')' && !peekKeyword("or");
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (peekKeyword(keyword)) {
+            position += keyword.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean peekKeyword(String keyword) {
+        skipWhitespace();
+        int end = position + keyword.length();
+        return text.regionMatches(true, position, keyword, 0, keyword.length())
+            && (end == text.length() || !isWordChar(text.charAt(end)));
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private String readValue() {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == '"') {
+            int end = text.indexOf('"', position + 1);
+            if (end < 0) {
+                throw error("Unterminated string");
+            }
+            String value = text.substring(position + 1, end);
+            position = end + 1;
+            return value;
+        }
+        return readWord();
+    }
+
+    private String readWord() {
+        int start = position;
+        while (position < text.length() && isWordChar(text.charAt(position))) {
+            position++;
+        }
+        return text.substring(start, position);
+    }
+
+    private int skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWordChar(char c) {
+        return !Character.isWhitespace(c) && c != '(' && c != ')' && c != ':' && c != '"';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in query: " + text);
+    }
+}
@@ -0,0 +1,369 @@
+package org.mql.java.snapshot;
+
+import java.io.IOException;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+import org.mql.java.index.ModelIndex.Kind;
+import org.mql.java.models.*;
+import org.mql.java.xml.StreamingXMLGenerator;
+import org.mql.java.xml.StreamingXMLParser;
+
+public class ModelSnapshot {
+    private static final Kind[] KINDS = Kind.values();
+    private static final RetentionPolicy[] POLICIES = RetentionPolicy.values();
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int symbolCount;
+    private final int symbolOffsets;
+    private final int symbolData;
+    private final int packageCount;
+    private final int packages;
+    private final int typeCount;
+    private final int types;
+    private final int index;
+    private final int fields;
+    private final int methods;
+    private final int edges;
+    private final int refs;
+
+    private ModelSnapshot(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < SnapshotLayout.HEADER_INTS * 4 || header(SnapshotLayout.HEADER_MAGIC) != SnapshotLayout.MAGIC) {
+            throw new IOException(file + " is not a model snapshot");
+        }
+        if (header(SnapshotLayout.HEADER_VERSION) != SnapshotLayout.VERSION) {
+            throw new IOException("Unsupported snapshot version " + header(SnapshotLayout.HEADER_VERSION) + " in " + file);
+        }
+        symbolCount = header(SnapshotLayout.HEADER_SYMBOL_COUNT);
+        symbolOffsets = header(SnapshotLayout.HEADER_SYMBOL_OFFSETS);
+        symbolData = header(SnapshotLayout.HEADER_SYMBOL_DATA);
+        packageCount = header(SnapshotLayout.HEADER_PACKAGE_COUNT);
+        packages = header(SnapshotLayout.HEADER_PACKAGES);
+        typeCount = header(SnapshotLayout.HEADER_TYPE_COUNT);
+        types = header(SnapshotLayout.HEADER_TYPES);
+        index = header(SnapshotLayout.HEADER_INDEX);
+        fields = header(SnapshotLayout.HEADER_FIELDS);
+        methods = header(SnapshotLayout.HEADER_METHODS);
+        edges = header(SnapshotLayout.HEADER_EDGES);
+        refs = header(SnapshotLayout.HEADER_REFS);
+    }
+
+    public static void write(PackageAbout rootPackage, Path file) throws IOException {
+        new SnapshotWriter().write(rootPackage, file);
+    }
+
+    // only the header is read here; records are paged in by the OS as lookups touch them
+    public static ModelSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large to map");
+            }
+            return new ModelSnapshot(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static ModelSnapshot importXML(Path xmlFile, Path snapshotFile) throws IOException {
+        write(new StreamingXMLParser(xmlFile).parse(), snapshotFile);
+        return open(snapshotFile);
+    }
+
+    public void exportXML(Path xmlFile) throws IOException {
+        StreamingXMLGenerator.write(getRoot(), xmlFile);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return typeCount;
+    }
+
+    public int getPackageCount() {
+        return packageCount;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public PackageAbout getRoot() {
+        return toPackage(0);
+    }
+
+    public PackageAbout getPackage(String qualifiedName) {
+        byte[] key = qualifiedName.getBytes(StandardCharsets.UTF_8);
+        for (int id = 0; id < packageCount; id++) {
+            if (compare(packageInt(id, SnapshotLayout.PACKAGE_QUALIFIED_NAME), key) == 0) {
+                return toPackage(id);
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(String qualifiedName) {
+        return find(qualifiedName) >= 0;
+    }
+
+    public Object getModel(String qualifiedName) {
+        int type = find(qualifiedName);
+        return type < 0 ? null : model(type);
+    }
+
+    public List<String> getTypeNames() {
+        List<String> names = new Vector<>();
+        for (int i = 0; i < typeCount; i++) {
+            names.add(symbol(buffer.getInt(index + i * SnapshotLayout.INDEX_INTS * 4)));
+        }
+        return names;
+    }
+
+    private int find(String qualifiedName) {
+        byte[] key = qualifiedName.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = typeCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = index + middle * SnapshotLayout.INDEX_INTS * 4;
+            int comparison = compare(buffer.getInt(entry), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return buffer.getInt(entry + 4);
+            }
+        }
+        return -1;
+    }
+
+    private int compare(int symbol, byte[] key) {
+        int start = symbolData + buffer.getInt(symbolOffsets + symbol * 4);
+        int length = symbolData + buffer.getInt(symbolOffsets + symbol * 4 + 4) - start;
+        for (int i = 0; i < Math.min(length, key.length); i++) {
+            int comparison = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    String symbol(int id) {
+        if (id < 0) {
+            return null;
+        }
+        int start = buffer.getInt(symbolOffsets + id * 4);
+        byte[] bytes = new byte[buffer.getInt(symbolOffsets + id * 4 + 4) - start];
+        buffer.get(symbolData + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private PackageAbout toPackage(int id) {
+        PackageAbout packageAbout = new PackageAbout(symbol(packageInt(id, SnapshotLayout.PACKAGE_QUALIFIED_NAME)));
+        packageAbout.setPackageName(symbol(packageInt(id, SnapshotLayout.PACKAGE_NAME)));
+        packageAbout.setTypeCount(packageInt(id, SnapshotLayout.PACKAGE_TYPE_COUNT));
+        packageAbout.setPackageCount(packageInt(id, SnapshotLayout.PACKAGE_PACKAGE_COUNT));
+        if (packageInt(id, SnapshotLayout.PACKAGE_METRICS) >= 0) {
+            packageAbout.setMetrics(new PackageMetrics(packageInt(id, SnapshotLayout.PACKAGE_METRICS),
+                    packageInt(id, SnapshotLayout.PACKAGE_METRICS + 1), packageInt(id, SnapshotLayout.PACKAGE_METRICS + 2),
+                    packageInt(id, SnapshotLayout.PACKAGE_METRICS + 3)));
+        }
+        packageAbout.setLoader(loaded -> loadPackage(loaded, id));
+        return packageAbout;
+    }
+
+    private void loadPackage(PackageAbout packageAbout, int id) {
+        int type = packageInt(id, SnapshotLayout.PACKAGE_TYPES);
+        List<ClassAbout> classes = new Vector<>();
+        for (int end = type + packageInt(id, SnapshotLayout.PACKAGE_CLASS_COUNT); type < end; type++) {
+            classes.add(classAbout(type));
+        }
+        List<InterfaceAbout> interfaces = new Vector<>();
+        for (int end = type + packageInt(id, SnapshotLayout.PACKAGE_INTERFACE_COUNT); type < end; type++) {
+            interfaces.add(interfaceAbout(type));
+        }
+        List<EnumAbout> enums = new Vector<>();
+        for (int end = type + packageInt(id, SnapshotLayout.PACKAGE_ENUM_COUNT); type < end; type++) {
+            enums.add(enumAbout(type));
+        }
+        List<AnnotationAbout> annotations = new Vector<>();
+        for (int end = type + packageInt(id, SnapshotLayout.PACKAGE_ANNOTATION_COUNT); type < end; type++) {
+            annotations.add(annotationAbout(type));
+        }
+        packageAbout.setClasses(classes);
+        packageAbout.setInterfaces(interfaces);
+        packageAbout.setEnums(enums);
+        packageAbout.setAnnotations(annotations);
+
+        List<PackageAbout> subPackages = new ArrayList<>();
+        int children = packageInt(id, SnapshotLayout.PACKAGE_CHILDREN);
+        for (int i = 0; i < packageInt(id, SnapshotLayout.PACKAGE_CHILDREN + 1); i++) {
+            subPackages.add(toPackage(ref(children + i)));
+        }
+        packageAbout.setPackages(subPackages);
+    }
+
+    private Object model(int type) {
+        return switch (KINDS[SnapshotLayout.kind(typeInt(type, SnapshotLayout.TYPE_HEADER))]) {
+            case CLASS -> classAbout(type);
+            case INTERFACE -> interfaceAbout(type);
+            case ENUM -> enumAbout(type);
+            case ANNOTATION -> annotationAbout(type);
+        };
+    }
+
+    private ClassAbout classAbout(int type) {
+        ClassAbout classAbout = new ClassAbout();
+        classAbout.setName(symbol(typeInt(type, SnapshotLayout.TYPE_NAME)));
+        classAbout.setSimpleName(symbol(typeInt(type, SnapshotLayout.TYPE_SIMPLE_NAME)));
+        classAbout.setModifiers(symbol(typeInt(type, SnapshotLayout.TYPE_MODIFIERS)));
+        classAbout.setSuperClass(symbol(typeInt(type, SnapshotLayout.TYPE_SUPER_CLASS)));
+        classAbout.setFields(fields(type));
+        classAbout.setMethods(methods(type));
+
+        List<AssociationAbout> associations = associations(type);
+        classAbout.setAssociations(associations);
+        classAbout.setDependencyAssociations(associationsOfType(associations, "Use"));
+        classAbout.setCompositionAssociations(associationsOfType(associations, "Composition"));
+        classAbout.setAggregationAssociations(associationsOfType(associations, "Aggregation"));
+
+        List<InterfaceAbout> interfaces = new Vector<>();
+        int start = typeInt(type, SnapshotLayout.TYPE_INTERFACES);
+        for (int i = 0; i < typeInt(type, SnapshotLayout.TYPE_INTERFACES + 1); i++) {
+            InterfaceAbout iface = new InterfaceAbout();
+            iface.setName(symbol(ref(start + i * 2)));
+            iface.setSimpleName(symbol(ref(start + i * 2 + 1)));
+            interfaces.add(iface);
+        }
+        classAbout.setImplementedInterfaces(interfaces);
+        classAbout.setAnnotations(symbols(type, SnapshotLayout.TYPE_ANNOTATIONS));
+        if (typeInt(type, SnapshotLayout.TYPE_FAN_IN) >= 0) {
+            classAbout.setMetrics(new ClassMetrics(typeInt(type, SnapshotLayout.TYPE_FAN_IN), typeInt(type, SnapshotLayout.TYPE_FAN_OUT)));
+        }
+        return classAbout;
+    }
+
+    private InterfaceAbout interfaceAbout(int type) {
+        InterfaceAbout interfaceAbout = new InterfaceAbout();
+        interfaceAbout.setName(symbol(typeInt(type, SnapshotLayout.TYPE_NAME)));
+        interfaceAbout.setSimpleName(symbol(typeInt(type, SnapshotLayout.TYPE_SIMPLE_NAME)));
+        interfaceAbout.setModifiers(symbol(typeInt(type, SnapshotLayout.TYPE_MODIFIERS)));
+        interfaceAbout.setSuperClass(symbol(typeInt(type, SnapshotLayout.TYPE_SUPER_CLASS)));
+        interfaceAbout.setFields(fields(type));
+        interfaceAbout.setMethods(methods(type));
+        return interfaceAbout;
+    }
+
+    private EnumAbout enumAbout(int type) {
+        return new EnumAbout(symbol(typeInt(type, SnapshotLayout.TYPE_NAME)), symbol(typeInt(type, SnapshotLayout.TYPE_SIMPLE_NAME)),
+                symbols(type, SnapshotLayout.TYPE_VALUES));
+    }
+
+    private AnnotationAbout annotationAbout(int type) {
+        int header = typeInt(type, SnapshotLayout.TYPE_HEADER);
+        int policy = SnapshotLayout.policy(header);
+        Map<String, String> properties = new LinkedHashMap<>();
+        int start = typeInt(type, SnapshotLayout.TYPE_VALUES);
+        for (int i = 0; i < typeInt(type, SnapshotLayout.TYPE_VALUES + 1); i++) {
+            properties.put(symbol(ref(start + i * 2)), symbol(ref(start + i * 2 + 1)));
+        }
+        return new AnnotationAbout(symbol(typeInt(type, SnapshotLayout.TYPE_SIMPLE_NAME)),
+                policy == 0 ? null : POLICIES[policy - 1], SnapshotLayout.inherited(header), properties);
+    }
+
+    private List<FieldAbout> fields(int type) {
+        List<FieldAbout> typeFields = new Vector<>();
+        int start = typeInt(type, SnapshotLayout.TYPE_FIELDS);
+        for (int i = 0; i < typeInt(type, SnapshotLayout.TYPE_FIELDS + 1); i++) {
+            int record = fields + (start + i) * SnapshotLayout.FIELD_INTS * 4;
+            int modifier = buffer.getInt(record + 20);
+            FieldAbout field = new FieldAbout();
+            field.setFieldName(symbol(buffer.getInt(record)));
+            field.setFieldType(symbol(buffer.getInt(record + 4)));
+            field.setGenericTypeName(symbol(buffer.getInt(record + 8)));
+            field.setSimpleTypeName(symbol(buffer.getInt(record + 12)));
+            field.setModifiers(buffer.getInt(record + 16));
+            field.setModifier((char) (modifier >>> 8));
+            field.setUserDefined((modifier & 1) != 0);
+            field.setList((modifier & 2) != 0);
+            typeFields.add(field);
+        }
+        return typeFields;
+    }
+
+    private List<MethodAbout> methods(int type) {
+        List<MethodAbout> typeMethods = new Vector<>();
+        int start = typeInt(type, SnapshotLayout.TYPE_METHODS);
+        for (int i = 0; i < typeInt(type, SnapshotLayout.TYPE_METHODS + 1); i++) {
+            int record = methods + (start + i) * SnapshotLayout.METHOD_INTS * 4;
+            MethodAbout method = new MethodAbout();
+            method.setMethodName(symbol(buffer.getInt(record)));
+            method.setOutputType(symbol(buffer.getInt(record + 4)));
+            method.setArguments(symbol(buffer.getInt(record + 8)));
+            method.setModifier((char) buffer.getInt(record + 12));
+            typeMethods.add(method);
+        }
+        return typeMethods;
+    }
+
+    private List<AssociationAbout> associations(int type) {
+        List<AssociationAbout> associations = new Vector<>();
+        int start = typeInt(type, SnapshotLayout.TYPE_EDGES);
+        for (int i = 0; i < typeInt(type, SnapshotLayout.TYPE_EDGES + 1); i++) {
+            int record = edges + (start + i) * SnapshotLayout.EDGE_INTS * 4;
+            AssociationAbout association = new AssociationAbout(symbol(buffer.getInt(record)), symbol(buffer.getInt(record + 4)),
+                    symbol(buffer.getInt(record + 8)));
+            association.setUpperBound(symbol(buffer.getInt(record + 12)));
+            associations.add(association);
+        }
+        return associations;
+    }
+
+    private static List<AssociationAbout> associationsOfType(List<AssociationAbout> associations, String associationType) {
+        List<AssociationAbout> matching = new Vector<>();
+        for (AssociationAbout association : associations) {
+            if (associationType.equals(association.getAssociationType())) {
+                matching.add(association);
+            }
+        }
+        return matching;
+    }
+
+    private List<String> symbols(int type, int slot) {
+        List<String> values = new Vector<>();
+        int start = typeInt(type, slot);
+        for (int i = 0; i < typeInt(type, slot + 1); i++) {
+            values.add(symbol(ref(start + i)));
+        }
+        return values;
+    }
+
+    private int header(int slot) {
+        return buffer.getInt(slot * 4);
+    }
+
+    private int packageInt(int id, int slot) {
+        return buffer.getInt(packages + (id * SnapshotLayout.PACKAGE_INTS + slot) * 4);
+    }
+
+    private int typeInt(int type, int slot) {
+        return buffer.getInt(types + (type * SnapshotLayout.TYPE_INTS + slot) * 4);
+    }
+
+    private int ref(int position) {
+        return buffer.getInt(refs + position * 4);
+    }
+}
@@ -0,0 +1,80 @@
+package org.mql.java.snapshot;
+
+// every record is a run of big-endian ints; ranges are (first record, count) pairs and symbols are
+// string table ids with -1 for null
+final class SnapshotLayout {
+    static final int MAGIC = 0x554D4C53;
+    static final int VERSION = 1;
+
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 1;
+    static final int HEADER_SYMBOL_COUNT = 2;
+    static final int HEADER_SYMBOL_OFFSETS = 3;
+    static final int HEADER_SYMBOL_DATA = 4;
+    static final int HEADER_PACKAGE_COUNT = 5;
+    static final int HEADER_PACKAGES = 6;
+    static final int HEADER_TYPE_COUNT = 7;
+    static final int HEADER_TYPES = 8;
+    static final int HEADER_INDEX = 9;
+    static final int HEADER_FIELDS = 10;
+    static final int HEADER_METHODS = 11;
+    static final int HEADER_EDGES = 12;
+    static final int HEADER_REFS = 13;
+    static final int HEADER_INTS = 16;
+
+    static final int PACKAGE_NAME = 0;
+    static final int PACKAGE_QUALIFIED_NAME = 1;
+    static final int PACKAGE_PARENT = 2;
+    static final int PACKAGE_CHILDREN = 3;
+    static final int PACKAGE_TYPES = 5;
+    static final int PACKAGE_CLASS_COUNT = 6;
+    static final int PACKAGE_INTERFACE_COUNT = 7;
+    static final int PACKAGE_ENUM_COUNT = 8;
+    static final int PACKAGE_ANNOTATION_COUNT = 9;
+    static final int PACKAGE_TYPE_COUNT = 10;
+    static final int PACKAGE_PACKAGE_COUNT = 11;
+    static final int PACKAGE_METRICS = 12;
+    static final int PACKAGE_INTS = 16;
+
+    static final int TYPE_HEADER = 0;
+    static final int TYPE_PACKAGE = 1;
+    static final int TYPE_NAME = 2;
+    static final int TYPE_SIMPLE_NAME = 3;
+    static final int TYPE_MODIFIERS = 4;
+    static final int TYPE_SUPER_CLASS = 5;
+    static final int TYPE_FIELDS = 6;
+    static final int TYPE_METHODS = 8;
+    static final int TYPE_EDGES = 10;
+    static final int TYPE_INTERFACES = 12;
+    static final int TYPE_ANNOTATIONS = 14;
+    static final int TYPE_VALUES = 16;
+    static final int TYPE_FAN_IN = 18;
+    static final int TYPE_FAN_OUT = 19;
+    static final int TYPE_INTS = 20;
+
+    static final int INDEX_INTS = 2;
+    static final int FIELD_INTS = 6;
+    static final int METHOD_INTS = 4;
+    static final int EDGE_INTS = 4;
+
+    static final int INHERITED = 1 << 16;
+
+    private SnapshotLayout() {
+    }
+
+    static int header(int kind, int policy, boolean inherited) {
+        return kind | policy << 8 | (inherited ? INHERITED : 0);
+    }
+
+    static int kind(int header) {
+        return header & 0xff;
+    }
+
+    static int policy(int header) {
+        return header >>> 8 & 0xff;
+    }
+
+    static boolean inherited(int header) {
+        return (header & INHERITED) != 0;
+    }
+}
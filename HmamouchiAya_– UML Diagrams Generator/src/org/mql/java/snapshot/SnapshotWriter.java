@@ -0,0 +1,323 @@
+package org.mql.java.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.mql.java.compact.SymbolTable;
+import org.mql.java.index.ModelIndex.Kind;
+import org.mql.java.models.*;
+
+final class SnapshotWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final SymbolTable symbols = new SymbolTable();
+    private final Records packages = new Records(SnapshotLayout.PACKAGE_INTS);
+    private final Records types = new Records(SnapshotLayout.TYPE_INTS);
+    private final Records fields = new Records(SnapshotLayout.FIELD_INTS);
+    private final Records methods = new Records(SnapshotLayout.METHOD_INTS);
+    private final Records edges = new Records(SnapshotLayout.EDGE_INTS);
+    private final Records refs = new Records(1);
+
+    void write(PackageAbout root, Path file) throws IOException {
+        writePackage(root, packages.reserve(), -1);
+
+        String[] strings = symbols.toArray();
+        byte[][] encoded = new byte[strings.length][];
+        long dataSize = 0;
+        for (int i = 0; i < strings.length; i++) {
+            encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            dataSize += encoded[i].length;
+        }
+        int[] index = sortedIndex(encoded);
+
+        long symbolOffsets = SnapshotLayout.HEADER_INTS * 4L;
+        long symbolData = symbolOffsets + (strings.length + 1) * 4L;
+        long packagesStart = align(symbolData + dataSize);
+        long typesStart = packagesStart + packages.bytes();
+        long indexStart = typesStart + types.bytes();
+        long fieldsStart = indexStart + index.length * 4L;
+        long methodsStart = fieldsStart + fields.bytes();
+        long edgesStart = methodsStart + methods.bytes();
+        long refsStart = edgesStart + edges.bytes();
+        long size = refsStart + refs.bytes();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Model is too large for a snapshot: " + size + " bytes");
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            int[] fileHeader = new int[SnapshotLayout.HEADER_INTS];
+            fileHeader[SnapshotLayout.HEADER_MAGIC] = SnapshotLayout.MAGIC;
+            fileHeader[SnapshotLayout.HEADER_VERSION] = SnapshotLayout.VERSION;
+            fileHeader[SnapshotLayout.HEADER_SYMBOL_COUNT] = strings.length;
+            fileHeader[SnapshotLayout.HEADER_SYMBOL_OFFSETS] = (int) symbolOffsets;
+            fileHeader[SnapshotLayout.HEADER_SYMBOL_DATA] = (int) symbolData;
+            fileHeader[SnapshotLayout.HEADER_PACKAGE_COUNT] = packages.count();
+            fileHeader[SnapshotLayout.HEADER_PACKAGES] = (int) packagesStart;
+            fileHeader[SnapshotLayout.HEADER_TYPE_COUNT] = types.count();
+            fileHeader[SnapshotLayout.HEADER_TYPES] = (int) typesStart;
+            fileHeader[SnapshotLayout.HEADER_INDEX] = (int) indexStart;
+            fileHeader[SnapshotLayout.HEADER_FIELDS] = (int) fieldsStart;
+            fileHeader[SnapshotLayout.HEADER_METHODS] = (int) methodsStart;
+            fileHeader[SnapshotLayout.HEADER_EDGES] = (int) edgesStart;
+            fileHeader[SnapshotLayout.HEADER_REFS] = (int) refsStart;
+            writeInts(out, fileHeader, fileHeader.length);
+
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+            for (long padding = packagesStart - (symbolData + dataSize); padding > 0; padding--) {
+                out.write(0);
+            }
+            packages.writeTo(out);
+            types.writeTo(out);
+            writeInts(out, index, index.length);
+            fields.writeTo(out);
+            methods.writeTo(out);
+            edges.writeTo(out);
+            refs.writeTo(out);
+        }
+    }
+
+    private void writePackage(PackageAbout packageAbout, int id, int parent) {
+        boolean wasLoaded = packageAbout.isLoaded();
+        String qualifiedName = packageAbout.getQualifiedName();
+        List<ClassAbout> classes = new ArrayList<>(packageAbout.getClasses());
+        List<InterfaceAbout> interfaces = new ArrayList<>(packageAbout.getInterfaces());
+        List<EnumAbout> enums = new ArrayList<>(packageAbout.getEnums());
+        List<AnnotationAbout> annotations = new ArrayList<>(packageAbout.getAnnotations());
+        List<PackageAbout> subPackages = packageAbout.getPackages() != null
+                ? new ArrayList<>(packageAbout.getPackages()) : List.of();
+
+        int typesStart = types.count();
+        for (ClassAbout classAbout : classes) {
+            addClass(classAbout, id);
+        }
+        for (InterfaceAbout interfaceAbout : interfaces) {
+            addInterface(interfaceAbout, id);
+        }
+        for (EnumAbout enumAbout : enums) {
+            addEnum(enumAbout, id);
+        }
+        for (AnnotationAbout annotationAbout : annotations) {
+            addAnnotation(annotationAbout, qualifiedName, id);
+        }
+        if (!wasLoaded) {
+            packageAbout.collapse();
+        }
+
+        int childrenStart = refs.count();
+        int[] children = new int[subPackages.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = packages.reserve();
+            refs.add(children[i]);
+        }
+
+        PackageMetrics metrics = packageAbout.getMetrics();
+        packages.set(id, SnapshotLayout.PACKAGE_NAME, symbols.intern(packageAbout.getPackageName()));
+        packages.set(id, SnapshotLayout.PACKAGE_QUALIFIED_NAME, symbols.intern(qualifiedName));
+        packages.set(id, SnapshotLayout.PACKAGE_PARENT, parent);
+        packages.set(id, SnapshotLayout.PACKAGE_CHILDREN, childrenStart);
+        packages.set(id, SnapshotLayout.PACKAGE_CHILDREN + 1, children.length);
+        packages.set(id, SnapshotLayout.PACKAGE_TYPES, typesStart);
+        packages.set(id, SnapshotLayout.PACKAGE_CLASS_COUNT, classes.size());
+        packages.set(id, SnapshotLayout.PACKAGE_INTERFACE_COUNT, interfaces.size());
+        packages.set(id, SnapshotLayout.PACKAGE_ENUM_COUNT, enums.size());
+        packages.set(id, SnapshotLayout.PACKAGE_ANNOTATION_COUNT, annotations.size());
+        packages.set(id, SnapshotLayout.PACKAGE_TYPE_COUNT, packageAbout.getTypeCount());
+        packages.set(id, SnapshotLayout.PACKAGE_PACKAGE_COUNT, packageAbout.getPackageCount());
+        packages.set(id, SnapshotLayout.PACKAGE_METRICS, metrics != null ? metrics.typeCount() : -1);
+        packages.set(id, SnapshotLayout.PACKAGE_METRICS + 1, metrics != null ? metrics.abstractCount() : 0);
+        packages.set(id, SnapshotLayout.PACKAGE_METRICS + 2, metrics != null ? metrics.afferentCoupling() : 0);
+        packages.set(id, SnapshotLayout.PACKAGE_METRICS + 3, metrics != null ? metrics.efferentCoupling() : 0);
+
+        for (int i = 0; i < children.length; i++) {
+            writePackage(subPackages.get(i), children[i], id);
+        }
+    }
+
+    private void addClass(ClassAbout classAbout, int packageId) {
+        int type = addType(SnapshotLayout.header(Kind.CLASS.ordinal(), 0, false), packageId, classAbout.getName(), classAbout.getSimpleName(),
+                classAbout.getModifiers(), classAbout.getSuperClass());
+        addMembers(type, classAbout.getFields(), classAbout.getMethods());
+
+        types.set(type, SnapshotLayout.TYPE_EDGES, edges.count());
+        for (AssociationAbout association : classAbout.getAssociations()) {
+            edges.add(symbols.intern(association.getSourceClass()), symbols.intern(association.getTargetClass()),
+                    symbols.intern(association.getAssociationType()), symbols.intern(association.getUpperBound()));
+        }
+        types.set(type, SnapshotLayout.TYPE_EDGES + 1, classAbout.getAssociations().size());
+
+        types.set(type, SnapshotLayout.TYPE_INTERFACES, refs.count());
+        for (InterfaceAbout iface : classAbout.getImplementedInterfaces()) {
+            refs.add(symbols.intern(iface.getName()));
+            refs.add(symbols.intern(iface.getSimpleName()));
+        }
+        types.set(type, SnapshotLayout.TYPE_INTERFACES + 1, classAbout.getImplementedInterfaces().size());
+
+        setRange(type, SnapshotLayout.TYPE_ANNOTATIONS, classAbout.getAnnotations());
+        ClassMetrics metrics = classAbout.getMetrics();
+        types.set(type, SnapshotLayout.TYPE_FAN_IN, metrics != null ? metrics.fanIn() : -1);
+        types.set(type, SnapshotLayout.TYPE_FAN_OUT, metrics != null ? metrics.fanOut() : -1);
+    }
+
+    private void addInterface(InterfaceAbout interfaceAbout, int packageId) {
+        int type = addType(SnapshotLayout.header(Kind.INTERFACE.ordinal(), 0, false), packageId, interfaceAbout.getName(),
+                interfaceAbout.getSimpleName(), interfaceAbout.getModifiers(), interfaceAbout.superClass());
+        addMembers(type, interfaceAbout.getFields(), interfaceAbout.getMethods());
+    }
+
+    private void addEnum(EnumAbout enumAbout, int packageId) {
+        int type = addType(SnapshotLayout.header(Kind.ENUM.ordinal(), 0, false), packageId, enumAbout.getQualifiedName(),
+                enumAbout.getSimpleName(), null, null);
+        setRange(type, SnapshotLayout.TYPE_VALUES, enumAbout.getFields());
+    }
+
+    private void addAnnotation(AnnotationAbout annotationAbout, String packageName, int packageId) {
+        String simpleName = annotationAbout.getAnnotationName();
+        RetentionPolicy policy = annotationAbout.getPolicy();
+        int type = addType(SnapshotLayout.header(Kind.ANNOTATION.ordinal(), policy != null ? policy.ordinal() + 1 : 0,
+                annotationAbout.inheritanceStatus()), packageId,
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, simpleName, null, null);
+        types.set(type, SnapshotLayout.TYPE_VALUES, refs.count());
+        for (Map.Entry<String, String> property : annotationAbout.getMethodProperties().entrySet()) {
+            refs.add(symbols.intern(property.getKey()));
+            refs.add(symbols.intern(property.getValue()));
+        }
+        types.set(type, SnapshotLayout.TYPE_VALUES + 1, annotationAbout.getMethodProperties().size());
+    }
+
+    private int addType(int header, int packageId, String name, String simpleName, String modifiers, String superClass) {
+        int type = types.reserve();
+        types.set(type, SnapshotLayout.TYPE_HEADER, header);
+        types.set(type, SnapshotLayout.TYPE_PACKAGE, packageId);
+        types.set(type, SnapshotLayout.TYPE_NAME, symbols.intern(name));
+        types.set(type, SnapshotLayout.TYPE_SIMPLE_NAME, symbols.intern(simpleName));
+        types.set(type, SnapshotLayout.TYPE_MODIFIERS, symbols.intern(modifiers));
+        types.set(type, SnapshotLayout.TYPE_SUPER_CLASS, symbols.intern(superClass));
+        types.set(type, SnapshotLayout.TYPE_FAN_IN, -1);
+        types.set(type, SnapshotLayout.TYPE_FAN_OUT, -1);
+        return type;
+    }
+
+    private void addMembers(int type, List<FieldAbout> typeFields, List<MethodAbout> typeMethods) {
+        types.set(type, SnapshotLayout.TYPE_FIELDS, fields.count());
+        types.set(type, SnapshotLayout.TYPE_FIELDS + 1, typeFields.size());
+        for (FieldAbout field : typeFields) {
+            int flags = (field.isUserDefined() ? 1 : 0) | (field.isList() ? 2 : 0);
+            fields.add(symbols.intern(field.getFieldName()), symbols.intern(field.getFieldType()),
+                    symbols.intern(field.getGenericTypeName()), symbols.intern(field.getSimpleTypeName()),
+                    field.getModifiers(), field.getModifier() << 8 | flags);
+        }
+        types.set(type, SnapshotLayout.TYPE_METHODS, methods.count());
+        types.set(type, SnapshotLayout.TYPE_METHODS + 1, typeMethods.size());
+        for (MethodAbout method : typeMethods) {
+            methods.add(symbols.intern(method.getMethodName()), symbols.intern(method.getOutputType()),
+                    symbols.intern(method.getArguments()), method.getModifer());
+        }
+    }
+
+    private void setRange(int type, int slot, List<String> values) {
+        types.set(type, slot, refs.count());
+        for (String value : values) {
+            refs.add(symbols.intern(value));
+        }
+        types.set(type, slot + 1, values.size());
+    }
+
+    // entries are ordered by the UTF-8 bytes of the qualified name so lookups never decode a string
+    private int[] sortedIndex(byte[][] encoded) {
+        Integer[] order = new Integer[types.count()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Arrays.compareUnsigned(
+                encoded[types.get(first, SnapshotLayout.TYPE_NAME)], encoded[types.get(second, SnapshotLayout.TYPE_NAME)]));
+        int[] index = new int[order.length * SnapshotLayout.INDEX_INTS];
+        for (int i = 0; i < order.length; i++) {
+            index[i * SnapshotLayout.INDEX_INTS] = types.get(order[i], SnapshotLayout.TYPE_NAME);
+            index[i * SnapshotLayout.INDEX_INTS + 1] = order[i];
+        }
+        return index;
+    }
+
+    private static long align(long position) {
+        return (position + 3) & ~3L;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    private static class Records {
+        private final int width;
+        private int[] data = new int[64];
+        private int size;
+
+        Records(int width) {
+            this.width = width;
+        }
+
+        int reserve() {
+            ensureCapacity(size + width);
+            size += width;
+            return size / width - 1;
+        }
+
+        void add(int... values) {
+            ensureCapacity(size + values.length);
+            System.arraycopy(values, 0, data, size, values.length);
+            size += values.length;
+        }
+
+        void set(int record, int slot, int value) {
+            data[record * width + slot] = value;
+        }
+
+        int get(int record, int slot) {
+            return data[record * width + slot];
+        }
+
+        int count() {
+            return size / width;
+        }
+
+        long bytes() {
+            return size * 4L;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            writeInts(out, data, size);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > data.length) {
+                data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+            }
+        }
+    }
+}
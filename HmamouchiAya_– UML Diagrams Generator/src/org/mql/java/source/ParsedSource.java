@@ -0,0 +1,34 @@
+package org.mql.java.source;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import com.sun.source.tree.CompilationUnitTree;
+
+public class ParsedSource {
+    private final Path path;
+    private final byte[] content;
+    private final CompilationUnitTree unit;
+
+    public ParsedSource(Path path, byte[] content, CompilationUnitTree unit) {
+        this.path = path;
+        this.content = content;
+        this.unit = unit;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public ByteBuffer getContent() {
+        return ByteBuffer.wrap(content).asReadOnlyBuffer();
+    }
+
+    public CompilationUnitTree getUnit() {
+        return unit;
+    }
+
+    public String getPackageName() {
+        return unit.getPackageName() == null ? "" : unit.getPackageName().toString();
+    }
+}
@@ -0,0 +1,78 @@
+package org.mql.java.source;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.JavacTask;
+
+public class SourceFileParser {
+    private static final List<String> OPTIONS = List.of("-proc:none", "-implicit:none", "-Xlint:none");
+
+    private final JavaCompiler compiler;
+
+    public SourceFileParser() {
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Source analysis needs a JDK with the jdk.compiler module");
+        }
+    }
+
+    public List<ParsedSource> parse(List<Path> files) throws IOException {
+        Map<URI, SourceFile> sources = new LinkedHashMap<>();
+        for (Path file : files) {
+            SourceFile source = new SourceFile(file, Files.readAllBytes(file));
+            sources.put(source.toUri(), source);
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavacTask task = (JavacTask) compiler.getTask(null, null, diagnostics, OPTIONS, null, sources.values());
+        List<ParsedSource> parsed = new Vector<>();
+        for (CompilationUnitTree unit : task.parse()) {
+            SourceFile source = sources.get(unit.getSourceFile().toUri());
+            parsed.add(new ParsedSource(source.getPath(), source.getContent(), unit));
+        }
+        return parsed;
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final Path path;
+        private final byte[] content;
+
+        SourceFile(Path path, byte[] content) {
+            super(uriOf(path), Kind.SOURCE);
+            this.path = path;
+            this.content = content;
+        }
+
+        private static URI uriOf(Path path) {
+            return path.toAbsolutePath().toUri();
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return new String(content, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package org.mql.java.source;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ModifiersTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.TypeParameterTree;
+import com.sun.source.tree.VariableTree;
+
+import org.mql.java.bytecode.ClassFileInfo;
+import org.mql.java.bytecode.MemberInfo;
+
+public class SourceTypeReader {
+    private static final String RETENTION = "java.lang.annotation.Retention";
+    private static final String ANNOTATION = "java.lang.annotation.Annotation";
+
+    private final Set<String> knownTypes;
+
+    public SourceTypeReader(Set<String> knownTypes) {
+        this.knownTypes = knownTypes;
+    }
+
+    public List<ClassFileInfo> read(ParsedSource source) {
+        SourceTypeResolver resolver = new SourceTypeResolver(source.getUnit(), knownTypes);
+        List<ClassFileInfo> types = new Vector<>();
+        for (Tree typeDeclaration : source.getUnit().getTypeDecls()) {
+            if (typeDeclaration instanceof ClassTree classTree) {
+                types.add(readType(classTree, resolver));
+            }
+        }
+        return types;
+    }
+
+    private ClassFileInfo readType(ClassTree tree, SourceTypeResolver resolver) {
+        ClassFileInfo info = new ClassFileInfo();
+        String name = SourceTypeResolver.qualify(resolver.getPackageName(), tree.getSimpleName().toString());
+        Map<String, Tree> typeVariables = typeVariables(tree.getTypeParameters(), Map.of());
+        int access = access(tree.getModifiers());
+
+        info.setName(name);
+        switch (tree.getKind()) {
+            case INTERFACE:
+                access |= ClassFileInfo.ACC_INTERFACE | ClassFileInfo.ACC_ABSTRACT;
+                info.setSuperName("java.lang.Object");
+                break;
+            case ANNOTATION_TYPE:
+                access |= ClassFileInfo.ACC_INTERFACE | ClassFileInfo.ACC_ABSTRACT | ClassFileInfo.ACC_ANNOTATION;
+                info.setSuperName("java.lang.Object");
+                info.getInterfaces().add(ANNOTATION);
+                break;
+            case ENUM:
+                access |= ClassFileInfo.ACC_ENUM | (hasConstantBodies(tree) ? 0 : ClassFileInfo.ACC_FINAL);
+                info.setSuperName("java.lang.Enum");
+                break;
+            case RECORD:
+                access |= ClassFileInfo.ACC_FINAL;
+                info.setSuperName("java.lang.Record");
+                break;
+            default:
+                info.setSuperName(tree.getExtendsClause() == null
+                        ? "java.lang.Object"
+                        : resolver.typeName(tree.getExtendsClause(), typeVariables));
+        }
+        info.setAccess(access);
+        for (Tree implemented : tree.getImplementsClause()) {
+            info.getInterfaces().add(resolver.typeName(implemented, typeVariables));
+        }
+        info.setSignature(classSignature(tree, info, resolver, typeVariables));
+        readAnnotations(tree.getModifiers(), info, resolver);
+
+        for (Tree member : tree.getMembers()) {
+            if (member instanceof VariableTree field) {
+                info.getFields().add(readField(tree, field, resolver, typeVariables));
+            } else if (member instanceof MethodTree method) {
+                info.getMethods().add(readMethod(tree, method, resolver, typeVariables));
+            }
+        }
+        addImplicitMembers(tree, info);
+        return info;
+    }
+
+    private MemberInfo readField(ClassTree owner, VariableTree field, SourceTypeResolver resolver,
+                                 Map<String, Tree> typeVariables) {
+        int access = access(field.getModifiers());
+        if (owner.getKind() == Tree.Kind.INTERFACE || owner.getKind() == Tree.Kind.ANNOTATION_TYPE) {
+            access |= Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL;
+        } else if (isEnumConstant(owner, field)) {
+            access |= ClassFileInfo.ACC_ENUM;
+        }
+
+        Tree type = field.getType();
+        if (type.getKind() != Tree.Kind.PARAMETERIZED_TYPE && field.getInitializer() instanceof NewClassTree creation
+                && creation.getIdentifier() instanceof ParameterizedTypeTree created
+                && !created.getTypeArguments().isEmpty()) {
+            return new MemberInfo(access, field.getName().toString(),
+                    resolver.descriptor(type, typeVariables), initializerSignature(type, created, resolver, typeVariables));
+        }
+        return new MemberInfo(access, field.getName().toString(),
+                resolver.descriptor(type, typeVariables), genericSignature(type, resolver, typeVariables));
+    }
+
+    private String initializerSignature(Tree declared, ParameterizedTypeTree created, SourceTypeResolver resolver,
+                                        Map<String, Tree> typeVariables) {
+        String raw = resolver.descriptor(declared, typeVariables);
+        if (raw.charAt(0) != 'L') {
+            return null;
+        }
+        StringBuilder signature = new StringBuilder(raw.substring(0, raw.length() - 1)).append('<');
+        for (Tree argument : created.getTypeArguments()) {
+            signature.append(resolver.signature(argument, typeVariables));
+        }
+        return signature.append(">;").toString();
+    }
+
+    private MemberInfo readMethod(ClassTree owner, MethodTree method, SourceTypeResolver resolver,
+                                  Map<String, Tree> classTypeVariables) {
+        Map<String, Tree> typeVariables = typeVariables(method.getTypeParameters(), classTypeVariables);
+        int access = access(method.getModifiers());
+        boolean inInterface = owner.getKind() == Tree.Kind.INTERFACE || owner.getKind() == Tree.Kind.ANNOTATION_TYPE;
+        if (inInterface && (access & Modifier.PRIVATE) == 0) {
+            access |= Modifier.PUBLIC;
+            if (method.getBody() == null && (access & Modifier.STATIC) == 0) {
+                access |= Modifier.ABSTRACT;
+            }
+        }
+
+        StringBuilder descriptor = new StringBuilder("(");
+        StringBuilder signature = new StringBuilder(typeParameterSignature(method.getTypeParameters(), resolver, typeVariables)).append('(');
+        for (VariableTree parameter : method.getParameters()) {
+            descriptor.append(resolver.descriptor(parameter.getType(), typeVariables));
+            signature.append(resolver.signature(parameter.getType(), typeVariables));
+        }
+        Tree returnType = method.getReturnType();
+        descriptor.append(')').append(returnType == null ? "V" : resolver.descriptor(returnType, typeVariables));
+        signature.append(')').append(returnType == null ? "V" : resolver.signature(returnType, typeVariables));
+
+        String name = returnType == null ? "<init>" : method.getName().toString();
+        String methodSignature = signature.toString();
+        return new MemberInfo(access, name, descriptor.toString(),
+                methodSignature.equals(descriptor.toString()) ? null : methodSignature);
+    }
+
+    private void addImplicitMembers(ClassTree tree, ClassFileInfo info) {
+        String self = "L" + info.getName().replace('.', '/') + ";";
+        if (tree.getKind() == Tree.Kind.ENUM) {
+            info.getFields().add(new MemberInfo(Modifier.PRIVATE | Modifier.STATIC | Modifier.FINAL
+                    | ClassFileInfo.ACC_SYNTHETIC, "$VALUES", "[" + self, null));
+            info.getMethods().add(new MemberInfo(Modifier.PUBLIC | Modifier.STATIC, "values", "()[" + self, null));
+            info.getMethods().add(new MemberInfo(Modifier.PUBLIC | Modifier.STATIC, "valueOf",
+                    "(Ljava/lang/String;)" + self, null));
+            info.getMethods().add(new MemberInfo(Modifier.PRIVATE | Modifier.STATIC | ClassFileInfo.ACC_SYNTHETIC,
+                    "$values", "()[" + self, null));
+        } else if (tree.getKind() == Tree.Kind.RECORD) {
+            for (MemberInfo component : new Vector<>(info.getFields())) {
+                if ((component.getAccess() & Modifier.STATIC) == 0 && !declaresAccessor(info, component.getName())) {
+                    info.getMethods().add(new MemberInfo(Modifier.PUBLIC, component.getName(),
+                            "()" + component.getDescriptor(), component.getSignature() == null ? null
+                                    : "()" + component.getSignature()));
+                }
+            }
+            info.getMethods().add(new MemberInfo(Modifier.PUBLIC | Modifier.FINAL, "toString", "()Ljava/lang/String;", null));
+            info.getMethods().add(new MemberInfo(Modifier.PUBLIC | Modifier.FINAL, "hashCode", "()I", null));
+            info.getMethods().add(new MemberInfo(Modifier.PUBLIC | Modifier.FINAL, "equals", "(Ljava/lang/Object;)Z", null));
+        }
+    }
+
+    private boolean declaresAccessor(ClassFileInfo info, String name) {
+        for (MemberInfo method : info.getMethods()) {
+            if (method.getName().equals(name) && method.getDescriptor().startsWith("()")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void readAnnotations(ModifiersTree modifiers, ClassFileInfo info, SourceTypeResolver resolver) {
+        for (AnnotationTree annotation : modifiers.getAnnotations()) {
+            String type = resolver.typeName(annotation.getAnnotationType(), Map.of());
+            info.getAnnotations().add(type);
+            if (RETENTION.equals(type) && !annotation.getArguments().isEmpty()) {
+                info.setRetentionPolicy(constantName(annotation.getArguments().get(0)));
+            }
+        }
+    }
+
+    private String constantName(ExpressionTree argument) {
+        if (argument instanceof AssignmentTree assignment) {
+            argument = assignment.getExpression();
+        }
+        if (argument instanceof MemberSelectTree select) {
+            return select.getIdentifier().toString();
+        }
+        return argument.toString();
+    }
+
+    private String classSignature(ClassTree tree, ClassFileInfo info, SourceTypeResolver resolver,
+                                  Map<String, Tree> typeVariables) {
+        StringBuilder signature = new StringBuilder(typeParameterSignature(tree.getTypeParameters(), resolver, typeVariables));
+        boolean generic = signature.length() > 0;
+        if (tree.getKind() == Tree.Kind.CLASS && tree.getExtendsClause() != null) {
+            String superSignature = resolver.signature(tree.getExtendsClause(), typeVariables);
+            generic |= superSignature.indexOf('<') >= 0;
+            signature.append(superSignature);
+        } else if (tree.getKind() == Tree.Kind.ENUM) {
+            signature.append("Ljava/lang/Enum<L").append(info.getName().replace('.', '/')).append(";>;");
+            generic = true;
+        } else {
+            signature.append("L").append(info.getSuperName().replace('.', '/')).append(';');
+        }
+        for (Tree implemented : tree.getImplementsClause()) {
+            String interfaceSignature = resolver.signature(implemented, typeVariables);
+            generic |= interfaceSignature.indexOf('<') >= 0;
+            signature.append(interfaceSignature);
+        }
+        return generic ? signature.toString() : null;
+    }
+
+    private String typeParameterSignature(List<? extends TypeParameterTree> parameters, SourceTypeResolver resolver,
+                                          Map<String, Tree> typeVariables) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        StringBuilder signature = new StringBuilder("<");
+        for (TypeParameterTree parameter : parameters) {
+            signature.append(parameter.getName()).append(':');
+            if (parameter.getBounds().isEmpty()) {
+                signature.append("Ljava/lang/Object;");
+            }
+            for (Tree bound : parameter.getBounds()) {
+                signature.append(resolver.signature(bound, typeVariables));
+            }
+        }
+        return signature.append('>').toString();
+    }
+
+    private String genericSignature(Tree type, SourceTypeResolver resolver, Map<String, Tree> typeVariables) {
+        String signature = resolver.signature(type, typeVariables);
+        return signature.equals(resolver.descriptor(type, typeVariables)) ? null : signature;
+    }
+
+    private Map<String, Tree> typeVariables(List<? extends TypeParameterTree> parameters, Map<String, Tree> enclosing) {
+        if (parameters.isEmpty()) {
+            return enclosing;
+        }
+        Map<String, Tree> typeVariables = new HashMap<>(enclosing);
+        for (TypeParameterTree parameter : parameters) {
+            typeVariables.put(parameter.getName().toString(),
+                    parameter.getBounds().isEmpty() ? null : parameter.getBounds().get(0));
+        }
+        return typeVariables;
+    }
+
+    private boolean isEnumConstant(ClassTree owner, VariableTree field) {
+        return owner.getKind() == Tree.Kind.ENUM
+            && field.getInitializer() instanceof NewClassTree creation
+            && creation.getIdentifier().toString().equals(owner.getSimpleName().toString());
+    }
+
+    private boolean hasConstantBodies(ClassTree tree) {
+        for (Tree member : tree.getMembers()) {
+            if (member instanceof VariableTree field && isEnumConstant(tree, field)
+                    && ((NewClassTree) field.getInitializer()).getClassBody() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int access(ModifiersTree modifiers) {
+        int access = 0;
+        for (javax.lang.model.element.Modifier modifier : modifiers.getFlags()) {
+            switch (modifier) {
+                case PUBLIC -> access |= Modifier.PUBLIC;
+                case PROTECTED -> access |= Modifier.PROTECTED;
+                case PRIVATE -> access |= Modifier.PRIVATE;
+                case ABSTRACT -> access |= Modifier.ABSTRACT;
+                case STATIC -> access |= Modifier.STATIC;
+                case FINAL -> access |= Modifier.FINAL;
+                case TRANSIENT -> access |= Modifier.TRANSIENT;
+                case VOLATILE -> access |= Modifier.VOLATILE;
+                case SYNCHRONIZED -> access |= Modifier.SYNCHRONIZED;
+                case NATIVE -> access |= Modifier.NATIVE;
+                case STRICTFP -> access |= Modifier.STRICT;
+                default -> { }
+            }
+        }
+        return access;
+    }
+}
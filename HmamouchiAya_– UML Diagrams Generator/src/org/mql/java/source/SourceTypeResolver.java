@@ -0,0 +1,210 @@
+package org.mql.java.source;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.source.tree.AnnotatedTypeTree;
+import com.sun.source.tree.ArrayTypeTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.PrimitiveTypeTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.WildcardTree;
+
+public class SourceTypeResolver {
+    private static final String OBJECT = "java.lang.Object";
+    private static final Map<String, Boolean> PLATFORM_TYPES = new ConcurrentHashMap<>();
+
+    private final String packageName;
+    private final Set<String> knownTypes;
+    private final Map<String, String> localTypes = new HashMap<>();
+    private final Map<String, String> singleImports = new HashMap<>();
+    private final List<String> onDemandImports = new Vector<>();
+
+    public SourceTypeResolver(CompilationUnitTree unit, Set<String> knownTypes) {
+        this.packageName = unit.getPackageName() == null ? "" : unit.getPackageName().toString();
+        this.knownTypes = knownTypes;
+        for (ImportTree importTree : unit.getImports()) {
+            if (importTree.isStatic()) continue;
+            String imported = importTree.getQualifiedIdentifier().toString();
+            if (imported.endsWith(".*")) {
+                onDemandImports.add(imported.substring(0, imported.length() - 2));
+            } else {
+                singleImports.put(imported.substring(imported.lastIndexOf('.') + 1), imported);
+            }
+        }
+        for (String declared : declaredTypes(unit)) {
+            String simpleName = declared.substring(Math.max(declared.lastIndexOf('.'), declared.lastIndexOf('$')) + 1);
+            localTypes.putIfAbsent(simpleName, declared);
+        }
+    }
+
+    public static List<String> declaredTypes(CompilationUnitTree unit) {
+        String packageName = unit.getPackageName() == null ? "" : unit.getPackageName().toString();
+        List<String> declared = new Vector<>();
+        for (Tree typeDeclaration : unit.getTypeDecls()) {
+            if (typeDeclaration instanceof ClassTree classTree) {
+                collectTypes(classTree, qualify(packageName, classTree.getSimpleName().toString()), declared);
+            }
+        }
+        return declared;
+    }
+
+    private static void collectTypes(ClassTree classTree, String binaryName, List<String> declared) {
+        declared.add(binaryName);
+        for (Tree member : classTree.getMembers()) {
+            if (member instanceof ClassTree nested) {
+                collectTypes(nested, binaryName + "$" + nested.getSimpleName(), declared);
+            }
+        }
+    }
+
+    public static String qualify(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String typeName(Tree type, Map<String, Tree> typeVariables) {
+        String descriptor = descriptor(type, typeVariables);
+        return descriptor.charAt(0) == 'L'
+            ? descriptor.substring(1, descriptor.length() - 1).replace('/', '.')
+            : descriptor;
+    }
+
+    public String descriptor(Tree type, Map<String, Tree> typeVariables) {
+        switch (type.getKind()) {
+            case PRIMITIVE_TYPE:
+                return primitiveDescriptor((PrimitiveTypeTree) type);
+            case ARRAY_TYPE:
+                return "[" + descriptor(((ArrayTypeTree) type).getType(), typeVariables);
+            case PARAMETERIZED_TYPE:
+                return descriptor(((ParameterizedTypeTree) type).getType(), typeVariables);
+            case ANNOTATED_TYPE:
+                return descriptor(((AnnotatedTypeTree) type).getUnderlyingType(), typeVariables);
+            case IDENTIFIER:
+            case MEMBER_SELECT:
+                String name = type.toString();
+                if (typeVariables.containsKey(name)) {
+                    Tree bound = typeVariables.get(name);
+                    Map<String, Tree> outer = new HashMap<>(typeVariables);
+                    outer.remove(name);
+                    return bound == null ? objectDescriptor() : descriptor(bound, outer);
+                }
+                return "L" + binaryName(name).replace('.', '/') + ";";
+            default:
+                return objectDescriptor();
+        }
+    }
+
+    public String signature(Tree type, Map<String, Tree> typeVariables) {
+        switch (type.getKind()) {
+            case ARRAY_TYPE:
+                return "[" + signature(((ArrayTypeTree) type).getType(), typeVariables);
+            case PARAMETERIZED_TYPE:
+                ParameterizedTypeTree parameterized = (ParameterizedTypeTree) type;
+                String raw = descriptor(parameterized.getType(), typeVariables);
+                if (parameterized.getTypeArguments().isEmpty()) {
+                    return raw;
+                }
+                StringBuilder signature = new StringBuilder(raw.substring(0, raw.length() - 1)).append('<');
+                for (Tree argument : parameterized.getTypeArguments()) {
+                    signature.append(signature(argument, typeVariables));
+                }
+                return signature.append(">;").toString();
+            case ANNOTATED_TYPE:
+                return signature(((AnnotatedTypeTree) type).getUnderlyingType(), typeVariables);
+            case UNBOUNDED_WILDCARD:
+                return "*";
+            case EXTENDS_WILDCARD:
+                return "+" + signature(((WildcardTree) type).getBound(), typeVariables);
+            case SUPER_WILDCARD:
+                return "-" + signature(((WildcardTree) type).getBound(), typeVariables);
+            case IDENTIFIER:
+                if (typeVariables.containsKey(type.toString())) {
+                    return "T" + type + ";";
+                }
+                return descriptor(type, typeVariables);
+            default:
+                return descriptor(type, typeVariables);
+        }
+    }
+
+    public String binaryName(String name) {
+        int dot = name.indexOf('.');
+        String head = dot < 0 ? name : name.substring(0, dot);
+        String resolved = resolveSimpleName(head);
+        if (resolved != null) {
+            return dot < 0 ? resolved : resolved + "$" + name.substring(dot + 1).replace('.', '$');
+        }
+        return dot < 0 ? qualify(packageName, name) : qualifiedBinaryName(name);
+    }
+
+    private String resolveSimpleName(String simpleName) {
+        String local = localTypes.get(simpleName);
+        if (local != null) {
+            return local;
+        }
+        String imported = singleImports.get(simpleName);
+        if (imported != null) {
+            return qualifiedBinaryName(imported);
+        }
+        String samePackage = qualify(packageName, simpleName);
+        if (knownTypes.contains(samePackage)) {
+            return samePackage;
+        }
+        if (exists("java.lang." + simpleName)) {
+            return "java.lang." + simpleName;
+        }
+        for (String onDemand : onDemandImports) {
+            String candidate = qualifiedBinaryName(onDemand + "." + simpleName);
+            if (exists(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private String qualifiedBinaryName(String qualifiedName) {
+        String[] segments = qualifiedName.split("\\.");
+        for (int split = segments.length - 1; split > 0; split--) {
+            String candidate = String.join(".", List.of(segments).subList(0, split)) + "."
+                    + String.join("$", List.of(segments).subList(split, segments.length));
+            if (exists(candidate)) {
+                return candidate;
+            }
+        }
+        return qualifiedName;
+    }
+
+    private boolean exists(String binaryName) {
+        return knownTypes.contains(binaryName) || PLATFORM_TYPES.computeIfAbsent(binaryName,
+            name -> ClassLoader.getPlatformClassLoader().getResource(name.replace('.', '/') + ".class") != null);
+    }
+
+    private static String objectDescriptor() {
+        return "L" + OBJECT.replace('.', '/') + ";";
+    }
+
+    private static String primitiveDescriptor(PrimitiveTypeTree type) {
+        switch (type.getPrimitiveTypeKind()) {
+            case BOOLEAN: return "Z";
+            case BYTE: return "B";
+            case CHAR: return "C";
+            case SHORT: return "S";
+            case INT: return "I";
+            case LONG: return "J";
+            case FLOAT: return "F";
+            case DOUBLE: return "D";
+            default: return "V";
+        }
+    }
+}
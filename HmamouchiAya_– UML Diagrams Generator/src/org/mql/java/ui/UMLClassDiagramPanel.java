@@ -1,5 +1,10 @@
 package org.mql.java.ui;
 
+import org.mql.java.diff.ChangeType;
+import org.mql.java.diff.ModelDiff;
+import org.mql.java.graph.AssociationGraph;
+import org.mql.java.graph.AssociationKind;
+import org.mql.java.graph.CsrAdjacency;
 import org.mql.java.models.*;
 import javax.swing.*;
 import java.awt.*;
@@ -17,14 +22,69 @@ public class UMLClassDiagramPanel extends JPanel {
         new Color(26, 188, 156), new Color(22, 160, 133),
         new Color(142, 68, 173)
     };
+    private static final Color COOL = new Color(41, 128, 185);
+    private static final Color HOT = new Color(192, 57, 43);
+    private static final Map<ChangeType, Color> CHANGE_COLORS = Map.of(
+        ChangeType.ADDED, new Color(39, 174, 96),
+        ChangeType.REMOVED, new Color(192, 57, 43),
+        ChangeType.CHANGED, new Color(230, 126, 34)
+    );
 
     private List<ClassAbout> classes;
-    private Map<String, Point> classLocations;
+    private final String packageName;
+    private List<ClassAbout> removedClasses = List.of();
+    private AssociationGraph graph;
+    private Point[] classLocations;
+    private boolean heatOverlay;
+    private int maxCoupling;
+    private ModelDiff diff;
 
     public UMLClassDiagramPanel(String name, List<ClassAbout> classes) {
+        this(name, classes, null);
+    }
+
+    public UMLClassDiagramPanel(String name, List<ClassAbout> classes, PackageMetrics packageMetrics) {
         this.classes = classes;
-        this.classLocations = new HashMap<>();
-        setupPanel(name);
+        this.packageName = name;
+        this.graph = AssociationGraph.of(classes);
+        this.classLocations = new Point[graph.size()];
+        for (ClassAbout cls : classes) {
+            if (cls.getMetrics() != null) {
+                maxCoupling = Math.max(maxCoupling, cls.getMetrics().coupling());
+                heatOverlay = true;
+            }
+        }
+        setupPanel(packageMetrics == null ? name : name + String.format(" (Ca=%d Ce=%d A=%.2f I=%.2f D=%.2f)",
+            packageMetrics.afferentCoupling(), packageMetrics.efferentCoupling(),
+            packageMetrics.abstractness(), packageMetrics.instability(), packageMetrics.distance()));
+    }
+
+    public boolean isHeatOverlay() {
+        return heatOverlay;
+    }
+
+    public void setHeatOverlay(boolean heatOverlay) {
+        this.heatOverlay = heatOverlay;
+        repaint();
+    }
+
+    public ModelDiff getDiff() {
+        return diff;
+    }
+
+    // removed classes are no longer in the model, so they are drawn as ghosts rebuilt from the diff
+    public void setDiff(ModelDiff diff) {
+        this.diff = diff;
+        removedClasses = new ArrayList<>();
+        if (diff != null) {
+            for (ClassAbout removed : diff.getRemovedClasses()) {
+                int separator = removed.getName().lastIndexOf('.');
+                if ((separator < 0 ? "" : removed.getName().substring(0, separator)).equals(packageName)) {
+                    removedClasses.add(removed);
+                }
+            }
+        }
+        repaint();
     }
 
     private void setupPanel(String name) {
@@ -51,7 +111,7 @@ public class UMLClassDiagramPanel extends JPanel {
         int centerY = getHeight() / 2;
         int radius = Math.min(getWidth(), getHeight()) / 2 - PADDING - SPACING;
 
-        int numClasses = classes.size();
+        int numClasses = classes.size() + removedClasses.size();
         double angleStep = 2 * Math.PI / numClasses;
 
         for (int i = 0; i < numClasses; i++) {
@@ -60,17 +120,24 @@ public class UMLClassDiagramPanel extends JPanel {
             int y = (int) (centerY + radius * Math.sin(angle)) - CLASS_HEIGHT / 2;
 
             Point location = new Point(x, y);
-            classLocations.put(classes.get(i).getName(), location);
-            drawClass(g2, classes.get(i), location, i);
+            boolean ghost = i >= classes.size();
+            ClassAbout cls = ghost ? removedClasses.get(i - classes.size()) : classes.get(i);
+            if (!ghost) {
+                classLocations[graph.idOf(cls.getName())] = location;
+            }
+            drawClass(g2, cls, location, i, ghost);
         }
 
         drawAssociations(g2);
     }
 
-    private void drawClass(Graphics2D g2, ClassAbout cls, Point location, int index) {
+    private void drawClass(Graphics2D g2, ClassAbout cls, Point location, int index, boolean ghost) {
         int x = location.x, y = location.y;
 
-        Color baseColor = COLOR_PALETTE[index % COLOR_PALETTE.length];
+        ClassMetrics metrics = cls.getMetrics();
+        Color baseColor = ghost ? Color.GRAY : heatOverlay && metrics != null
+            ? heatColor(maxCoupling == 0 ? 0 : (double) metrics.coupling() / maxCoupling)
+            : COLOR_PALETTE[index % COLOR_PALETTE.length];
         Color lightColor = new Color(
             Math.min(baseColor.getRed() + 60, 255),
             Math.min(baseColor.getGreen() + 60, 255),
@@ -85,6 +152,10 @@ public class UMLClassDiagramPanel extends JPanel {
         g2.setColor(Color.WHITE);
         g2.setFont(new Font("Arial", Font.BOLD, 10)); // Reduced font size for class name
         g2.drawString(cls.getSimpleName(), x + 5, y + 15);
+        if (heatOverlay && metrics != null) {
+            g2.setFont(new Font("Arial", Font.PLAIN, 9));
+            g2.drawString("in " + metrics.fanIn() + " / out " + metrics.fanOut(), x + 5, y + 30);
+        }
 
         g2.setColor(Color.DARK_GRAY);
         g2.drawRoundRect(x, y, CLASS_WIDTH, CLASS_HEIGHT, 15, 15);
@@ -97,6 +168,24 @@ public class UMLClassDiagramPanel extends JPanel {
 
         g2.setColor(Color.DARK_GRAY);
         g2.drawRoundRect(x, y, CLASS_WIDTH, CLASS_HEIGHT + fieldHeight + methodHeight, 15, 15);
+
+        ChangeType change = diff == null ? null : diff.getStatus(cls.getName());
+        if (change != null) {
+            Stroke originalStroke = g2.getStroke();
+            g2.setStroke(new BasicStroke(3.0f));
+            g2.setColor(CHANGE_COLORS.get(change));
+            g2.drawRoundRect(x - 2, y - 2, CLASS_WIDTH + 4, CLASS_HEIGHT + fieldHeight + methodHeight + 4, 15, 15);
+            g2.drawString(change.name().toLowerCase(), x + 5, y - 5);
+            g2.setStroke(originalStroke);
+        }
+    }
+
+    private Color heatColor(double heat) {
+        return new Color(
+            (int) (COOL.getRed() + heat * (HOT.getRed() - COOL.getRed())),
+            (int) (COOL.getGreen() + heat * (HOT.getGreen() - COOL.getGreen())),
+            (int) (COOL.getBlue() + heat * (HOT.getBlue() - COOL.getBlue()))
+        );
     }
 
     private int drawFields(Graphics2D g2, List<FieldAbout> fields, int x, int y, int width) {
@@ -126,12 +215,16 @@ public class UMLClassDiagramPanel extends JPanel {
     }
 
     private void drawAssociations(Graphics2D g2) {
-        for (ClassAbout cls : classes) {
-            for (AssociationAbout rel : cls.getAssociations()) {
-                Point from = classLocations.get(rel.getSourceClass());
-                Point to = classLocations.get(rel.getTargetClass());
-                if (from != null && to != null) {
-                    drawAssociationLine(g2, from, to, rel.getAssociationType());
+        for (AssociationKind kind : AssociationKind.values()) {
+            CsrAdjacency edges = graph.forward(kind);
+            for (int source = 0; source < graph.size(); source++) {
+                Point from = classLocations[source];
+                if (from == null) continue;
+                for (int edge = edges.start(source); edge < edges.end(source); edge++) {
+                    Point to = classLocations[edges.target(edge)];
+                    if (to != null) {
+                        drawAssociationLine(g2, from, to, kind.getLabel());
+                    }
                 }
             }
         }
@@ -0,0 +1,95 @@
+package org.mql.java.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+
+import org.xml.sax.SAXException;
+
+public final class ModelSchema {
+    public static final int VERSION = 1;
+    public static final int UNVERSIONED = 0;
+    public static final String VERSION_ATTRIBUTE = "schemaVersion";
+
+    private static Schema schema;
+
+    private ModelSchema() {
+    }
+
+    public static String resourceName(int version) {
+        return "uml-model-" + version + ".xsd";
+    }
+
+    public static synchronized Schema getSchema() {
+        if (schema == null) {
+            URL resource = ModelSchema.class.getResource(resourceName(VERSION));
+            if (resource == null) {
+                throw new IllegalStateException("Schema resource " + resourceName(VERSION) + " is missing from the classpath");
+            }
+            try {
+                schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(resource);
+            } catch (SAXException e) {
+                throw new IllegalStateException("Invalid schema " + resourceName(VERSION), e);
+            }
+        }
+        return schema;
+    }
+
+    public static int readVersion(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = StreamingXMLParser.INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                reader.nextTag();
+                return readVersion(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // documents written before the schema existed carry no version and are read leniently
+    static int readVersion(XMLStreamReader reader) throws XMLStreamException {
+        String value = reader.getAttributeValue(null, VERSION_ATTRIBUTE);
+        if (value == null) {
+            return UNVERSIONED;
+        }
+        int version;
+        try {
+            version = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Malformed " + VERSION_ATTRIBUTE + " '" + value + "'", reader.getLocation());
+        }
+        if (version < 1 || version > VERSION) {
+            throw new XMLStreamException("Unsupported " + VERSION_ATTRIBUTE + " " + version
+                    + ", this reader supports up to " + VERSION, reader.getLocation());
+        }
+        return version;
+    }
+
+    public static void validate(Path file) throws IOException {
+        int version = readVersion(file);
+        if (version != VERSION) {
+            throw new IOException(file + " has no " + VERSION_ATTRIBUTE + " and cannot be validated");
+        }
+        try {
+            Validator validator = getSchema().newValidator();
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            validator.validate(new StreamSource(file.toFile()));
+        } catch (SAXException e) {
+            throw new IOException(file + " does not match " + resourceName(VERSION) + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,122 +1,702 @@
 package org.mql.java.xml;
 
+import org.mql.java.bytecode.BytecodeModelBuilder;
+import org.mql.java.bytecode.ClassFileInfo;
+import org.mql.java.bytecode.ClassFileReader;
+import org.mql.java.cache.AnalysisCache;
+import org.mql.java.cache.CachedType;
+import org.mql.java.classpath.ClassEntry;
+import org.mql.java.classpath.ClassLoaderPool;
+import org.mql.java.classpath.ClassPath;
+import org.mql.java.classpath.ClassPathSource;
+import org.mql.java.classpath.DirectorySource;
+import org.mql.java.compact.CompactModel;
+import org.mql.java.compact.CompactType;
+import org.mql.java.graph.AssociationGraph;
+import org.mql.java.graph.CouplingMetrics;
+import org.mql.java.index.ModelIndex;
+import org.mql.java.index.ModelIndex.Kind;
+import org.mql.java.index.PackageTrie;
+import org.mql.java.index.ParallelScanner;
+import org.mql.java.index.TypeUpdate;
 import org.mql.java.models.*;
+import org.mql.java.query.QueryIndex;
+import org.mql.java.source.ParsedSource;
+import org.mql.java.source.SourceFileParser;
+import org.mql.java.source.SourceTypeReader;
+import org.mql.java.source.SourceTypeResolver;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class PackageExplorer {
+    private static final int SOURCE_BATCH_SIZE = 32;
+
     private final String packageName;
     private final String basePath;
+    private final ScanMode scanMode;
+    private final ClassPath classPath;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean lazyMembers;
+    private boolean compactModels = true;
+    private ModelIndex index;
+    private PackageTrie packageTrie;
+    private CompactModel compactModel;
+    private AssociationGraph associationGraph;
+    private volatile CouplingMetrics couplingMetrics;
+    private QueryIndex queryIndex;
+    private TypeRegistry typeRegistry;
+    private Map<String, ClassFileInfo> classFiles;
+    private Map<String, String> contentHashes;
+    private volatile Map<String, ClassEntry> classPathEntries;
+    private AnalysisCache analysisCache;
+    private ClassLoaderPool classLoaderPool;
+    private final MetricsSource metricsSource = new MetricsSource() {
+        @Override
+        public ClassMetrics getClassMetrics(String qualifiedName) {
+            return currentMetrics().getClassMetrics(qualifiedName);
+        }
+
+        @Override
+        public PackageMetrics getPackageMetrics(String packageName) {
+            return currentMetrics().getPackageMetrics(packageName);
+        }
+    };
 
     public PackageExplorer(String packageName) {
+        this(packageName, ScanMode.REFLECTION);
+    }
+
+    public PackageExplorer(String packageName, ScanMode scanMode) {
         this.packageName = packageName;
-        this.basePath = "src/" + packageName.replace('.', '/');
+        this.scanMode = scanMode;
+        this.basePath = scanMode.getRootDirectory() + packageName.replace('.', '/');
+        this.classPath = new ClassPath(List.of(new DirectorySource(Paths.get(scanMode.getRootDirectory()))));
     }
 
-    private Stream<File> getJavaFiles(File directory) {
-        return Optional.ofNullable(directory.listFiles())
-            .map(files -> Arrays.stream(files)
-                .flatMap(file -> file.isDirectory() 
-                    ? getJavaFiles(file) 
-                    : (file.getName().endsWith(".java") ? Stream.of(file) : Stream.empty())
-                )
-            )
-            .orElse(Stream.empty());
+    public PackageExplorer(String packageName, ClassPath classPath) {
+        this(packageName, classPath, ScanMode.BYTECODE);
+    }
+
+    public PackageExplorer(String packageName, ClassPath classPath, ScanMode scanMode) {
+        this.packageName = packageName;
+        this.scanMode = scanMode;
+        this.basePath = null;
+        this.classPath = classPath;
+    }
+
+    private boolean isScannable(File file) {
+        return file.getName().endsWith(scanMode.getExtension());
     }
 
     private String getFullClassName(File file) {
         String relativePath = file.getPath().substring(basePath.length() + 1);
-        return packageName + "." + relativePath.replace(File.separator, ".").replace(".java", "");
+        return packageName + "." + relativePath.replace(File.separator, ".").replace(scanMode.getExtension(), "");
     }
 
-    public List<ClassAbout> findClasses() {
-        File directory = new File(basePath);
-        return directory.exists() && directory.isDirectory()
-            ? getJavaFiles(directory)
-                .map(file -> new ClassAbout(getFullClassName(file)))
-                .collect(Collectors.toList())
-            : Collections.emptyList();
+    public int getParallelism() {
+        return parallelism;
     }
 
-    public PackageAbout analyzePackage() {
-        File directory = new File(basePath);
-        if (!directory.exists() || !directory.isDirectory()) {
-            return null;
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public boolean isLazyMembers() {
+        return lazyMembers;
+    }
+
+    public synchronized void setLazyMembers(boolean lazyMembers) {
+        this.lazyMembers = lazyMembers;
+    }
+
+    public boolean isCompactModels() {
+        return compactModels;
+    }
+
+    public synchronized void setCompactModels(boolean compactModels) {
+        this.compactModels = compactModels;
+    }
+
+    public synchronized ModelIndex getIndex() {
+        if (index == null) {
+            typeRegistry = new TypeRegistry(this::isRootType, this::loadExternalInterface);
+            try (ParallelScanner scanner = new ParallelScanner(parallelism)) {
+                if (scanMode == ScanMode.BYTECODE) {
+                    index = indexClassFiles(scanner);
+                } else if (scanMode == ScanMode.SOURCE) {
+                    index = indexSourceFiles(scanner);
+                } else if (basePath == null) {
+                    index = indexClassPath(scanner);
+                } else {
+                    index = indexSourceTree(scanner);
+                }
+            }
+            // lazy members are not built yet, so there is nothing to compact
+            if (compactModels && !lazyMembers) {
+                compactModel = new CompactModel(typeRegistry::get);
+                compactTypes(index, index.getTypes());
+                compactModel.trim();
+            }
+            for (ModelIndex.IndexedType type : index.getTypes()) {
+                type.getClassView().setMetricsSource(metricsSource);
+            }
+        }
+        return index;
+    }
+
+    public synchronized PackageTrie getPackageTrie() {
+        if (packageTrie == null) {
+            packageTrie = PackageTrie.of(getIndex());
+        }
+        return packageTrie;
+    }
+
+    // null when the index holds the models as built
+    public synchronized CompactModel getCompactModel() {
+        getIndex();
+        return compactModel;
+    }
+
+    // swaps the built models for views over their compact records, which drops the built ones
+    private void compactTypes(ModelIndex modelIndex, Collection<ModelIndex.IndexedType> types) {
+        for (ModelIndex.IndexedType type : types) {
+            CompactType compactType = compactModel.compact(type);
+            ClassAbout classView = compactModel.classView(compactType);
+            Object model = type.getModel();
+            if (type.getKind() == Kind.CLASS) {
+                model = classView;
+            } else if (type.getKind() == Kind.INTERFACE) {
+                typeRegistry.remove(type.getQualifiedName());
+                model = typeRegistry.intern(compactModel.interfaceView(compactType));
+            }
+            modelIndex.add(type.getQualifiedName(), type.getKind(), classView, model);
         }
+    }
+
+    public synchronized AssociationGraph getAssociationGraph() {
+        if (associationGraph == null) {
+            associationGraph = AssociationGraph.of(getIndex());
+        }
+        return associationGraph;
+    }
+
+    public synchronized CouplingMetrics getCouplingMetrics() {
+        if (couplingMetrics == null) {
+            couplingMetrics = CouplingMetrics.of(getAssociationGraph(), getIndex(), parallelism);
+        }
+        return couplingMetrics;
+    }
 
-        PackageAbout packageAbout = new PackageAbout(packageName);
-        
-        Map<String, List<Object>> typeCollections = new HashMap<>() {{
-            put("class", new ArrayList<>());
-            put("interface", new ArrayList<>());
-            put("enum", new ArrayList<>());
-            put("annotation", new ArrayList<>());
-        }};
+    private CouplingMetrics currentMetrics() {
+        CouplingMetrics metrics = couplingMetrics;
+        return metrics != null ? metrics : getCouplingMetrics();
+    }
+
+    public synchronized QueryIndex getQueryIndex() {
+        if (queryIndex == null) {
+            queryIndex = QueryIndex.of(getIndex());
+        }
+        return queryIndex;
+    }
+
+    public synchronized TypeRegistry getTypeRegistry() {
+        getIndex();
+        return typeRegistry;
+    }
 
-        getJavaFiles(directory).forEach(file -> {
+    private boolean isRootType(String qualifiedName) {
+        return packageName.isEmpty() || qualifiedName.startsWith(packageName + ".");
+    }
+
+    // external interfaces are read back from their class files, so they do not pin the scan's class loader
+    private void loadExternalInterface(InterfaceAbout target) {
+        ByteBuffer content = findClassFile(target.getName());
+        if (content == null) return;
+        try {
+            new BytecodeModelBuilder(Map.of()).loadInterface(new ClassFileReader(content).read(), target);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private ByteBuffer findClassFile(String className) {
+        ClassEntry entry = classPath != null ? getClassPathEntries().get(className) : null;
+        if (entry != null) {
+            try {
+                return entry.read();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return readClassResource(PackageExplorer.class.getClassLoader(), className);
+    }
+
+    private Map<String, ClassEntry> getClassPathEntries() {
+        Map<String, ClassEntry> entries = classPathEntries;
+        if (entries == null) {
+            entries = new HashMap<>();
+            try {
+                for (ClassEntry entry : classPath.listClasses()) {
+                    entries.put(entry.getClassName(), entry);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            classPathEntries = entries;
+        }
+        return entries;
+    }
+
+    // reopens class path sources whose files changed on disk; entries listed before then are stale
+    public boolean refreshClassPath() {
+        if (classPath == null) {
+            return false;
+        }
+        try {
+            if (classPath.refresh()) {
+                classPathEntries = null;
+                return true;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    public synchronized void refresh() {
+        index = null;
+        typeRegistry = null;
+        packageTrie = null;
+        compactModel = null;
+        associationGraph = null;
+        couplingMetrics = null;
+        queryIndex = null;
+        classFiles = null;
+        contentHashes = null;
+        classPathEntries = null;
+    }
+
+    public AnalysisCache getAnalysisCache() {
+        return analysisCache;
+    }
+
+    public synchronized void setAnalysisCache(AnalysisCache analysisCache) {
+        this.analysisCache = analysisCache;
+    }
+
+    public ClassLoaderPool getClassLoaderPool() {
+        return classLoaderPool;
+    }
+
+    public synchronized void setClassLoaderPool(ClassLoaderPool classLoaderPool) {
+        this.classLoaderPool = classLoaderPool;
+    }
+
+    public ScanMode getScanMode() {
+        return scanMode;
+    }
+
+    public ClassPath getClassPath() {
+        return classPath;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    private boolean isScanned() {
+        if (scanMode == ScanMode.BYTECODE || basePath == null) return true;
+        File directory = new File(basePath);
+        return directory.exists() && directory.isDirectory();
+    }
+
+    private ModelIndex indexSourceTree(ParallelScanner scanner) {
+        ModelIndex modelIndex = new ModelIndex();
+        if (!isScanned()) {
+            return modelIndex;
+        }
+
+        scanner.forEachFile(new File(basePath), this::isScannable, file -> {
             String fullClassName = getFullClassName(file);
+            String cacheKey = analysisCache != null ? reflectiveCacheKey(fullClassName) : null;
+            CachedType type = cacheKey != null ? analysisCache.get(cacheKey) : null;
             try {
-                Class<?> cls = Class.forName(fullClassName);
-                String type = determineClassType(cls);
-                
-                switch (type) {
-                    case "class" -> typeCollections.get("class").add(new ClassAbout(fullClassName));
-                    case "interface" -> typeCollections.get("interface").add(new InterfaceAbout(fullClassName));
-                    case "enum" -> typeCollections.get("enum").add(new EnumAbout(fullClassName));
-                    case "annotation" -> typeCollections.get("annotation").add(new AnnotationAbout(fullClassName));
+                if (type == null) {
+                    type = analyzeType(fullClassName);
+                    if (cacheKey != null) analysisCache.put(cacheKey, type);
+                } else {
+                    type = canonicalize(type);
                 }
+                modelIndex.add(fullClassName, type.getKind(), type.getClassView(), type.getModel());
             } catch (ClassNotFoundException e) {
                 // Handle exception
             }
         });
+        return modelIndex;
+    }
+
+    private CachedType analyzeType(String fullClassName) throws ClassNotFoundException {
+        return analyzeType(Class.forName(fullClassName, false, PackageExplorer.class.getClassLoader()));
+    }
+
+    private CachedType analyzeType(Class<?> cls) {
+        ClassAbout classView = new ClassAbout(cls, typeRegistry);
+        Kind kind = determineClassType(cls);
+
+        return switch (kind) {
+            case CLASS -> new CachedType(kind, classView, classView);
+            case INTERFACE -> new CachedType(kind, classView, typeRegistry.interfaceOf(cls));
+            case ENUM -> new CachedType(kind, classView, new EnumAbout(cls));
+            case ANNOTATION -> new CachedType(kind, classView, new AnnotationAbout(cls));
+        };
+    }
+
+    private CachedType canonicalize(CachedType type) {
+        typeRegistry.canonicalize(type.getClassView());
+        if (type.getModel() instanceof InterfaceAbout interfaceAbout) {
+            return new CachedType(type.getKind(), type.getClassView(), typeRegistry.intern(interfaceAbout));
+        }
+        return type;
+    }
+
+    private ModelIndex indexClassPath(ParallelScanner scanner) {
+        ModelIndex modelIndex = new ModelIndex();
+        ClassLoaderPool pool = classLoaderPool != null ? classLoaderPool : new ClassLoaderPool();
+        try {
+            ClassLoader loader = pool.acquire(classPath);
+            scanner.forEach(listClassEntries(scanner), entry -> {
+                String cacheKey = analysisCache != null ? classPathCacheKey(entry, loader) : null;
+                CachedType type = cacheKey != null ? analysisCache.get(cacheKey) : null;
+                try {
+                    if (type == null) {
+                        type = analyzeType(Class.forName(entry.getClassName(), false, loader));
+                        if (cacheKey != null) analysisCache.put(cacheKey, type);
+                    } else {
+                        type = canonicalize(type);
+                    }
+                    modelIndex.add(entry.getClassName(), type.getKind(), type.getClassView(), type.getModel());
+                } catch (ClassNotFoundException | LinkageError e) {
+                    e.printStackTrace();
+                }
+            });
+        } finally {
+            if (pool != classLoaderPool) {
+                pool.close();
+            }
+        }
+        return modelIndex;
+    }
+
+    private String classPathCacheKey(ClassEntry entry, ClassLoader loader) {
+        try {
+            return reflectiveCacheKey(entry.read(), loader);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private String reflectiveCacheKey(String fullClassName) {
+        ClassLoader loader = PackageExplorer.class.getClassLoader();
+        ByteBuffer content = readClassResource(loader, fullClassName);
+        try {
+            return content == null ? null : reflectiveCacheKey(content, loader);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // same shape as bytecodeCacheKey, so a changed interface invalidates its implementors on every path
+    private String reflectiveCacheKey(ByteBuffer content, ClassLoader loader) {
+        List<String> interfaceHashes = new ArrayList<>();
+        for (String iface : new ClassFileReader(content.duplicate()).read().getInterfaces()) {
+            ByteBuffer interfaceContent = readClassResource(loader, iface);
+            interfaceHashes.add(interfaceContent != null ? AnalysisCache.key(interfaceContent) : iface);
+        }
+        return AnalysisCache.key(AnalysisCache.key(content), interfaceHashes);
+    }
+
+    private ByteBuffer readClassResource(ClassLoader loader, String className) {
+        try (InputStream input = loader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            return input == null ? null : ByteBuffer.wrap(input.readAllBytes());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private ModelIndex indexClassFiles(ParallelScanner scanner) {
+        ModelIndex modelIndex = new ModelIndex();
+        classFiles = new ConcurrentHashMap<>();
+        contentHashes = new ConcurrentHashMap<>();
+        readClassFiles(scanner, listClassEntries(scanner));
+        indexTypes(scanner, modelIndex);
+        return modelIndex;
+    }
+
+    private ModelIndex indexSourceFiles(ParallelScanner scanner) {
+        ModelIndex modelIndex = new ModelIndex();
+        classFiles = new ConcurrentHashMap<>();
+        contentHashes = new ConcurrentHashMap<>();
+        List<ParsedSource> sources = parseSourceFiles(scanner, listSourceFiles(scanner));
+
+        Set<String> knownTypes = new HashSet<>();
+        for (ParsedSource source : sources) {
+            knownTypes.addAll(SourceTypeResolver.declaredTypes(source.getUnit()));
+        }
+        ByteBuffer knownTypesKey = ByteBuffer.wrap(String.join("\n", new TreeSet<>(knownTypes)).getBytes(StandardCharsets.UTF_8));
+        SourceTypeReader reader = new SourceTypeReader(knownTypes);
+
+        scanner.forEach(sources, source -> {
+            for (ClassFileInfo info : reader.read(source)) {
+                classFiles.put(info.getName(), info);
+                if (analysisCache != null) {
+                    contentHashes.put(info.getName(), AnalysisCache.key(source.getContent(), knownTypesKey));
+                }
+            }
+        });
+        indexTypes(scanner, modelIndex);
+        return modelIndex;
+    }
+
+    private List<Path> listSourceFiles(ParallelScanner scanner) {
+        List<Path> roots = new ArrayList<>();
+        if (basePath != null) {
+            roots.add(Paths.get(basePath));
+        } else {
+            for (ClassPathSource source : classPath.getSources()) {
+                if (source instanceof DirectorySource directorySource) {
+                    roots.add(directorySource.getRoot().resolve(packageName.replace('.', '/')));
+                }
+            }
+        }
+
+        Queue<Path> files = new ConcurrentLinkedQueue<>();
+        for (Path root : roots) {
+            scanner.forEachFile(root.toFile(), this::isSourceFile, file -> files.add(file.toPath()));
+        }
+        List<Path> sorted = new ArrayList<>(files);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private boolean isSourceFile(File file) {
+        String name = file.getName();
+        return name.endsWith(".java") && !name.equals("package-info.java") && !name.equals("module-info.java");
+    }
+
+    private List<ParsedSource> parseSourceFiles(ParallelScanner scanner, List<Path> files) {
+        SourceFileParser parser = new SourceFileParser();
+        Queue<ParsedSource> parsed = new ConcurrentLinkedQueue<>();
+        scanner.forEachBatch(files, SOURCE_BATCH_SIZE, batch -> {
+            try {
+                parsed.addAll(parser.parse(batch));
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+        return new ArrayList<>(parsed);
+    }
 
-        packageAbout.setClasses(
-            typeCollections.get("class").stream()
-                .map(obj -> (ClassAbout) obj)
-                .collect(Collectors.toList())
-        );
-        packageAbout.setInterfaces(
-            typeCollections.get("interface").stream()
-                .map(obj -> (InterfaceAbout) obj)
-                .collect(Collectors.toList())
-        );
-        packageAbout.setEnums(
-            typeCollections.get("enum").stream()
-                .map(obj -> (EnumAbout) obj)
-                .collect(Collectors.toList())
-        );
-        packageAbout.setAnnotations(
-            typeCollections.get("annotation").stream()
-                .map(obj -> (AnnotationAbout) obj)
-                .collect(Collectors.toList())
-        );
+    private void indexTypes(ParallelScanner scanner, ModelIndex modelIndex) {
+        BytecodeModelBuilder builder = new BytecodeModelBuilder(classFiles, typeRegistry, lazyMembers);
+        scanner.forEach(new ArrayList<>(classFiles.values()), info -> indexType(modelIndex, builder, info));
+    }
+
+    private ModelIndex.IndexedType indexType(ModelIndex modelIndex, BytecodeModelBuilder builder, ClassFileInfo info) {
+        String cacheKey = analysisCache != null ? bytecodeCacheKey(info) : null;
+        CachedType type = cacheKey != null ? analysisCache.get(cacheKey) : null;
+        if (type == null) {
+            type = buildType(builder, info);
+            if (cacheKey != null) analysisCache.put(cacheKey, type);
+        } else {
+            type = canonicalize(type);
+        }
+        return modelIndex.add(info.getName(), type.getKind(), type.getClassView(), type.getModel());
+    }
+
+    private CachedType buildType(BytecodeModelBuilder builder, ClassFileInfo info) {
+        ClassAbout classView = builder.buildClass(info);
+        Kind kind = determineClassType(info);
+
+        return switch (kind) {
+            case CLASS -> new CachedType(kind, classView, classView);
+            case INTERFACE -> new CachedType(kind, classView, builder.buildInterface(info));
+            case ENUM -> new CachedType(kind, classView, builder.buildEnum(info));
+            case ANNOTATION -> new CachedType(kind, classView, builder.buildAnnotation(info));
+        };
+    }
 
+    private String bytecodeCacheKey(ClassFileInfo info) {
+        String contentHash = contentHashes.get(info.getName());
+        if (contentHash == null) return null;
+        List<String> interfaceHashes = new ArrayList<>();
+        for (String iface : info.getInterfaces()) {
+            interfaceHashes.add(contentHashes.getOrDefault(iface, iface));
+        }
+        return AnalysisCache.key(contentHash, interfaceHashes);
+    }
+
+    private void readClassFiles(ParallelScanner scanner, List<ClassEntry> entries) {
+        scanner.forEach(entries, entry -> {
+            try {
+                ByteBuffer content = entry.read();
+                ClassFileInfo info = new ClassFileReader(content).read();
+                classFiles.put(info.getName(), info);
+                if (analysisCache != null) {
+                    contentHashes.put(info.getName(), AnalysisCache.key(content));
+                }
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private List<ClassEntry> listClassEntries(ParallelScanner scanner) {
+        List<ClassEntry> entries = new ArrayList<>();
+        try {
+            for (ClassEntry entry : scanner.listClasses(classPath, packageName)) {
+                if (entry.isTopLevel()) {
+                    entries.add(entry);
+                }
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+        return entries;
+    }
+
+    public List<ClassEntry> listClassEntries() {
+        try (ParallelScanner scanner = new ParallelScanner(parallelism)) {
+            return listClassEntries(scanner);
+        }
+    }
+
+    public synchronized List<TypeUpdate> update(Collection<ClassEntry> changedEntries, Collection<String> removedTypes) {
+        if (scanMode != ScanMode.BYTECODE) {
+            throw new IllegalStateException("Incremental updates need a bytecode scan");
+        }
+        ModelIndex modelIndex = getIndex();
+        List<TypeUpdate> updates = new ArrayList<>();
+        packageTrie = null;
+        associationGraph = null;
+        couplingMetrics = null;
+        queryIndex = null;
+
+        Set<String> changedTypes = new TreeSet<>();
+        for (ClassEntry entry : changedEntries) {
+            changedTypes.add(entry.getClassName());
+        }
+        Set<String> affectedTypes = new TreeSet<>(changedTypes);
+        affectedTypes.addAll(modelIndex.findDependents(changedTypes));
+        affectedTypes.addAll(modelIndex.findDependents(removedTypes));
+
+        for (String removedType : removedTypes) {
+            classFiles.remove(removedType);
+            contentHashes.remove(removedType);
+            affectedTypes.remove(removedType);
+            updates.add(new TypeUpdate(removedType, modelIndex.remove(removedType), null));
+        }
+        try (ParallelScanner scanner = new ParallelScanner(parallelism)) {
+            readClassFiles(scanner, new ArrayList<>(changedEntries));
+        }
+
+        for (String type : changedTypes) {
+            typeRegistry.remove(type);
+        }
+        for (String type : removedTypes) {
+            typeRegistry.remove(type);
+        }
+        BytecodeModelBuilder builder = new BytecodeModelBuilder(classFiles, typeRegistry, lazyMembers);
+        for (String affectedType : affectedTypes) {
+            ClassFileInfo info = classFiles.get(affectedType);
+            if (info != null) {
+                ModelIndex.IndexedType previous = indexType(modelIndex, builder, info);
+                if (compactModel != null) {
+                    compactTypes(modelIndex, List.of(modelIndex.get(affectedType)));
+                }
+                modelIndex.get(affectedType).getClassView().setMetricsSource(metricsSource);
+                updates.add(new TypeUpdate(affectedType, previous, modelIndex.get(affectedType)));
+            }
+        }
+        if (compactModel != null) {
+            compactModel.trim();
+        }
+        return updates;
+    }
+
+    public List<ClassAbout> findClasses() {
+        return getIndex().getClassViews();
+    }
+
+    public PackageAbout analyzePackage() {
+        return analyzePackage(packageName);
+    }
+
+    public PackageAbout analyzePackage(String subPackage) {
+        if (!isScanned()) {
+            return null;
+        }
+        PackageTrie.Node node = getPackageTrie().find(subPackage);
+        return node == null ? new PackageAbout(subPackage) : toPackage(node);
+    }
+
+    private PackageAbout toPackage(PackageTrie.Node node) {
+        PackageAbout packageAbout = new PackageAbout(node.getQualifiedName());
+        packageAbout.setTypeCount(node.getTotalTypeCount());
+        packageAbout.setPackageCount(node.getPackageCount());
+        packageAbout.setMetricsSource(metricsSource);
+        packageAbout.setLoader(this::loadPackage);
         return packageAbout;
     }
 
-    private String determineClassType(Class<?> cls) {
-        if (cls.isAnnotation()) return "annotation";
-        if (cls.isEnum()) return "enum";
-        if (cls.isInterface()) return "interface";
-        return "class";
+    private void loadPackage(PackageAbout packageAbout) {
+        ModelIndex modelIndex = getIndex();
+        String qualifiedName = packageAbout.getQualifiedName();
+        PackageTrie.Node node = getPackageTrie().find(qualifiedName);
+        if (node == null) {
+            return;
+        }
+        packageAbout.setClasses(modelIndex.getClasses(qualifiedName));
+        packageAbout.setInterfaces(modelIndex.getInterfaces(qualifiedName));
+        packageAbout.setEnums(modelIndex.getEnums(qualifiedName));
+        packageAbout.setAnnotations(modelIndex.getAnnotations(qualifiedName));
+
+        List<PackageAbout> subPackages = new ArrayList<>();
+        for (PackageTrie.Node child : node.getChildren()) {
+            subPackages.add(toPackage(child));
+        }
+        packageAbout.setPackages(subPackages);
+    }
+
+    private Kind determineClassType(ClassFileInfo info) {
+        if (info.isAnnotation()) return Kind.ANNOTATION;
+        if (info.isEnum()) return Kind.ENUM;
+        if (info.isInterface()) return Kind.INTERFACE;
+        return Kind.CLASS;
+    }
+
+    private Kind determineClassType(Class<?> cls) {
+        if (cls.isAnnotation()) return Kind.ANNOTATION;
+        if (cls.isEnum()) return Kind.ENUM;
+        if (cls.isInterface()) return Kind.INTERFACE;
+        return Kind.CLASS;
     }
 
     public Map<String, List<ClassAbout>> groupClassesByPackage() {
-        File directory = new File(basePath);
+        ModelIndex modelIndex = getIndex();
         Map<String, List<ClassAbout>> packageMap = new HashMap<>();
 
-        if (directory.exists() && directory.isDirectory()) {
-            getJavaFiles(directory).forEach(file -> {
-                String fullClassName = getFullClassName(file);
-                String currentPackage = fullClassName.substring(0, fullClassName.lastIndexOf('.'));
-                packageMap.computeIfAbsent(currentPackage, k -> new ArrayList<>())
-                    .add(new ClassAbout(fullClassName));
-            });
+        for (String currentPackage : modelIndex.getPackageNames()) {
+            packageMap.put(currentPackage, modelIndex.getClassViews(currentPackage));
         }
 
         return packageMap;
     }
-}
\ No newline at end of file
+}
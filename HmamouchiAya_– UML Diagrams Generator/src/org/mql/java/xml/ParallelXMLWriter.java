@@ -0,0 +1,119 @@
+package org.mql.java.xml;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.mql.java.index.ParallelScanner;
+import org.mql.java.models.*;
+
+class ParallelXMLWriter {
+    private static final int TYPES_PER_FRAGMENT = 32;
+    private static final int FRAGMENTS_PER_THREAD = 4;
+
+    private final ParallelScanner scanner;
+    private final OutputStream out;
+    private final int window;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    ParallelXMLWriter(ParallelScanner scanner, OutputStream out) {
+        this.scanner = scanner;
+        this.out = out;
+        this.window = scanner.getParallelism() * FRAGMENTS_PER_THREAD;
+    }
+
+    // fragments are queued in document order and written as soon as the head is ready,
+    // so the output matches the sequential writer byte for byte
+    void write(PackageAbout rootPackage) throws IOException {
+        emit(render(0, StreamingXMLGenerator::writeProjectStart));
+        writePackage(rootPackage, 1);
+        emit(render(1, output -> output.end("project")));
+        drain(0);
+        out.flush();
+    }
+
+    private void writePackage(PackageAbout packageAbout, int depth) throws IOException {
+        boolean wasLoaded = packageAbout.isLoaded();
+        emit(render(depth, output -> StreamingXMLGenerator.writePackageStart(packageAbout, depth == 1, output)));
+
+        List<Fragment> types = new ArrayList<>();
+        for (ClassAbout classAbout : packageAbout.getClasses()) {
+            types.add(output -> StreamingXMLGenerator.writeClass(classAbout, output));
+        }
+        for (InterfaceAbout interfaceAbout : packageAbout.getInterfaces()) {
+            types.add(output -> StreamingXMLGenerator.writeInterface(interfaceAbout, output));
+        }
+        for (EnumAbout enumAbout : packageAbout.getEnums()) {
+            types.add(output -> StreamingXMLGenerator.writeEnum(enumAbout, output));
+        }
+        for (AnnotationAbout annotationAbout : packageAbout.getAnnotations()) {
+            types.add(output -> StreamingXMLGenerator.writeAnnotation(annotationAbout, output));
+        }
+        List<PackageAbout> subPackages = packageAbout.getPackages() != null
+                ? new ArrayList<>(packageAbout.getPackages()) : List.of();
+        if (!wasLoaded) {
+            packageAbout.collapse();
+        }
+
+        for (int from = 0; from < types.size(); from += TYPES_PER_FRAGMENT) {
+            List<Fragment> chunk = types.subList(from, Math.min(types.size(), from + TYPES_PER_FRAGMENT));
+            pending.add(scanner.submit(() -> render(depth + 1, output -> {
+                for (Fragment type : chunk) {
+                    type.writeTo(output);
+                }
+            })));
+            drain(window);
+        }
+        for (PackageAbout subPackage : subPackages) {
+            writePackage(subPackage, depth + 1);
+        }
+        emit(render(depth + 1, output -> output.end("package")));
+    }
+
+    private void emit(byte[] fragment) throws IOException {
+        pending.add(CompletableFuture.completedFuture(fragment));
+        drain(window);
+    }
+
+    private void drain(int limit) throws IOException {
+        while (pending.size() > limit) {
+            out.write(join(pending.removeFirst()));
+        }
+    }
+
+    private static byte[] join(Future<byte[]> fragment) throws IOException {
+        try {
+            return fragment.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing XML");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static byte[] render(int depth, Fragment fragment) throws IOException {
+        StringWriter writer = new StringWriter();
+        fragment.writeTo(new XMLOutput(writer, depth));
+        return writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private interface Fragment {
+        void writeTo(XMLOutput output) throws IOException;
+    }
+}
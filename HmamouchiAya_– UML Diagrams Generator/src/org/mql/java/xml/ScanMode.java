@@ -0,0 +1,23 @@
+package org.mql.java.xml;
+
+public enum ScanMode {
+    REFLECTION("src/", ".java"),
+    BYTECODE("bin/", ".class"),
+    SOURCE("src/", ".java");
+
+    private final String rootDirectory;
+    private final String extension;
+
+    ScanMode(String rootDirectory, String extension) {
+        this.rootDirectory = rootDirectory;
+        this.extension = extension;
+    }
+
+    public String getRootDirectory() {
+        return rootDirectory;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
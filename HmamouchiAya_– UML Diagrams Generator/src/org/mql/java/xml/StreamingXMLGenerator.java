@@ -0,0 +1,282 @@
+package org.mql.java.xml;
+
+import org.mql.java.index.ParallelScanner;
+import org.mql.java.models.*;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class StreamingXMLGenerator {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static Path generateXML(PackageAbout rootPackage) throws IOException {
+        return generateXML(rootPackage, 1);
+    }
+
+    public static Path generateXML(PackageAbout rootPackage, int parallelism) throws IOException {
+        Path file = Paths.get("resources/generatedXML/" + rootPackage.getPackageName().replace('.', '/') + ".xml");
+        write(rootPackage, file, parallelism);
+        System.out.println("XML file saved to: " + file.toAbsolutePath());
+        return file;
+    }
+
+    public static void write(PackageAbout rootPackage, Path file) throws IOException {
+        write(rootPackage, file, 1);
+    }
+
+    public static void write(PackageAbout rootPackage, Path file, int parallelism) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (parallelism > 1) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                write(rootPackage, out, parallelism);
+                return;
+            }
+            try (Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                write(rootPackage, writer);
+            }
+        }
+    }
+
+    public static void write(PackageAbout rootPackage, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        write(rootPackage, writer);
+        writer.flush();
+    }
+
+    public static void write(PackageAbout rootPackage, OutputStream out, int parallelism) throws IOException {
+        if (parallelism <= 1) {
+            write(rootPackage, out);
+            return;
+        }
+        try (ParallelScanner scanner = new ParallelScanner(parallelism)) {
+            new ParallelXMLWriter(scanner, out).write(rootPackage);
+        }
+    }
+
+    public static void write(PackageAbout rootPackage, Writer writer) throws IOException {
+        XMLOutput output = new XMLOutput(writer);
+        writeProjectStart(output);
+        writePackage(rootPackage, true, output);
+        output.end("project");
+        output.flush();
+    }
+
+    static void writeProjectStart(XMLOutput output) throws IOException {
+        output.declaration();
+        output.start("project", ModelSchema.VERSION_ATTRIBUTE, String.valueOf(ModelSchema.VERSION));
+    }
+
+    // only the root carries its qualified name, the parser derives the others from their parents
+    static void writePackageStart(PackageAbout packageAbout, boolean root, XMLOutput output) throws IOException {
+        if (root && packageAbout.getQualifiedName() != null) {
+            output.start("package", "name", packageAbout.getPackageName(), "qualifiedName", packageAbout.getQualifiedName());
+        } else {
+            output.start("package", "name", packageAbout.getPackageName());
+        }
+        writePackageMetrics(packageAbout.getMetrics(), output);
+    }
+
+    static void writePackage(PackageAbout packageAbout, boolean root, XMLOutput output) throws IOException {
+        boolean wasLoaded = packageAbout.isLoaded();
+        writePackageStart(packageAbout, root, output);
+        writePackageContents(packageAbout, output);
+        List<PackageAbout> subPackages = packageAbout.getPackages() != null
+                ? new ArrayList<>(packageAbout.getPackages()) : List.of();
+        if (!wasLoaded) {
+            packageAbout.collapse();
+        }
+        for (PackageAbout subPackage : subPackages) {
+            writePackage(subPackage, false, output);
+        }
+        output.end("package");
+    }
+
+    static void writePackageContents(PackageAbout packageAbout, XMLOutput output) throws IOException {
+        for (ClassAbout classAbout : packageAbout.getClasses()) {
+            writeClass(classAbout, output);
+        }
+        for (InterfaceAbout interfaceAbout : packageAbout.getInterfaces()) {
+            writeInterface(interfaceAbout, output);
+        }
+        for (EnumAbout enumAbout : packageAbout.getEnums()) {
+            writeEnum(enumAbout, output);
+        }
+        for (AnnotationAbout annotationAbout : packageAbout.getAnnotations()) {
+            writeAnnotation(annotationAbout, output);
+        }
+    }
+
+    private static void writePackageMetrics(PackageMetrics metrics, XMLOutput output) throws IOException {
+        if (metrics != null) {
+            output.empty("metrics",
+                "abstractCount", String.valueOf(metrics.abstractCount()),
+                "abstractness", String.valueOf(metrics.abstractness()),
+                "afferentCoupling", String.valueOf(metrics.afferentCoupling()),
+                "distance", String.valueOf(metrics.distance()),
+                "efferentCoupling", String.valueOf(metrics.efferentCoupling()),
+                "instability", String.valueOf(metrics.instability()),
+                "typeCount", String.valueOf(metrics.typeCount()));
+        }
+    }
+
+    static void writeClass(ClassAbout classAbout, XMLOutput output) throws IOException {
+        output.start("class");
+        output.text("name", classAbout.getSimpleName());
+        if (classAbout.getModifiers() != null) {
+            output.text("modifiers", classAbout.getModifiers());
+        }
+        writeRelationships(classAbout, output);
+        if (!classAbout.getImplementedInterfaces().isEmpty()) {
+            output.start("implementedInterfaces");
+            for (InterfaceAbout iface : classAbout.getImplementedInterfaces()) {
+                output.empty("interface", "name", iface.getSimpleName(), "qualifiedName", iface.getName());
+            }
+            output.end("implementedInterfaces");
+        }
+        if (!classAbout.getAnnotations().isEmpty()) {
+            output.start("annotations");
+            for (String annotation : classAbout.getAnnotations()) {
+                output.text("annotation", annotation);
+            }
+            output.end("annotations");
+        }
+        ClassMetrics metrics = classAbout.getMetrics();
+        if (metrics != null) {
+            output.empty("metrics", "fanIn", String.valueOf(metrics.fanIn()), "fanOut", String.valueOf(metrics.fanOut()));
+        }
+        writeFields(classAbout.getFields(), output);
+        writeMethods(classAbout.getMethods(), output);
+        output.end("class");
+    }
+
+    private static void writeRelationships(ClassAbout classAbout, XMLOutput output) throws IOException {
+        if (classAbout.getSuperClass() == null && classAbout.getDependencyAssociations().isEmpty()
+                && classAbout.getCompositionAssociations().isEmpty() && classAbout.getAggregationAssociations().isEmpty()) {
+            output.empty("relationships");
+            return;
+        }
+        output.start("relationships");
+        if (classAbout.getSuperClass() != null) {
+            output.text("parent", classAbout.getSuperClass());
+        }
+        for (AssociationAbout association : classAbout.getDependencyAssociations()) {
+            output.empty("uses",
+                "sourceClass", association.getSourceClassName(),
+                "targetClass", association.getTargetClassName());
+        }
+        for (AssociationAbout association : classAbout.getCompositionAssociations()) {
+            output.empty("composition",
+                "sourceClass", association.getSourceClassName(),
+                "targetClass", association.getTargetClassName(),
+                "upperBound", association.getUpperBound());
+        }
+        for (AssociationAbout association : classAbout.getAggregationAssociations()) {
+            output.empty("aggregation",
+                "sourceClass", association.getSourceClassName(),
+                "targetClass", association.getTargetClassName(),
+                "upperBound", association.getUpperBound());
+        }
+        output.end("relationships");
+    }
+
+    static void writeInterface(InterfaceAbout interfaceAbout, XMLOutput output) throws IOException {
+        output.start("interface");
+        output.text("simpleName", interfaceAbout.getSimpleName());
+        output.text("name", interfaceAbout.getName());
+        output.text("modifiers", interfaceAbout.getModifiers());
+        if (interfaceAbout.superClass() != null) {
+            output.text("extendedClass", interfaceAbout.superClass());
+        }
+        writeFields(interfaceAbout.getFields(), output);
+        writeMethods(interfaceAbout.getMethods(), output);
+        output.end("interface");
+    }
+
+    static void writeAnnotation(AnnotationAbout annotationAbout, XMLOutput output) throws IOException {
+        output.start("annotation");
+        output.text("name", annotationAbout.getAnnotationName());
+        output.text("retentionPolicy", annotationAbout.getPolicy().toString());
+        output.text("hasInherited", String.valueOf(annotationAbout.inheritanceStatus()));
+        if (annotationAbout.getMethodProperties().isEmpty()) {
+            output.empty("methodProperties");
+        } else {
+            output.start("methodProperties");
+            for (Map.Entry<String, String> methodPropertie : annotationAbout.getMethodProperties().entrySet()) {
+                output.start("methodPropertie");
+                output.text("name", methodPropertie.getKey());
+                output.text("type", methodPropertie.getValue());
+                output.end("methodPropertie");
+            }
+            output.end("methodProperties");
+        }
+        output.end("annotation");
+    }
+
+    static void writeEnum(EnumAbout enumAbout, XMLOutput output) throws IOException {
+        output.start("enum");
+        output.text("name", enumAbout.getQualifiedName());
+        List<String> fields = enumAbout.getFields();
+        if (fields.isEmpty()) {
+            output.empty("fields");
+        } else {
+            output.start("fields");
+            for (String field : fields) {
+                output.text("field", field);
+            }
+            output.end("fields");
+        }
+        output.end("enum");
+    }
+
+    private static void writeFields(List<FieldAbout> fields, XMLOutput output) throws IOException {
+        if (fields.isEmpty()) {
+            output.empty("fields");
+            return;
+        }
+        output.start("fields");
+        for (FieldAbout field : fields) {
+            output.start("field");
+            output.text("name", field.getFieldName());
+            output.text("type", field.getFieldType());
+            output.text("modifier", String.valueOf(field.getModifier()));
+            output.end("field");
+        }
+        output.end("fields");
+    }
+
+    private static void writeMethods(List<MethodAbout> methods, XMLOutput output) throws IOException {
+        if (methods.isEmpty()) {
+            output.empty("methods");
+            return;
+        }
+        output.start("methods");
+        for (MethodAbout method : methods) {
+            output.start("method");
+            output.text("name", method.getMethodName());
+            output.text("returnType", method.getOutputType());
+            output.text("modifier", String.valueOf(method.getModifer()));
+            if (method.getArguments() != null) {
+                output.text("arguments", method.getArguments());
+            }
+            output.end("method");
+        }
+        output.end("methods");
+    }
+}
@@ -0,0 +1,507 @@
+package org.mql.java.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.mql.java.models.*;
+
+public class StreamingXMLParser {
+    static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final Path file;
+    private Set<String> packages;
+    private Set<String> classes;
+    private boolean validating;
+    private int schemaVersion = -1;
+    private final Set<String> ancestors = new HashSet<>();
+    private final Set<String> classPackages = new HashSet<>();
+
+    public StreamingXMLParser(String path) {
+        this(Paths.get(path));
+    }
+
+    public StreamingXMLParser(Path file) {
+        this.file = file;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        return factory;
+    }
+
+    public StreamingXMLParser selectPackages(Collection<String> packageNames) {
+        packages = new HashSet<>(packageNames);
+        for (String packageName : packageNames) {
+            addAncestors(packageName);
+        }
+        return this;
+    }
+
+    public StreamingXMLParser selectClasses(Collection<String> classNames) {
+        classes = new HashSet<>(classNames);
+        for (String className : classNames) {
+            String packageName = packageOf(className);
+            classPackages.add(packageName);
+            addAncestors(packageName);
+        }
+        return this;
+    }
+
+    private void addAncestors(String packageName) {
+        for (int separator = packageName.lastIndexOf('.'); separator > 0; separator = packageName.lastIndexOf('.', separator - 1)) {
+            ancestors.add(packageName.substring(0, separator));
+        }
+        if (!packageName.isEmpty()) {
+            ancestors.add("");
+        }
+    }
+
+    public StreamingXMLParser validating(boolean validating) {
+        this.validating = validating;
+        return this;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public PackageAbout parse() throws IOException {
+        if (validating) {
+            ModelSchema.validate(file);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                reader.nextTag();
+                requireStart(reader, "project");
+                schemaVersion = ModelSchema.readVersion(reader);
+                PackageAbout root = null;
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if (root == null && reader.getLocalName().equals("package")) {
+                        root = readRoot(reader);
+                    } else {
+                        skip(reader);
+                    }
+                }
+                return root;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to parse " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private boolean selectsAll() {
+        return packages == null && classes == null;
+    }
+
+    // a selected package brings in its subpackages too
+    private boolean coversPackage(String qualifiedName) {
+        if (packages == null) {
+            return false;
+        }
+        for (String current = qualifiedName; ; current = current.substring(0, current.lastIndexOf('.'))) {
+            if (packages.contains(current)) {
+                return true;
+            }
+            if (current.lastIndexOf('.') < 0) {
+                return packages.contains("");
+            }
+        }
+    }
+
+    private boolean loadsPackage(String qualifiedName) {
+        return selectsAll() || classPackages.contains(qualifiedName) || coversPackage(qualifiedName);
+    }
+
+    private boolean loadsClass(String qualifiedName) {
+        return selectsAll() || (classes != null && classes.contains(qualifiedName)) || coversPackage(packageOf(qualifiedName));
+    }
+
+    // a selection that matches nothing still yields the root package, just without any types
+    private PackageAbout readRoot(XMLStreamReader reader) throws XMLStreamException {
+        String name = attribute(reader, "name");
+        // documents written before the attribute existed only know the root by its simple name
+        String qualifiedName = attribute(reader, "qualifiedName");
+        if (qualifiedName == null) {
+            qualifiedName = name;
+        }
+        PackageAbout root = readPackage(reader, name, qualifiedName);
+        if (root == null) {
+            root = new PackageAbout(qualifiedName);
+            root.setPackageName(name);
+        }
+        return root;
+    }
+
+    private PackageAbout readPackage(XMLStreamReader reader, String name, String qualifiedName) throws XMLStreamException {
+        boolean loadTypes = loadsPackage(qualifiedName);
+        if (!loadTypes && !ancestors.contains(qualifiedName)) {
+            skip(reader);
+            return null;
+        }
+
+        PackageAbout packageAbout = new PackageAbout(qualifiedName);
+        packageAbout.setPackageName(name);
+        List<PackageAbout> subPackages = new Vector<>();
+        List<ClassAbout> packageClasses = new Vector<>();
+        List<InterfaceAbout> interfaces = new Vector<>();
+        List<EnumAbout> enums = new Vector<>();
+        List<AnnotationAbout> annotations = new Vector<>();
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "metrics" -> packageAbout.setMetrics(readPackageMetrics(reader));
+                case "package" -> {
+                    String subPackageName = attribute(reader, "name");
+                    PackageAbout subPackage = readPackage(reader, subPackageName,
+                            qualifiedName.isEmpty() ? subPackageName : qualifiedName + "." + subPackageName);
+                    if (subPackage != null) {
+                        subPackages.add(subPackage);
+                    }
+                }
+                case "class" -> {
+                    ClassAbout classAbout = loadTypes ? readClass(reader, qualifiedName) : skip(reader);
+                    if (classAbout != null) {
+                        packageClasses.add(classAbout);
+                    }
+                }
+                case "interface" -> {
+                    InterfaceAbout interfaceAbout = loadTypes ? readInterface(reader) : skip(reader);
+                    if (interfaceAbout != null) {
+                        interfaces.add(interfaceAbout);
+                    }
+                }
+                case "enum" -> {
+                    EnumAbout enumAbout = loadTypes ? readEnum(reader) : skip(reader);
+                    if (enumAbout != null) {
+                        enums.add(enumAbout);
+                    }
+                }
+                case "annotation" -> {
+                    AnnotationAbout annotationAbout = loadTypes ? readAnnotation(reader, qualifiedName) : skip(reader);
+                    if (annotationAbout != null) {
+                        annotations.add(annotationAbout);
+                    }
+                }
+                default -> skip(reader);
+            }
+        }
+
+        packageAbout.setPackages(subPackages);
+        packageAbout.setClasses(packageClasses);
+        packageAbout.setInterfaces(interfaces);
+        packageAbout.setEnums(enums);
+        packageAbout.setAnnotations(annotations);
+        return packageAbout;
+    }
+
+    private PackageMetrics readPackageMetrics(XMLStreamReader reader) throws XMLStreamException {
+        PackageMetrics metrics = new PackageMetrics(intAttribute(reader, "typeCount"), intAttribute(reader, "abstractCount"),
+                intAttribute(reader, "afferentCoupling"), intAttribute(reader, "efferentCoupling"));
+        skip(reader);
+        return metrics;
+    }
+
+    private ClassAbout readClass(XMLStreamReader reader, String packageName) throws XMLStreamException {
+        ClassAbout cls = new ClassAbout();
+        List<AssociationAbout> dependencies = new Vector<>();
+        List<AssociationAbout> compositions = new Vector<>();
+        List<AssociationAbout> aggregations = new Vector<>();
+        List<InterfaceAbout> implementedInterfaces = new Vector<>();
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "name" -> {
+                    String simpleName = reader.getElementText();
+                    String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+                    if (!loadsClass(qualifiedName)) {
+                        skipRemainder(reader);
+                        return null;
+                    }
+                    cls.setSimpleName(simpleName);
+                    cls.setName(qualifiedName);
+                }
+                case "modifiers" -> cls.setModifiers(reader.getElementText());
+                case "relationships" -> readRelationships(reader, cls, dependencies, compositions, aggregations);
+                case "implementedInterfaces" -> {
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        InterfaceAbout iface = new InterfaceAbout();
+                        String qualifiedName = attribute(reader, "qualifiedName");
+                        iface.setName(qualifiedName != null ? qualifiedName : attribute(reader, "name"));
+                        iface.setSimpleName(attribute(reader, "name"));
+                        implementedInterfaces.add(iface);
+                        skip(reader);
+                    }
+                }
+                case "annotations" -> {
+                    List<String> annotations = new Vector<>();
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        annotations.add(reader.getElementText());
+                    }
+                    cls.setAnnotations(annotations);
+                }
+                case "metrics" -> {
+                    cls.setMetrics(new ClassMetrics(intAttribute(reader, "fanIn"), intAttribute(reader, "fanOut")));
+                    skip(reader);
+                }
+                case "fields" -> cls.setFields(readFields(reader));
+                case "methods" -> cls.setMethods(readMethods(reader));
+                default -> skip(reader);
+            }
+        }
+        requireName(reader, "class", cls.getName());
+
+        cls.setDependencyAssociations(dependencies);
+        cls.setCompositionAssociations(compositions);
+        cls.setAggregationAssociations(aggregations);
+        List<AssociationAbout> associations = new Vector<>();
+        if (cls.getSuperClass() != null) {
+            associations.add(new AssociationAbout(cls.getName(), cls.getSuperClass(), "Inheritance"));
+        }
+        associations.addAll(dependencies);
+        associations.addAll(compositions);
+        associations.addAll(aggregations);
+        cls.setAssociations(associations);
+        cls.setImplementedInterfaces(implementedInterfaces);
+        return cls;
+    }
+
+    private void readRelationships(XMLStreamReader reader, ClassAbout cls, List<AssociationAbout> dependencies,
+                                   List<AssociationAbout> compositions, List<AssociationAbout> aggregations) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "parent" -> cls.setSuperClass(reader.getElementText());
+                case "uses" -> dependencies.add(readAssociation(reader, "Use"));
+                case "composition" -> compositions.add(readAssociation(reader, "Composition"));
+                case "aggregation" -> aggregations.add(readAssociation(reader, "Aggregation"));
+                default -> skip(reader);
+            }
+        }
+    }
+
+    private AssociationAbout readAssociation(XMLStreamReader reader, String associationType) throws XMLStreamException {
+        // unversioned exports spelled these attributes differently per relationship kind
+        String source = attribute(reader, "sourceClass");
+        if (source == null) {
+            source = attribute(reader, "sourcetClass");
+        }
+        String target = attribute(reader, "targetClass");
+        if (target == null) {
+            target = attribute(reader, "targetclass");
+        }
+        AssociationAbout association = new AssociationAbout(source, target, associationType);
+        String upperBound = attribute(reader, "upperBound");
+        if (upperBound != null) {
+            association.setUpperBound(upperBound);
+        }
+        skip(reader);
+        return association;
+    }
+
+    private List<FieldAbout> readFields(XMLStreamReader reader) throws XMLStreamException {
+        List<FieldAbout> fields = new Vector<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            FieldAbout field = new FieldAbout();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "name" -> field.setFieldName(reader.getElementText());
+                    case "type" -> field.setFieldType(reader.getElementText());
+                    case "modifier" -> field.setModifier(readModifier(reader));
+                    default -> skip(reader);
+                }
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    private List<MethodAbout> readMethods(XMLStreamReader reader) throws XMLStreamException {
+        List<MethodAbout> methods = new Vector<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            MethodAbout method = new MethodAbout();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "name" -> method.setMethodName(reader.getElementText());
+                    case "returnType" -> method.setOutputType(reader.getElementText());
+                    case "modifier" -> method.setModifier(readModifier(reader));
+                    case "arguments" -> method.setArguments(reader.getElementText());
+                    default -> skip(reader);
+                }
+            }
+            methods.add(method);
+        }
+        return methods;
+    }
+
+    private InterfaceAbout readInterface(XMLStreamReader reader) throws XMLStreamException {
+        InterfaceAbout interfaceAbout = new InterfaceAbout();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "simpleName" -> interfaceAbout.setSimpleName(reader.getElementText());
+                case "name" -> {
+                    String name = reader.getElementText();
+                    if (!loadsClass(name)) {
+                        skipRemainder(reader);
+                        return null;
+                    }
+                    interfaceAbout.setName(name);
+                }
+                case "modifiers" -> interfaceAbout.setModifiers(reader.getElementText());
+                case "extendedClass" -> interfaceAbout.setSuperClass(reader.getElementText());
+                case "fields" -> interfaceAbout.setFields(readFields(reader));
+                case "methods" -> interfaceAbout.setMethods(readMethods(reader));
+                default -> skip(reader);
+            }
+        }
+        requireName(reader, "interface", interfaceAbout.getName());
+        return interfaceAbout;
+    }
+
+    private EnumAbout readEnum(XMLStreamReader reader) throws XMLStreamException {
+        String qualifiedName = null;
+        List<String> constants = new Vector<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "name" -> {
+                    qualifiedName = reader.getElementText();
+                    if (!loadsClass(qualifiedName)) {
+                        skipRemainder(reader);
+                        return null;
+                    }
+                }
+                case "fields" -> {
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        constants.add(reader.getElementText());
+                    }
+                }
+                default -> skip(reader);
+            }
+        }
+        requireName(reader, "enum", qualifiedName);
+        return new EnumAbout(qualifiedName, qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1), constants);
+    }
+
+    private AnnotationAbout readAnnotation(XMLStreamReader reader, String packageName) throws XMLStreamException {
+        String name = null;
+        RetentionPolicy policy = null;
+        boolean inherited = false;
+        Map<String, String> properties = new LinkedHashMap<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "name" -> {
+                    name = reader.getElementText();
+                    if (!loadsClass(packageName.isEmpty() ? name : packageName + "." + name)) {
+                        skipRemainder(reader);
+                        return null;
+                    }
+                }
+                case "retentionPolicy" -> policy = readRetentionPolicy(reader);
+                case "hasInherited" -> inherited = Boolean.parseBoolean(reader.getElementText());
+                case "methodProperties" -> {
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        String propertyName = null;
+                        String propertyType = null;
+                        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                            switch (reader.getLocalName()) {
+                                case "name" -> propertyName = reader.getElementText();
+                                case "type" -> propertyType = reader.getElementText();
+                                default -> skip(reader);
+                            }
+                        }
+                        properties.put(propertyName, propertyType);
+                    }
+                }
+                default -> skip(reader);
+            }
+        }
+        requireName(reader, "annotation", name);
+        return new AnnotationAbout(name, policy, inherited, properties);
+    }
+
+    private static void requireStart(XMLStreamReader reader, String name) throws XMLStreamException {
+        if (!reader.isStartElement() || !reader.getLocalName().equals(name)) {
+            throw new XMLStreamException("Expected <" + name + ">", reader.getLocation());
+        }
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        return reader.getAttributeValue(null, name);
+    }
+
+    private static int intAttribute(XMLStreamReader reader, String name) throws XMLStreamException {
+        String value = attribute(reader, name);
+        if (value == null) {
+            throw new XMLStreamException("Missing " + name + " attribute on <" + reader.getLocalName() + ">", reader.getLocation());
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Malformed " + name + " '" + value + "'", reader.getLocation());
+        }
+    }
+
+    private static char readModifier(XMLStreamReader reader) throws XMLStreamException {
+        String value = reader.getElementText();
+        if (value.isEmpty()) {
+            throw new XMLStreamException("Empty <modifier>", reader.getLocation());
+        }
+        return value.charAt(0);
+    }
+
+    private static RetentionPolicy readRetentionPolicy(XMLStreamReader reader) throws XMLStreamException {
+        String value = reader.getElementText();
+        try {
+            return RetentionPolicy.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new XMLStreamException("Unknown retentionPolicy '" + value + "'", reader.getLocation());
+        }
+    }
+
+    private static void requireName(XMLStreamReader reader, String element, String name) throws XMLStreamException {
+        if (name == null) {
+            throw new XMLStreamException("<" + element + "> has no <name>", reader.getLocation());
+        }
+    }
+
+    private static <T> T skip(XMLStreamReader reader) throws XMLStreamException {
+        skipRemainder(reader);
+        return null;
+    }
+
+    private static void skipRemainder(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static String packageOf(String qualifiedName) {
+        int separator = qualifiedName.lastIndexOf('.');
+        return separator < 0 ? "" : qualifiedName.substring(0, separator);
+    }
+}
@@ -16,7 +16,10 @@ public class XMLGenerator {
         Document doc = createDocument();
         Element rootElement = createRootElement(doc);
         
-        populatePackageXML(rootPackage, doc, rootElement);
+        Element rootPackageElement = populatePackageXML(rootPackage, doc, rootElement);
+        if (rootPackage.getQualifiedName() != null) {
+            rootPackageElement.setAttribute("qualifiedName", rootPackage.getQualifiedName());
+        }
         
         saveXMLToFile(doc, generateFilePath(rootPackage));
         return doc;
@@ -30,6 +33,7 @@ public class XMLGenerator {
 
     private static Element createRootElement(Document doc) {
         Element rootElement = doc.createElement("project");
+        rootElement.setAttribute(ModelSchema.VERSION_ATTRIBUTE, String.valueOf(ModelSchema.VERSION));
         doc.appendChild(rootElement);
         return rootElement;
     }
@@ -38,11 +42,13 @@ public class XMLGenerator {
         return "resources/generatedXML/" + rootPackage.getPackageName().replace('.', '/') + ".xml";
     }
 
-    private static void populatePackageXML(PackageAbout packageAbout, Document doc, Element parentElement) {
+    private static Element populatePackageXML(PackageAbout packageAbout, Document doc, Element parentElement) {
         Element packageElement = createElement(doc, parentElement, "package");
         packageElement.setAttribute("name", packageAbout.getPackageName());
+        createPackageMetricsXML(packageAbout.getMetrics(), doc, packageElement);
 
         processPackageContents(packageAbout, doc, packageElement);
+        return packageElement;
     }
 
     private static void processPackageContents(PackageAbout packageAbout, Document doc, Element packageElement) {
@@ -89,8 +95,13 @@ public class XMLGenerator {
         Element classElement = createElement(doc, parentElement, "class");
         
         createTextElement(doc, classElement, "name", classAbout.getSimpleName());
+        if (classAbout.getModifiers() != null) {
+            createTextElement(doc, classElement, "modifiers", classAbout.getModifiers());
+        }
         createRelationshipsXML(classAbout, doc, classElement);
         createImplementedInterfacesXML(classAbout, doc, classElement);
+        createAnnotationNamesXML(classAbout, doc, classElement);
+        createClassMetricsXML(classAbout.getMetrics(), doc, classElement);
         
         Element fieldsElement = createElement(doc, classElement, "fields");
         createFieldsXML(classAbout, doc, fieldsElement);
@@ -108,6 +119,36 @@ public class XMLGenerator {
         }
     }
 
+    private static void createAnnotationNamesXML(ClassAbout classAbout, Document doc, Element classElement) {
+        if (!classAbout.getAnnotations().isEmpty()) {
+            Element annotations = createElement(doc, classElement, "annotations");
+            for (String annotation : classAbout.getAnnotations()) {
+                createTextElement(doc, annotations, "annotation", annotation);
+            }
+        }
+    }
+
+    private static void createPackageMetricsXML(PackageMetrics metrics, Document doc, Element packageElement) {
+        if (metrics != null) {
+            Element metricsElement = createElement(doc, packageElement, "metrics");
+            metricsElement.setAttribute("typeCount", String.valueOf(metrics.typeCount()));
+            metricsElement.setAttribute("abstractCount", String.valueOf(metrics.abstractCount()));
+            metricsElement.setAttribute("afferentCoupling", String.valueOf(metrics.afferentCoupling()));
+            metricsElement.setAttribute("efferentCoupling", String.valueOf(metrics.efferentCoupling()));
+            metricsElement.setAttribute("abstractness", String.valueOf(metrics.abstractness()));
+            metricsElement.setAttribute("instability", String.valueOf(metrics.instability()));
+            metricsElement.setAttribute("distance", String.valueOf(metrics.distance()));
+        }
+    }
+
+    private static void createClassMetricsXML(ClassMetrics metrics, Document doc, Element classElement) {
+        if (metrics != null) {
+            Element metricsElement = createElement(doc, classElement, "metrics");
+            metricsElement.setAttribute("fanIn", String.valueOf(metrics.fanIn()));
+            metricsElement.setAttribute("fanOut", String.valueOf(metrics.fanOut()));
+        }
+    }
+
     private static Element createElement(Document doc, Element parentElement, String elementName) {
         Element element = doc.createElement(elementName);
         parentElement.appendChild(element);
@@ -202,6 +243,9 @@ public class XMLGenerator {
         createTextElement(doc, methodElement, "name", method.getMethodName());
         createTextElement(doc, methodElement, "returnType", method.getOutputType());
         createTextElement(doc, methodElement, "modifier", String.valueOf(method.getModifer()));
+        if (method.getArguments() != null) {
+            createTextElement(doc, methodElement, "arguments", method.getArguments());
+        }
     }
 
     private static void createRelationshipsXML(ClassAbout classAbout, Document doc, Element parentElement) {
@@ -219,7 +263,7 @@ public class XMLGenerator {
         
         for (AssociationAbout compositionAssociation : classAbout.getCompositionAssociations()) {
             Element compositionElement = createElement(doc, associationsElement, "composition");
-            compositionElement.setAttribute("sourcetClass", compositionAssociation.getSourceClassName());
+            compositionElement.setAttribute("sourceClass", compositionAssociation.getSourceClassName());
             compositionElement.setAttribute("targetClass", compositionAssociation.getTargetClassName());
             compositionElement.setAttribute("upperBound", compositionAssociation.getUpperBound());
         }
@@ -227,7 +271,7 @@ public class XMLGenerator {
         for (AssociationAbout aggregationAssociation : classAbout.getAggregationAssociations()) {
             Element aggregationElement = createElement(doc, associationsElement, "aggregation");
             aggregationElement.setAttribute("sourceClass", aggregationAssociation.getSourceClassName());
-            aggregationElement.setAttribute("targetclass", aggregationAssociation.getTargetClassName());
+            aggregationElement.setAttribute("targetClass", aggregationAssociation.getTargetClassName());
             aggregationElement.setAttribute("upperBound", aggregationAssociation.getUpperBound());
         }
     }
@@ -235,6 +279,7 @@ public class XMLGenerator {
     private static void createImplementedInterfaceXML(InterfaceAbout iface, Document doc, Element parentElement) {
         Element interfaceElement = createElement(doc, parentElement, "interface");
         interfaceElement.setAttribute("name", iface.getSimpleName());
+        interfaceElement.setAttribute("qualifiedName", iface.getName());
     }
 
 
@@ -0,0 +1,104 @@
+package org.mql.java.xml;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class XMLOutput {
+    private static final String INDENT = "    ";
+
+    private final Writer writer;
+    private int depth;
+
+    XMLOutput(Writer writer) {
+        this(writer, 0);
+    }
+
+    XMLOutput(Writer writer, int depth) {
+        this.writer = writer;
+        this.depth = depth;
+    }
+
+    void declaration() throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+    }
+
+    void start(String name, String... attributes) throws IOException {
+        open(name, attributes);
+        writer.write(">\n");
+        depth++;
+    }
+
+    void end(String name) throws IOException {
+        depth--;
+        indent();
+        writer.write("</");
+        writer.write(name);
+        writer.write(">\n");
+    }
+
+    void empty(String name, String... attributes) throws IOException {
+        open(name, attributes);
+        writer.write("/>\n");
+    }
+
+    void text(String name, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            empty(name);
+            return;
+        }
+        open(name);
+        writer.write('>');
+        escape(value, false);
+        writer.write("</");
+        writer.write(name);
+        writer.write(">\n");
+    }
+
+    // attributes are written as given; callers pass them sorted by name, the order the DOM serializer uses
+    private void open(String name, String... attributes) throws IOException {
+        indent();
+        writer.write('<');
+        writer.write(name);
+        for (int i = 0; i < attributes.length; i += 2) {
+            writer.write(' ');
+            writer.write(attributes[i]);
+            writer.write("=\"");
+            if (attributes[i + 1] != null) {
+                escape(attributes[i + 1], true);
+            }
+            writer.write('"');
+        }
+    }
+
+    private void indent() throws IOException {
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    private void escape(String value, boolean attribute) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> attribute ? "&quot;" : null;
+                case '\n' -> attribute ? "&#10;" : null;
+                case '\r' -> "&#13;";
+                case '\t' -> attribute ? "&#9;" : null;
+                default -> null;
+            };
+            if (replacement != null) {
+                writer.write(value, start, i - start);
+                writer.write(replacement);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+}